@@ -0,0 +1,56 @@
+#!/usr/bin/env bash
+# Compares redirect throughput and latency with platform threads (default
+# Tomcat pool) against the virtual-threads profile.
+#
+# Needs a Java 21+ JVM for the application (JAVA_HOME or APP_JAVA), Postgres
+# as configured in application.properties, and the load driver from the
+# benchmark profile. Results go to loadtest/results/<mode>.json.
+#
+#   loadtest/compare-thread-modes.sh [concurrency] [durationSeconds] [codes]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${1:-200}
+DURATION=${2:-60}
+CODES=${3:-10000}
+APP_JAVA=${APP_JAVA:-${JAVA_HOME:+$JAVA_HOME/bin/}java}
+PORT=${PORT:-8080}
+POOL_SIZE=${POOL_SIZE:-32}
+RESULTS=loadtest/results
+MVN=${MVN:-sh mvnw}
+
+# Every redirect goes to the database so the comparison measures blocking JDBC
+# round trips rather than cache hits; both modes get the same connection pool
+# so only the threading model differs
+APP_ARGS=(--server.port="$PORT" --app.cache.redirect.maximum-size=0 --app.expiry.enabled=false
+          --spring.datasource.hikari.maximum-pool-size="$POOL_SIZE" --spring.datasource.hikari.minimum-idle="$POOL_SIZE"
+          --logging.level.root=WARN --spring.jpa.show-sql=false)
+
+$MVN -B -q package -DskipTests
+$MVN -B -q -Pbenchmark test-compile
+JAR=$(ls target/url-shortener-be-*.jar | grep -v original | head -1)
+mkdir -p "$RESULTS"
+
+run_mode() {
+    local mode=$1; shift
+    "$APP_JAVA" -jar "$JAR" "${APP_ARGS[@]}" "$@" > "target/app-$mode.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null' EXIT
+
+    for _ in $(seq 1 120); do
+        curl -sf "http://localhost:$PORT/actuator/health" > /dev/null && break
+        sleep 1
+    done
+
+    $MVN -B -q -Pbenchmark exec:exec@load-test -Dload.target="http://localhost:$PORT" \
+        -Dload.concurrency="$CONCURRENCY" -Dload.duration="$DURATION" -Dload.codes="$CODES" \
+        -Dload.label="$mode" -Dload.result="$RESULTS/$mode.json"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform-threads
+run_mode virtual-threads --spring.profiles.active=virtual-threads
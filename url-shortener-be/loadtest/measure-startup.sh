@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+# Measures time to first redirect of a freshly started instance: from launching
+# the JVM until GET /{shortCode} answers with a redirect. Compares the default
+# configuration, the prod profile, and the prod profile on an AppCDS archive.
+#
+# Needs Postgres as configured in application.properties with the schema in
+# place (the prod profile does not create it). Results go to
+# loadtest/results/startup.json.
+#
+#   loadtest/measure-startup.sh [runsPerMode]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-3}
+APP_JAVA=${APP_JAVA:-${JAVA_HOME:+$JAVA_HOME/bin/}java}
+PORT=${PORT:-8080}
+RESULTS=loadtest/results
+MVN=${MVN:-sh mvnw}
+CDS_DIR=target/cds
+
+$MVN -B -q package -DskipTests
+JAR=$(ls target/url-shortener-be-*.jar | grep -v original | head -1)
+mkdir -p "$RESULTS"
+
+# AppCDS: extract the jar into the layout the archive is tied to, then record the
+# classes loaded while the context starts (the training run exits after refresh)
+rm -rf "$CDS_DIR"
+"$APP_JAVA" -Djarmode=tools -jar "$JAR" extract --destination "$CDS_DIR" > /dev/null
+CDS_JAR="$CDS_DIR/$(basename "$JAR")"
+"$APP_JAVA" -XX:ArchiveClassesAtExit="$CDS_DIR/app.jsa" -Dspring.context.exit=onRefresh \
+    -jar "$CDS_JAR" --spring.profiles.active=prod --server.port="$PORT" > target/app-cds-training.log 2>&1
+
+now_ms() { date +%s%3N; }
+
+start_app() {
+    local log=$1; shift
+    "$@" > "$log" 2>&1 &
+    APP_PID=$!
+    trap 'kill $APP_PID 2>/dev/null' EXIT
+}
+
+stop_app() {
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+    trap - EXIT
+}
+
+# One code to redirect to, created through the API of a throwaway instance
+start_app target/app-seed.log "$APP_JAVA" -jar "$JAR" --server.port="$PORT"
+for _ in $(seq 1 120); do
+    curl -sf "http://localhost:$PORT/actuator/health" > /dev/null && break
+    sleep 1
+done
+CODE=$(curl -sf -X POST "http://localhost:$PORT/api/v1/urls" -H 'Content-Type: application/json' \
+    -d '{"originalUrl":"https://example.com/startup-probe"}' | sed -E 's/.*"shortCode":"([^"]+)".*/\1/')
+stop_app
+
+measure() {
+    local mode=$1; shift
+    local total=0
+    for run in $(seq 1 "$RUNS"); do
+        local start
+        start=$(now_ms)
+        start_app "target/app-startup-$mode.log" "$@" --server.port="$PORT"
+        until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/$CODE")" = "302" ]; do
+            sleep 0.05
+        done
+        local took=$(( $(now_ms) - start ))
+        stop_app
+        echo "$mode run $run: first redirect after ${took} ms" >&2
+        total=$((total + took))
+    done
+    echo "\"$mode\": $((total / RUNS))"
+}
+
+{
+    echo "{"
+    echo "  \"runs\": $RUNS,"
+    echo "  \"firstRedirectMillis\": {"
+    echo "    $(measure default "$APP_JAVA" -jar "$JAR"),"
+    echo "    $(measure prod "$APP_JAVA" -jar "$JAR" --spring.profiles.active=prod),"
+    echo "    $(measure prod-appcds "$APP_JAVA" -XX:SharedArchiveFile="$CDS_DIR/app.jsa" -jar "$CDS_JAR" \
+        --spring.profiles.active=prod)"
+    echo "  }"
+    echo "}"
+} > "$RESULTS/startup.json"
+cat "$RESULTS/startup.json"
@@ -0,0 +1,84 @@
+package com.project.url_shortener_be.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result against a stored baseline and exits non-zero when
+ * any benchmark regressed by more than the allowed fraction.
+ * Usage: BenchmarkComparison baseline.json result.json [maxRegression]
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <result.json> [maxRegression]");
+            System.exit(2);
+        }
+
+        File baselineFile = new File(args[0]);
+        File resultFile = new File(args[1]);
+        double maxRegression = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+
+        if (!baselineFile.exists()) {
+            System.out.println("No baseline at " + baselineFile + "; copy " + resultFile + " there to create one.");
+            return;
+        }
+
+        Map<String, JsonNode> baseline = readResults(baselineFile);
+        Map<String, JsonNode> current = readResults(resultFile);
+
+        int regressions = 0;
+        System.out.printf("%-75s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double score = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+
+            if (before == null) {
+                System.out.printf("%-75s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new", unit);
+                continue;
+            }
+
+            double baselineScore = before.path("primaryMetric").path("score").asDouble();
+            double change = baselineScore == 0 ? 0 : (score - baselineScore) / baselineScore;
+            // Throughput modes regress when the score drops, time modes when it grows
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double regression = higherIsBetter ? -change : change;
+            boolean regressed = regression > maxRegression;
+            if (regressed) {
+                regressions++;
+            }
+
+            System.out.printf("%-75s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), baselineScore, score,
+                    change * 100, unit, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, maxRegression * 100);
+            System.exit(1);
+        }
+    }
+
+    // Results keyed by benchmark name plus parameters
+    private static Map<String, JsonNode> readResults(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.project.url_shortener_be.benchmark.", ""));
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,337 @@
+package com.project.url_shortener_be.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.project.url_shortener_be.UrlShortenerBeApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load harness mixing redirect, create and list traffic.
+ * Redirect keys are drawn with Zipfian skew over the seeded codes. The target is
+ * either a running instance or "embedded": the application started in this JVM
+ * on the embedded (H2) datastore profile, so no Postgres is needed. Latencies
+ * are recorded in HdrHistograms and written as a JSON report (throughput and
+ * p50/p99/p99.9 per operation) that LoadReportComparison diffs across builds.
+ * Usage: LoadHarness [--option=value ...], options and defaults in {@link #DEFAULTS}
+ */
+public final class LoadHarness {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("target", "embedded");
+        DEFAULTS.put("concurrency", "32");
+        DEFAULTS.put("duration", "30");
+        DEFAULTS.put("warmup", "10");
+        DEFAULTS.put("codes", "10000");
+        DEFAULTS.put("mix", "redirect:90,create:8,list:2");
+        DEFAULTS.put("zipf", "0.99");
+        DEFAULTS.put("list-size", "50");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("label", "mixed");
+        DEFAULTS.put("build", "unknown");
+        DEFAULTS.put("result", "target/load-report.json");
+    }
+
+    enum Operation {
+        REDIRECT, CREATE, LIST;
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        static Operation fromValue(String value) {
+            for (Operation operation : values()) {
+                if (operation.key().equalsIgnoreCase(value.trim())) {
+                    return operation;
+                }
+            }
+            throw new RuntimeException("Unsupported operation: " + value);
+        }
+    }
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.get("duration")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.get("warmup")));
+        int codeCount = Integer.parseInt(options.get("codes"));
+        double exponent = Double.parseDouble(options.get("zipf"));
+        long seed = Long.parseLong(options.get("seed"));
+        Map<Operation, Integer> mix = parseMix(options.get("mix"));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("target");
+        if ("embedded".equals(baseUrl)) {
+            // Devtools is on the test classpath and would restart main() in a new class loader
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            context = new SpringApplicationBuilder(UrlShortenerBeApplication.class)
+                    .profiles("embedded")
+                    .run("--server.port=0");
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            ObjectMapper objectMapper = new ObjectMapper();
+
+            // Popularity rank is independent of creation order
+            List<String> codes = new ArrayList<>(RedirectLoadDriver.seed(client, objectMapper, baseUrl, codeCount));
+            Collections.shuffle(codes, new Random(seed));
+            Workload workload = new Workload(client, objectMapper, baseUrl, codes,
+                    new ZipfianSampler(codes.size(), exponent), mix, Integer.parseInt(options.get("list-size")),
+                    Long.toString(System.currentTimeMillis(), 36));
+
+            System.out.printf("Seeded %d short codes on %s, warming up for %ds%n", codes.size(), baseUrl, warmup.toSeconds());
+            run(workload, concurrency, warmup, seed);
+
+            System.out.printf("Measuring %s with %d clients for %ds%n", options.get("label"), concurrency, duration.toSeconds());
+            long start = System.nanoTime();
+            List<ClientResult> results = run(workload, concurrency, duration, seed + 1);
+            long elapsedNanos = System.nanoTime() - start;
+
+            ObjectNode report = report(objectMapper, options, workload, elapsedNanos, results);
+            File resultFile = new File(options.get("result"));
+            if (resultFile.getAbsoluteFile().getParentFile() != null) {
+                resultFile.getAbsoluteFile().getParentFile().mkdirs();
+            }
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(resultFile, report);
+            System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static List<ClientResult> run(Workload workload, int concurrency, Duration duration, long seed)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<ClientResult>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                Random random = new Random(seed * 1_000_003 + i);
+                int clientId = i;
+                futures.add(executor.submit(() -> workload.runClient(clientId, random, deadline)));
+            }
+
+            List<ClientResult> results = new ArrayList<>(concurrency);
+            for (Future<ClientResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ObjectNode report(ObjectMapper objectMapper, Map<String, String> options, Workload workload,
+                                     long elapsedNanos, List<ClientResult> results) {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("label", options.get("label"));
+        report.put("build", options.get("build"));
+        report.put("startedAt", Instant.now().minusNanos(elapsedNanos).toString());
+        report.put("target", options.get("target"));
+        report.put("concurrency", Integer.parseInt(options.get("concurrency")));
+        report.put("durationSeconds", Math.round(elapsedNanos / 1e9));
+        report.put("codes", workload.codes.size());
+        report.put("zipfExponent", Double.parseDouble(options.get("zipf")));
+        // How skewed the redirect keys were: share of redirects on the hottest 1% of codes
+        report.put("hottestPercentShare", round(workload.sampler.topShare(Math.max(1, workload.codes.size() / 100)), 4));
+        ObjectNode mix = report.putObject("mix");
+        workload.mix.forEach((operation, weight) -> mix.put(operation.key(), weight));
+
+        ObjectNode operations = report.putObject("operations");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Operation operation : workload.mix.keySet()) {
+            Histogram histogram = new Histogram(3);
+            long errors = 0;
+            for (ClientResult result : results) {
+                histogram.add(result.latencies.get(operation));
+                errors += result.errors.getOrDefault(operation, 0L);
+            }
+            summarize(operations.putObject(operation.key()), histogram, errors, elapsedNanos);
+            total.add(histogram);
+            totalErrors += errors;
+        }
+        summarize(report.putObject("total"), total, totalErrors, elapsedNanos);
+        return report;
+    }
+
+    private static void summarize(ObjectNode node, Histogram histogram, long errors, long elapsedNanos) {
+        node.put("requests", histogram.getTotalCount());
+        node.put("errors", errors);
+        node.put("throughputPerSecond", Math.round(histogram.getTotalCount() * 1_000_000_000.0 / elapsedNanos));
+        node.put("meanMillis", round(histogram.getMean() / 1e6, 2));
+        node.put("p50Millis", millis(histogram, 50));
+        node.put("p90Millis", millis(histogram, 90));
+        node.put("p99Millis", millis(histogram, 99));
+        node.put("p999Millis", millis(histogram, 99.9));
+        node.put("maxMillis", round(histogram.getMaxValue() / 1e6, 2));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : round(histogram.getValueAtPercentile(percentile) / 1e6, 2);
+    }
+
+    private static double round(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+
+    // --name=value pairs over the defaults
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String name = arg.startsWith("--") && equals > 2 ? arg.substring(2, equals) : null;
+            if (name == null || !DEFAULTS.containsKey(name)) {
+                System.err.println("Unknown option " + arg + "; options (with defaults): " + DEFAULTS);
+                System.exit(2);
+            }
+            options.put(name, arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    // redirect:90,create:8,list:2; operations left out get no traffic
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.split(":");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromValue(pair[0]), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operation with a positive weight: " + value);
+        }
+        return mix;
+    }
+
+    // What every client runs: operation choice, key choice and the requests themselves
+    private static final class Workload {
+        private final HttpClient client;
+        private final ObjectMapper objectMapper;
+        private final String baseUrl;
+        private final List<String> codes;
+        private final ZipfianSampler sampler;
+        private final Map<Operation, Integer> mix;
+        private final Operation[] slots;
+        private final int listSize;
+        private final String runId;
+
+        private Workload(HttpClient client, ObjectMapper objectMapper, String baseUrl, List<String> codes,
+                         ZipfianSampler sampler, Map<Operation, Integer> mix, int listSize, String runId) {
+            this.client = client;
+            this.objectMapper = objectMapper;
+            this.baseUrl = baseUrl;
+            this.codes = codes;
+            this.sampler = sampler;
+            this.mix = mix;
+            this.listSize = listSize;
+            this.runId = runId;
+
+            List<Operation> weighted = new ArrayList<>();
+            mix.forEach((operation, weight) -> weighted.addAll(Collections.nCopies(weight, operation)));
+            this.slots = weighted.toArray(Operation[]::new);
+        }
+
+        private ClientResult runClient(int clientId, Random random, long deadline) {
+            ClientResult result = new ClientResult(mix.keySet());
+            String cursor = null;
+            long created = 0;
+
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                Operation operation = slots[random.nextInt(slots.length)];
+                HttpRequest.Builder request = switch (operation) {
+                    case REDIRECT -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + codes.get(sampler.next(random))))
+                            .GET();
+                    case CREATE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/urls"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"originalUrl\":\"https://example.com/load/"
+                                    + runId + "/c" + clientId + "-" + created++ + "\"}"));
+                    case LIST -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/urls?size=" + listSize
+                                    + (cursor == null ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8))))
+                            .GET();
+                };
+
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<String> response = client.send(request.timeout(REQUEST_TIMEOUT).build(),
+                            HttpResponse.BodyHandlers.ofString());
+                    long latency = System.nanoTime() - start;
+                    int status = response.statusCode();
+                    boolean success = operation == Operation.REDIRECT ? status / 100 == 3 : status / 100 == 2;
+                    result.record(operation, latency, success);
+
+                    // Page through the listing like a client would, starting over at the end
+                    if (operation == Operation.LIST && success) {
+                        JsonNode next = objectMapper.readTree(response.body()).path("nextCursor");
+                        cursor = next.isTextual() ? next.asText() : null;
+                    }
+                } catch (IOException e) {
+                    result.record(operation, System.nanoTime() - start, false);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class ClientResult {
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+        private ClientResult(Iterable<Operation> operations) {
+            for (Operation operation : operations) {
+                latencies.put(operation, new Histogram(3));
+            }
+        }
+
+        private void record(Operation operation, long latencyNanos, boolean success) {
+            latencies.get(operation).recordValue(latencyNanos);
+            if (!success) {
+                errors.merge(operation, 1L, Long::sum);
+            }
+        }
+    }
+}
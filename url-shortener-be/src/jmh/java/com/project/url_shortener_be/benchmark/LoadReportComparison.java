@@ -0,0 +1,91 @@
+package com.project.url_shortener_be.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Compares a LoadHarness report against a baseline report and exits non-zero
+ * when any operation lost more than the allowed fraction of throughput or its
+ * p99 grew by more than that fraction. Only runs with the same concurrency,
+ * mix and skew are comparable; a mismatch is reported but not failed.
+ * Usage: LoadReportComparison baseline.json report.json [maxRegression]
+ */
+public final class LoadReportComparison {
+
+    private static final String[] COMPARABLE = {"target", "concurrency", "codes", "zipfExponent", "mix"};
+
+    private LoadReportComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: LoadReportComparison <baseline.json> <report.json> [maxRegression]");
+            System.exit(2);
+        }
+
+        File baselineFile = new File(args[0]);
+        File reportFile = new File(args[1]);
+        double maxRegression = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+
+        if (!baselineFile.exists()) {
+            System.out.println("No baseline at " + baselineFile + "; copy " + reportFile + " there to create one.");
+            return;
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode baseline = objectMapper.readTree(baselineFile);
+        JsonNode current = objectMapper.readTree(reportFile);
+
+        System.out.printf("Baseline %s (%s), current %s (%s)%n", baseline.path("label").asText(),
+                baseline.path("build").asText(), current.path("label").asText(), current.path("build").asText());
+        for (String field : COMPARABLE) {
+            if (!baseline.path(field).equals(current.path(field))) {
+                System.out.printf("Warning: %s differs (%s vs %s); the runs are not directly comparable%n",
+                        field, baseline.path(field), current.path(field));
+            }
+        }
+
+        int regressions = 0;
+        System.out.printf("%-10s %-20s %12s %12s %9s%n", "Operation", "Metric", "Baseline", "Current", "Change");
+        Iterator<Map.Entry<String, JsonNode>> operations = current.path("operations").fields();
+        while (operations.hasNext()) {
+            Map.Entry<String, JsonNode> operation = operations.next();
+            JsonNode before = baseline.path("operations").path(operation.getKey());
+            if (before.isMissingNode()) {
+                System.out.printf("%-10s %-20s %12s %12s %9s%n", operation.getKey(), "", "-", "-", "new");
+                continue;
+            }
+
+            regressions += compare(operation.getKey(), "throughputPerSecond", before, operation.getValue(), true, maxRegression);
+            for (String metric : new String[] {"p50Millis", "p99Millis", "p999Millis"}) {
+                // Only p99 gates; p50 and p99.9 are informational (p99.9 is too noisy on short runs)
+                double limit = "p99Millis".equals(metric) ? maxRegression : Double.POSITIVE_INFINITY;
+                regressions += compare(operation.getKey(), metric, before, operation.getValue(), false, limit);
+            }
+            regressions += compare(operation.getKey(), "errors", before, operation.getValue(), false, Double.POSITIVE_INFINITY);
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d metric(s) regressed by more than %.0f%%%n", regressions, maxRegression * 100);
+            System.exit(1);
+        }
+    }
+
+    // Prints one metric and returns 1 when it regressed past the limit
+    private static int compare(String operation, String metric, JsonNode before, JsonNode after,
+                               boolean higherIsBetter, double maxRegression) {
+        double baselineValue = before.path(metric).asDouble();
+        double value = after.path(metric).asDouble();
+        double change = baselineValue == 0 ? 0 : (value - baselineValue) / baselineValue;
+        boolean regressed = (higherIsBetter ? -change : change) > maxRegression;
+
+        System.out.printf("%-10s %-20s %12.2f %12.2f %+8.1f%%%s%n", operation, metric, baselineValue, value,
+                change * 100, regressed ? "  REGRESSION" : "");
+        return regressed ? 1 : 0;
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.url_shortener_be.benchmark;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.project.url_shortener_be.ratelimit.RateLimitedEndpoint;
+import com.project.url_shortener_be.ratelimit.TokenBucketLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of rate limiting: endpoint matching (paid by every request,
+// redirects included) and a bucket check for one hot client or many clients
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENT_COUNT = 10_000;
+
+    // allowed: limits never reached; rejected: every client is over its limit
+    @Param({"allowed", "rejected"})
+    public String outcome;
+
+    private TokenBucketLimiter limiter;
+    private String[] clients;
+
+    @Setup
+    public void setUp() {
+        limiter = "allowed".equals(outcome)
+                ? new TokenBucketLimiter(1_000_000_000d, 1_000_000, Duration.ofMinutes(10), 100_000, Ticker.systemTicker())
+                : new TokenBucketLimiter(0.001, 1, Duration.ofMinutes(10), 100_000, Ticker.systemTicker());
+
+        clients = new String[CLIENT_COUNT];
+        for (int i = 0; i < CLIENT_COUNT; i++) {
+            clients[i] = "10.0." + (i / 256) + "." + (i % 256);
+            limiter.tryAcquire(clients[i]);
+        }
+    }
+
+    @Benchmark
+    public RateLimitedEndpoint matchRedirect() {
+        return RateLimitedEndpoint.match("GET", "/aZ3kQ9x");
+    }
+
+    @Benchmark
+    public RateLimitedEndpoint matchCreate() {
+        return RateLimitedEndpoint.match("POST", "/api/v1/urls");
+    }
+
+    @Benchmark
+    public long acquireManyClients() {
+        return limiter.tryAcquire(clients[ThreadLocalRandom.current().nextInt(CLIENT_COUNT)]);
+    }
+
+    // Worst case for the CAS loop: every thread hits the same bucket
+    @Benchmark
+    @Threads(4)
+    public long acquireOneClientContended() {
+        return limiter.tryAcquire(clients[0]);
+    }
+}
@@ -0,0 +1,225 @@
+package com.project.url_shortener_be.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop redirect load generator against a running instance.
+ * Seeds short codes through the bulk endpoint (or one create per code where bulk
+ * is not served, as in reactive mode), then keeps a fixed number of
+ * clients issuing GET /{shortCode} and reports throughput and latency
+ * percentiles as JSON.
+ * Usage: RedirectLoadDriver baseUrl concurrency durationSeconds codes label result.json
+ */
+public final class RedirectLoadDriver {
+
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+
+    private RedirectLoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 6) {
+            System.err.println("Usage: RedirectLoadDriver <baseUrl> <concurrency> <durationSeconds> <codes> <label> <result.json>");
+            System.exit(2);
+        }
+
+        String baseUrl = args[0];
+        int concurrency = Integer.parseInt(args[1]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+        int codeCount = Integer.parseInt(args[3]);
+        String label = args[4];
+        File resultFile = new File(args[5]);
+
+        HttpClient client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        List<String> codes = seed(client, objectMapper, baseUrl, codeCount);
+        System.out.printf("Seeded %d short codes, warming up for %ds%n", codes.size(), WARMUP.toSeconds());
+        run(client, baseUrl, codes, concurrency, WARMUP);
+
+        System.out.printf("Measuring %s with %d clients for %ds%n", label, concurrency, duration.toSeconds());
+        long start = System.nanoTime();
+        List<ClientResult> results = run(client, baseUrl, codes, concurrency, duration);
+        long elapsedNanos = System.nanoTime() - start;
+
+        ObjectNode report = report(objectMapper, label, concurrency, codes.size(), elapsedNanos, results);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(resultFile, report);
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    }
+
+    // Create the codes to redirect through, one bulk request per 1000
+    static List<String> seed(HttpClient client, ObjectMapper objectMapper, String baseUrl, int count)
+            throws Exception {
+        List<String> codes = new ArrayList<>(count);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        for (int offset = 0; offset < count; offset += 1000) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = offset; i < Math.min(count, offset + 1000); i++) {
+                body.append(i == offset ? "" : ",")
+                        .append("{\"originalUrl\":\"https://example.com/load/").append(runId).append('/').append(i).append("\"}");
+            }
+            body.append(']');
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/urls/bulk"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (offset == 0 && (response.statusCode() == 404 || response.statusCode() == 405)) {
+                return seedIndividually(client, objectMapper, baseUrl, runId, count);
+            }
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+            }
+
+            for (JsonNode item : objectMapper.readTree(response.body()).path("results")) {
+                if (item.path("success").asBoolean()) {
+                    codes.add(item.path("url").path("shortCode").asText());
+                }
+            }
+        }
+        return codes;
+    }
+
+    private static List<String> seedIndividually(HttpClient client, ObjectMapper objectMapper, String baseUrl,
+                                                 String runId, int count) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<String>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String body = "{\"originalUrl\":\"https://example.com/load/" + runId + "/" + i + "\"}";
+                futures.add(executor.submit(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/urls"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() / 100 != 2) {
+                        throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+                    }
+                    return objectMapper.readTree(response.body()).path("shortCode").asText();
+                }));
+            }
+
+            List<String> codes = new ArrayList<>(count);
+            for (Future<String> future : futures) {
+                codes.add(future.get());
+            }
+            return codes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<ClientResult> run(HttpClient client, String baseUrl, List<String> codes, int concurrency,
+                                          Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<ClientResult>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> runClient(client, baseUrl, codes, deadline)));
+            }
+
+            List<ClientResult> results = new ArrayList<>(concurrency);
+            for (Future<ClientResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ClientResult runClient(HttpClient client, String baseUrl, List<String> codes, long deadline) {
+        ClientResult result = new ClientResult();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < deadline) {
+            String code = codes.get(random.nextInt(codes.size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + code))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                result.record(System.nanoTime() - start, response.statusCode() / 100 == 3);
+            } catch (IOException e) {
+                result.record(System.nanoTime() - start, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static ObjectNode report(ObjectMapper objectMapper, String label, int concurrency, int codes,
+                                     long elapsedNanos, List<ClientResult> results) {
+        long[] latencies = results.stream()
+                .flatMapToLong(result -> Arrays.stream(result.latencies, 0, result.count))
+                .sorted()
+                .toArray();
+        long errors = results.stream().mapToLong(result -> result.errors).sum();
+
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("label", label);
+        report.put("concurrency", concurrency);
+        report.put("codes", codes);
+        report.put("requests", latencies.length);
+        report.put("errors", errors);
+        report.put("throughputPerSecond", Math.round(latencies.length * 1_000_000_000.0 / elapsedNanos));
+        report.put("p50Millis", percentileMillis(latencies, 0.50));
+        report.put("p99Millis", percentileMillis(latencies, 0.99));
+        report.put("p999Millis", percentileMillis(latencies, 0.999));
+        report.put("maxMillis", percentileMillis(latencies, 1.0));
+        return report;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return Math.round(sorted[Math.max(0, index)] / 10_000.0) / 100.0;
+    }
+
+    private static final class ClientResult {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private void record(long latencyNanos, boolean success) {
+            if (!success) {
+                errors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+    }
+}
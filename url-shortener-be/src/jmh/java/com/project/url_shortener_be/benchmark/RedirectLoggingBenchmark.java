@@ -0,0 +1,146 @@
+package com.project.url_shortener_be.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.project.url_shortener_be.UrlShortenerBeApplication;
+import com.project.url_shortener_be.dto.CreateUrlAutoRequest;
+import com.project.url_shortener_be.dto.RedirectTarget;
+import com.project.url_shortener_be.logging.CountingAsyncAppender;
+import com.project.url_shortener_be.logging.SamplingTurboFilter;
+import com.project.url_shortener_be.service.UrlService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Service-side redirect (resolve plus click count) with the application logging at DEBUG,
+// as in the default profile, written to a file:
+//   sync    - every line formatted and written on the calling thread (the old pipeline)
+//   async   - the bounded, never-blocking CountingAsyncAppender in front of the file
+//   sampled - async, keeping 1% of the redirect lines
+//   off     - application logging at INFO, as in the prod profile
+// The async writer needs a core of its own to pay off; run with -t N on a multi-core host
+// to see request threads contending for the synchronous appender
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class RedirectLoggingBenchmark {
+
+    private static final int URL_COUNT = 1024;
+
+    @Param({"sync", "async", "sampled", "off"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private UrlService urlService;
+    private String[] shortCodes;
+    private final AtomicInteger next = new AtomicInteger();
+    private Path logFile;
+    private Appender<ILoggingEvent> appender;
+    private CountingAsyncAppender asyncAppender;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(UrlShortenerBeApplication.class)
+                .profiles("embedded")
+                .web(WebApplicationType.NONE)
+                .run();
+        urlService = context.getBean(UrlService.class);
+
+        shortCodes = new String[URL_COUNT];
+        for (int i = 0; i < URL_COUNT; i++) {
+            CreateUrlAutoRequest request = new CreateUrlAutoRequest();
+            request.setOriginalUrl("https://example.com/page" + i);
+            shortCodes[i] = urlService.createShortUrlAuto(request).getShortCode();
+        }
+        configureLogging();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (asyncAppender != null) {
+            System.out.printf("%nasync appender dropped %d discarded + %d queue-full events%n",
+                    asyncAppender.getDiscarded(), asyncAppender.getQueueFullDrops());
+        }
+        appender.stop();
+        context.close();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public Optional<RedirectTarget> redirect() {
+        String shortCode = shortCodes[next.getAndIncrement() & (URL_COUNT - 1)];
+        Optional<RedirectTarget> target = urlService.findRedirectTarget(shortCode);
+        urlService.incrementClickCount(shortCode);
+        return target;
+    }
+
+    // Replaces the profile's console setup with the pipeline under test
+    private void configureLogging() throws IOException {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        loggerContext.getTurboFilterList().clear();
+        loggerContext.getLogger("com.project.url_shortener_be")
+                .setLevel("off".equals(mode) ? Level.INFO : Level.DEBUG);
+
+        logFile = Files.createTempFile("redirect-logging", ".log");
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(loggerContext);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        appender = file;
+        if (!"sync".equals(mode)) {
+            asyncAppender = new CountingAsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(file);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+        if ("sampled".equals(mode)) {
+            SamplingTurboFilter filter = new SamplingTurboFilter();
+            filter.setContext(loggerContext);
+            filter.setRates("redirect=0.01");
+            filter.start();
+            loggerContext.addTurboFilter(filter);
+        }
+        root.addAppender(appender);
+    }
+}
@@ -0,0 +1,89 @@
+package com.project.url_shortener_be.benchmark;
+
+import com.project.url_shortener_be.dto.RedirectTarget;
+import com.project.url_shortener_be.snapshot.RedirectSnapshot;
+import com.project.url_shortener_be.snapshot.RedirectSnapshotWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Redirect lookups against a memory-mapped snapshot of one million codes: the
+// binary search alone (allocation-free; check with -prof gc), the search plus
+// the materialized target, and an on-heap map of the same rows for comparison
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedirectSnapshotBenchmark {
+
+    private static final int CODE_COUNT = 1_000_000;
+
+    private Path directory;
+    private RedirectSnapshot snapshot;
+    private Map<String, RedirectTarget> heapMap;
+    private String[] codes;
+
+    @Setup
+    public void setUp() throws IOException {
+        codes = new String[CODE_COUNT];
+        for (int i = 0; i < CODE_COUNT; i++) {
+            codes[i] = Long.toString(1_000_000_000L + i * 7_919L, 36);
+        }
+        String[] sorted = codes.clone();
+        Arrays.sort(sorted);
+
+        directory = Files.createTempDirectory("redirect-snapshot-benchmark");
+        Path path = directory.resolve("redirect-snapshot.bin");
+        heapMap = new ConcurrentHashMap<>();
+        try (RedirectSnapshotWriter writer = new RedirectSnapshotWriter(path)) {
+            for (String code : sorted) {
+                RedirectTarget target = new RedirectTarget("https://example.com/articles/" + code, true, null);
+                writer.add(code, target);
+                heapMap.put(code, target);
+            }
+            writer.commit(LocalDateTime.now());
+        }
+        snapshot = RedirectSnapshot.open(path);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("redirect-snapshot.bin"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public int snapshotFind() {
+        return snapshot.find(codes[ThreadLocalRandom.current().nextInt(CODE_COUNT)]);
+    }
+
+    @Benchmark
+    public RedirectTarget snapshotFindAndMaterialize() {
+        return snapshot.targetAt(snapshot.find(codes[ThreadLocalRandom.current().nextInt(CODE_COUNT)]));
+    }
+
+    @Benchmark
+    public RedirectTarget heapMapGet() {
+        return heapMap.get(codes[ThreadLocalRandom.current().nextInt(CODE_COUNT)]);
+    }
+}
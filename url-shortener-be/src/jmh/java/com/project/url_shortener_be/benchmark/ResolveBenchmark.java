@@ -0,0 +1,103 @@
+package com.project.url_shortener_be.benchmark;
+
+import com.project.url_shortener_be.UrlShortenerBeApplication;
+import com.project.url_shortener_be.cache.UrlResolveCache;
+import com.project.url_shortener_be.dto.CreateUrlAutoRequest;
+import com.project.url_shortener_be.dto.UrlResponse;
+import com.project.url_shortener_be.exception.UrlNotFoundException;
+import com.project.url_shortener_be.service.UrlService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end resolve through UrlService against the embedded (H2) datastore profile
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResolveBenchmark {
+
+    private static final int URL_COUNT = 1024;
+
+    private ConfigurableApplicationContext context;
+    private UrlService urlService;
+    private UrlResolveCache urlResolveCache;
+    private String[] shortCodes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(UrlShortenerBeApplication.class)
+                .profiles("embedded")
+                .web(WebApplicationType.NONE)
+                .run();
+        urlService = context.getBean(UrlService.class);
+        urlResolveCache = context.getBean(UrlResolveCache.class);
+
+        shortCodes = new String[URL_COUNT];
+        for (int i = 0; i < URL_COUNT; i++) {
+            CreateUrlAutoRequest request = new CreateUrlAutoRequest();
+            request.setOriginalUrl("https://example.com/page" + i);
+            shortCodes[i] = urlService.createShortUrlAuto(request).getShortCode();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Hot links: served from the resolve cache
+    @Benchmark
+    public UrlResponse resolveCached() {
+        return urlService.getUrlByShortCode(nextCode());
+    }
+
+    // Cold links: every lookup goes to the datastore
+    @Benchmark
+    public UrlResponse resolveUncached() {
+        String shortCode = nextCode();
+        urlResolveCache.invalidate(shortCode);
+        return urlService.getUrlByShortCode(shortCode);
+    }
+
+    // Unknown codes (bots probing): negatively cached, surfaced as an exception
+    @Benchmark
+    public Object resolveMissThrowing() {
+        try {
+            return urlService.getUrlByShortCode(nextMissingCode());
+        } catch (UrlNotFoundException e) {
+            return e;
+        }
+    }
+
+    // Unknown codes through the non-throwing variant
+    @Benchmark
+    public Optional<UrlResponse> resolveMissOptional() {
+        return urlService.findUrlByShortCode(nextMissingCode());
+    }
+
+    private String nextMissingCode() {
+        return "zz" + shortCodes[next++ & (URL_COUNT - 1)];
+    }
+
+    private String nextCode() {
+        return shortCodes[next++ & (URL_COUNT - 1)];
+    }
+}
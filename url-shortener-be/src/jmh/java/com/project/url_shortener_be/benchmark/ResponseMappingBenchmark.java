@@ -0,0 +1,74 @@
+package com.project.url_shortener_be.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.url_shortener_be.dto.CreateUrlAutoRequest;
+import com.project.url_shortener_be.dto.UrlResponse;
+import com.project.url_shortener_be.entity.Url;
+import com.project.url_shortener_be.mapper.UrlMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Entity-to-DTO mapping and JSON (de)serialization of the API DTOs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private UrlMapper urlMapper;
+    private ObjectMapper objectMapper;
+    private Url url;
+    private UrlResponse response;
+    private String createRequestJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        urlMapper = new UrlMapper();
+        ReflectionTestUtils.setField(urlMapper, "baseUrl", "http://localhost:8080");
+
+        // Same modules and features as the application's ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        url = new Url("https://example.com/articles/2024/benchmarking-the-redirect-path?utm_source=bench", "AbC12xY");
+        url.setId(123_456L);
+        url.setClickCount(42L);
+        url.setIsActive(true);
+        url.setExpiresAt(LocalDateTime.now().plusDays(30));
+        url.setCreatedAt(LocalDateTime.now());
+        url.setUpdatedAt(LocalDateTime.now());
+
+        response = urlMapper.toResponse(url);
+        createRequestJson = "{\"originalUrl\":\"https://example.com/articles/2024/benchmark\","
+                + "\"expiresAt\":\"2030-01-01T00:00:00\"}";
+    }
+
+    @Benchmark
+    public UrlResponse toResponse() {
+        return urlMapper.toResponse(url);
+    }
+
+    @Benchmark
+    public byte[] serializeUrlResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public CreateUrlAutoRequest deserializeCreateRequest() throws Exception {
+        return objectMapper.readValue(createRequestJson, CreateUrlAutoRequest.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.project.url_shortener_be.benchmark;
+
+import com.project.url_shortener_be.bloom.ShortCodeFilter;
+import com.project.url_shortener_be.codegen.RandomShortCodeGenerator;
+import com.project.url_shortener_be.codegen.SequenceShortCodeGenerator;
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import com.project.url_shortener_be.repository.UrlRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process cost of producing one short code; database round trips are stubbed out
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShortCodeGenerationBenchmark {
+
+    private SequenceShortCodeGenerator sequenceGenerator;
+    private SequenceShortCodeGenerator shuffledSequenceGenerator;
+    private RandomShortCodeGenerator randomGenerator;
+
+    @Setup
+    public void setUp() {
+        sequenceGenerator = new SequenceShortCodeGenerator(new InMemoryBlockRepository(1000), 7, 1000, "");
+        shuffledSequenceGenerator = new SequenceShortCodeGenerator(new InMemoryBlockRepository(1000), 7, 1000,
+                "benchmark-key");
+        randomGenerator = new RandomShortCodeGenerator(noCodesTaken(), disabledFilter(), 7);
+    }
+
+    @Benchmark
+    public String sequence() {
+        return sequenceGenerator.nextCode();
+    }
+
+    @Benchmark
+    public String shuffledSequence() {
+        return shuffledSequenceGenerator.nextCode();
+    }
+
+    // Legacy random-and-probe generator with a probe that always succeeds
+    @Benchmark
+    public String random() {
+        return randomGenerator.nextCode();
+    }
+
+    private static ShortCodeFilter disabledFilter() {
+        return new ShortCodeFilter(null, new SimpleMeterRegistry(), false, 1, 0.01, "", Duration.ofMinutes(1));
+    }
+
+    private static UrlRepository noCodesTaken() {
+        return (UrlRepository) Proxy.newProxyInstance(UrlRepository.class.getClassLoader(),
+                new Class<?>[]{UrlRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("existsByShortCode")) {
+                        return false;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // Hands out blocks like the short_code_seq sequence would
+    private static class InMemoryBlockRepository extends UrlJdbcRepository {
+
+        private final AtomicLong sequence = new AtomicLong(1);
+        private final int blockSize;
+
+        InMemoryBlockRepository(int blockSize) {
+            super(null);
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        public long leaseShortCodeBlock() {
+            return sequence.getAndAdd(blockSize);
+        }
+    }
+}
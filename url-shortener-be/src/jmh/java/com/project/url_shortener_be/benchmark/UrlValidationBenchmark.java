@@ -0,0 +1,86 @@
+package com.project.url_shortener_be.benchmark;
+
+import com.project.url_shortener_be.dto.CreateUrlAutoRequest;
+import com.project.url_shortener_be.validation.UrlCanonicalizer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Cost per URL of validating originalUrl: the full bean validation path, the single-pass
+// UrlCanonicalizer on its own, and the @Pattern regex it replaced, for typical and pathological inputs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlValidationBenchmark {
+
+    // The @Pattern regex CreateUrlRequest and CreateUrlAutoRequest used before @ValidUrl
+    private static final Pattern LEGACY_PATTERN =
+            Pattern.compile("^(https?://)?([\\da-z.-]+)\\.([a-z.]{2,6})[/\\w .-]*/?$");
+
+    @Param({"simple", "query", "invalid", "pathological"})
+    public String input;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CreateUrlAutoRequest request;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        request = new CreateUrlAutoRequest();
+        request.setOriginalUrl(switch (input) {
+            case "simple" -> "https://example.com/path/to/page";
+            case "query" -> "https://example.com/search?q=java&page=2";
+            case "invalid" -> "not a url";
+            // Near the 2048 limit; makes the legacy regex backtrack heavily
+            default -> "http://" + "a.".repeat(1000) + "!";
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateUrlAutoRequest>> validate() {
+        return validator.validate(request);
+    }
+
+    @Benchmark
+    public String rejectionReason() {
+        return UrlCanonicalizer.rejectionReason(request.getOriginalUrl());
+    }
+
+    @Benchmark
+    public String canonicalize() {
+        return UrlCanonicalizer.canonicalize(request.getOriginalUrl());
+    }
+
+    @Benchmark
+    public boolean legacyRegex() {
+        return LEGACY_PATTERN.matcher(request.getOriginalUrl()).matches();
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.url_shortener_be.benchmark;
+
+import java.util.Random;
+
+/**
+ * Draws ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent.
+ * An exponent of 0 is uniform; around 1 a few keys take most of the traffic,
+ * as with real link popularity. Sampling is a binary search over the
+ * precomputed cumulative distribution, so it is exact for any exponent.
+ */
+final class ZipfianSampler {
+
+    private final double[] cumulative;
+
+    ZipfianSampler(int n, double exponent) {
+        if (n <= 0 || exponent < 0) {
+            throw new IllegalArgumentException("Zipfian sampler needs n > 0 and exponent >= 0");
+        }
+
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    int next(Random random) {
+        double target = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] <= target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Share of draws that land on the given number of most popular ranks
+    double topShare(int ranks) {
+        return ranks <= 0 ? 0 : cumulative[Math.min(ranks, cumulative.length) - 1];
+    }
+}
@@ -0,0 +1,242 @@
+package com.project.url_shortener_be.archive;
+
+import com.project.url_shortener_be.entity.Url;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read side of an immutable archive segment: archived urls rows in short code
+ * order, stored in Deflate-compressed blocks with a sparse index holding the
+ * first code of each block. The index is read onto the heap when the segment is
+ * opened; a lookup binary searches it and then inflates and scans one block.
+ *
+ * Layout: header (magic, version, archived-at epoch millis), compressed blocks,
+ * index (block count, then per block: first code, offset, compressed length,
+ * raw length, record count; then the last code), footer (index offset, record
+ * count, magic). Times inside records are epoch microseconds in UTC.
+ */
+public final class ArchiveSegment implements Closeable {
+
+    static final int MAGIC = 0x55524C41; // "URLA"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+    static final int FOOTER_SIZE = Long.BYTES + 2 * Integer.BYTES;
+    static final long NO_TIME = Long.MIN_VALUE;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final LocalDateTime archivedAt;
+    private final int count;
+    private final String[] firstKeys;
+    private final long[] offsets;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+    private final int[] records;
+    private final String lastKey;
+
+    private ArchiveSegment(Path path, FileChannel channel, LocalDateTime archivedAt, int count, String[] firstKeys,
+                           long[] offsets, int[] compressedLengths, int[] rawLengths, int[] records, String lastKey) {
+        this.path = path;
+        this.channel = channel;
+        this.archivedAt = archivedAt;
+        this.count = count;
+        this.firstKeys = firstKeys;
+        this.offsets = offsets;
+        this.compressedLengths = compressedLengths;
+        this.rawLengths = rawLengths;
+        this.records = records;
+        this.lastKey = lastKey;
+    }
+
+    public static ArchiveSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE + FOOTER_SIZE) {
+                throw new IOException("Not an archive segment: " + path);
+            }
+            ByteBuffer header = read(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not an archive segment: " + path);
+            }
+            LocalDateTime archivedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(header.getLong()), ZoneOffset.UTC);
+
+            ByteBuffer footer = read(channel, size - FOOTER_SIZE, FOOTER_SIZE);
+            long indexOffset = footer.getLong();
+            int count = footer.getInt();
+            if (footer.getInt() != MAGIC || indexOffset < HEADER_SIZE || indexOffset > size - FOOTER_SIZE) {
+                throw new IOException("Archive segment is incomplete: " + path);
+            }
+
+            ByteBuffer indexBuffer = read(channel, indexOffset, (int) (size - FOOTER_SIZE - indexOffset));
+            DataInputStream index = new DataInputStream(new ByteArrayInputStream(
+                    indexBuffer.array(), 0, indexBuffer.limit()));
+            int blocks = index.readInt();
+            String[] firstKeys = new String[blocks];
+            long[] offsets = new long[blocks];
+            int[] compressedLengths = new int[blocks];
+            int[] rawLengths = new int[blocks];
+            int[] records = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                firstKeys[i] = index.readUTF();
+                offsets[i] = index.readLong();
+                compressedLengths[i] = index.readInt();
+                rawLengths[i] = index.readInt();
+                records[i] = index.readInt();
+            }
+            String lastKey = index.readUTF();
+            return new ArchiveSegment(path, channel, archivedAt, count, firstKeys, offsets, compressedLengths,
+                    rawLengths, records, lastKey);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // The archived row for the code, read from the one block that can hold it
+    public Optional<Url> find(String shortCode) throws IOException {
+        if (firstKeys.length == 0 || shortCode.compareTo(firstKeys[0]) < 0 || shortCode.compareTo(lastKey) > 0) {
+            return Optional.empty();
+        }
+        int block = blockFor(shortCode);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate(block)));
+        for (int i = 0; i < records[block]; i++) {
+            Url url = readRecord(in);
+            int order = url.getShortCode().compareTo(shortCode);
+            if (order == 0) {
+                return Optional.of(url);
+            }
+            if (order > 0) {
+                break;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public LocalDateTime archivedAt() {
+        return archivedAt;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    static void writeRecord(DataOutputStream out, Url url) throws IOException {
+        out.writeUTF(url.getShortCode());
+        out.writeLong(url.getId());
+        out.writeUTF(url.getOriginalUrl());
+        out.writeLong(url.getClickCount() == null ? 0 : url.getClickCount());
+        out.writeBoolean(Boolean.TRUE.equals(url.getIsActive()));
+        out.writeLong(toMicros(url.getExpiresAt()));
+        out.writeLong(toMicros(url.getCreatedAt()));
+        out.writeLong(toMicros(url.getUpdatedAt()));
+        byte[] hash = url.getOriginalUrlHash();
+        out.writeByte(hash == null ? 0 : hash.length);
+        if (hash != null) {
+            out.write(hash);
+        }
+    }
+
+    private static Url readRecord(DataInputStream in) throws IOException {
+        String shortCode = in.readUTF();
+        long id = in.readLong();
+        Url url = new Url(in.readUTF(), shortCode);
+        url.setId(id);
+        url.setClickCount(in.readLong());
+        url.setIsActive(in.readBoolean());
+        url.setExpiresAt(fromMicros(in.readLong()));
+        url.setCreatedAt(fromMicros(in.readLong()));
+        url.setUpdatedAt(fromMicros(in.readLong()));
+        int hashLength = in.readUnsignedByte();
+        if (hashLength > 0) {
+            byte[] hash = new byte[hashLength];
+            in.readFully(hash);
+            url.setOriginalUrlHash(hash);
+        }
+        return url;
+    }
+
+    // Last block whose first code is not after the code
+    private int blockFor(String shortCode) {
+        int low = 0;
+        int high = firstKeys.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (firstKeys[mid].compareTo(shortCode) <= 0) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private byte[] inflate(int block) throws IOException {
+        ByteBuffer compressed = read(channel, offsets[block], compressedLengths[block]);
+        byte[] raw = new byte[rawLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != raw.length) {
+                throw new IOException("Truncated block " + block + " in archive segment " + path);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block " + block + " in archive segment " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // Positional reads, so concurrent lookups share the channel
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive segment");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time == null ? NO_TIME : ChronoUnit.MICROS.between(Instant.EPOCH, time.toInstant(ZoneOffset.UTC));
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return micros == NO_TIME ? null
+                : LocalDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,144 @@
+package com.project.url_shortener_be.archive;
+
+import com.project.url_shortener_be.entity.Url;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Writes an {@link ArchiveSegment} from rows added in short code order. Blocks
+ * are compressed as they fill and streamed to a temp file next to the target;
+ * {@link #commit()} appends the index, syncs the file to disk and
+ * atomically moves it into place, so a segment is either complete or absent.
+ */
+public final class ArchiveSegmentWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path target;
+    private final Path temp;
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private final int blockSize;
+    private final Deflater deflater = new Deflater();
+    private final byte[] deflateBuffer = new byte[BUFFER_SIZE];
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+    private final DataOutputStream blockOut = new DataOutputStream(block);
+    private final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+    private final List<Block> blocks = new ArrayList<>();
+    private String blockFirstKey;
+    private int blockRecords;
+    private String lastKey;
+    private long offset = ArchiveSegment.HEADER_SIZE;
+    private int count;
+
+    private record Block(String firstKey, long offset, int compressedLength, int rawLength, int records) {
+    }
+
+    public ArchiveSegmentWriter(Path target, int blockSize, LocalDateTime archivedAt) throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Archive block size must be positive: " + blockSize);
+        }
+        this.target = target;
+        this.blockSize = blockSize;
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        this.temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        this.channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+
+        out.writeInt(ArchiveSegment.MAGIC);
+        out.writeInt(ArchiveSegment.VERSION);
+        out.writeLong(archivedAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    // Append a row; codes must arrive in strictly increasing order
+    public void add(Url url) throws IOException {
+        String shortCode = url.getShortCode();
+        if (lastKey != null && lastKey.compareTo(shortCode) >= 0) {
+            throw new IllegalStateException("Archive rows are not in short code order at " + shortCode);
+        }
+        if (blockRecords == 0) {
+            blockFirstKey = shortCode;
+        }
+        ArchiveSegment.writeRecord(blockOut, url);
+        lastKey = shortCode;
+        blockRecords++;
+        count++;
+        if (blockRecords == blockSize) {
+            flushBlock();
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    // Write the index and footer, sync and move the segment into place
+    public void commit() throws IOException {
+        if (count == 0) {
+            throw new IllegalStateException("Archive segment has no rows");
+        }
+        if (blockRecords > 0) {
+            flushBlock();
+        }
+
+        long indexOffset = offset;
+        out.writeInt(blocks.size());
+        for (Block written : blocks) {
+            out.writeUTF(written.firstKey());
+            out.writeLong(written.offset());
+            out.writeInt(written.compressedLength());
+            out.writeInt(written.rawLength());
+            out.writeInt(written.records());
+        }
+        out.writeUTF(lastKey);
+        out.writeLong(indexOffset);
+        out.writeInt(count);
+        out.writeInt(ArchiveSegment.MAGIC);
+        out.flush();
+        channel.force(true);
+        out.close();
+
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        out.close();
+        Files.deleteIfExists(temp);
+    }
+
+    private void flushBlock() throws IOException {
+        byte[] raw = block.toByteArray();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        compressed.reset();
+        while (!deflater.finished()) {
+            compressed.write(deflateBuffer, 0, deflater.deflate(deflateBuffer));
+        }
+        compressed.writeTo(out);
+
+        blocks.add(new Block(blockFirstKey, offset, compressed.size(), raw.length, blockRecords));
+        offset += compressed.size();
+        block.reset();
+        blockRecords = 0;
+    }
+}
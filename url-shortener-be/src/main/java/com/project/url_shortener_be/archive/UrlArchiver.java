@@ -0,0 +1,333 @@
+package com.project.url_shortener_be.archive;
+
+import com.project.url_shortener_be.bloom.ShortCodeFilter;
+import com.project.url_shortener_be.cache.UrlResolveCache;
+import com.project.url_shortener_be.datasource.ReplicaReadPolicy;
+import com.project.url_shortener_be.entity.Url;
+import com.project.url_shortener_be.exception.ShortCodeConflictException;
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import com.project.url_shortener_be.snapshot.RedirectSnapshotStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Moves URLs that have been inactive, or expired, for longer than app.archive.after
+ * out of the urls table into {@link ArchiveSegment} files, so the table and its
+ * short_code index only hold links that can still redirect. Each segment is
+ * synced to disk before its rows are deleted in batches; a crash in between
+ * leaves a row in both places, never in neither.
+ *
+ * Archived codes answer 404 and can be taken by new URLs. They are read back
+ * through the segment indexes (newest segment first) and can be restored into
+ * the table. Runs hold a Postgres advisory lock, so with several nodes one
+ * archives at a time and app.archive.path should be shared storage.
+ */
+@Component
+@Slf4j
+public class UrlArchiver {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final UrlJdbcRepository urlJdbcRepository;
+    private final UrlResolveCache urlResolveCache;
+    private final ReplicaReadPolicy replicaReadPolicy;
+    private final RedirectSnapshotStore redirectSnapshotStore;
+    private final ShortCodeFilter shortCodeFilter;
+    private final boolean enabled;
+    private final Path directory;
+    private final Duration after;
+    private final int segmentSize;
+    private final int blockSize;
+    private final int deleteBatchSize;
+    private final int maxSegmentsPerRun;
+    private final long lockKey;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService archiveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "url-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter rowsArchived;
+    private final Counter rowsSkipped;
+    private final Counter rowsRestored;
+    private final Counter lookupHits;
+    private final Counter lookupMisses;
+
+    // Loaded segments, newest first; replaced, never modified
+    private volatile List<ArchiveSegment> segments = List.of();
+
+    public UrlArchiver(UrlJdbcRepository urlJdbcRepository,
+                       UrlResolveCache urlResolveCache,
+                       ReplicaReadPolicy replicaReadPolicy,
+                       RedirectSnapshotStore redirectSnapshotStore,
+                       ShortCodeFilter shortCodeFilter,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.archive.enabled:false}") boolean enabled,
+                       @Value("${app.archive.path:data/archive}") String path,
+                       @Value("${app.archive.after:30d}") Duration after,
+                       @Value("${app.archive.segment-size:10000}") int segmentSize,
+                       @Value("${app.archive.block-size:64}") int blockSize,
+                       @Value("${app.archive.delete-batch-size:500}") int deleteBatchSize,
+                       @Value("${app.archive.max-segments-per-run:10}") int maxSegmentsPerRun,
+                       @Value("${app.archive.lock-key:727102}") long lockKey) {
+        this.urlJdbcRepository = urlJdbcRepository;
+        this.urlResolveCache = urlResolveCache;
+        this.replicaReadPolicy = replicaReadPolicy;
+        this.redirectSnapshotStore = redirectSnapshotStore;
+        this.shortCodeFilter = shortCodeFilter;
+        this.enabled = enabled;
+        this.directory = Path.of(path);
+        this.after = after;
+        this.segmentSize = segmentSize;
+        this.blockSize = blockSize;
+        this.deleteBatchSize = deleteBatchSize;
+        this.maxSegmentsPerRun = maxSegmentsPerRun;
+        this.lockKey = lockKey;
+
+        this.rowsArchived = rows(meterRegistry, "archived");
+        this.rowsSkipped = rows(meterRegistry, "changed_while_archiving");
+        this.rowsRestored = rows(meterRegistry, "restored");
+        this.lookupHits = Counter.builder("url.archive.lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.lookupMisses = Counter.builder("url.archive.lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("url.archive.segments", this, archiver -> archiver.segments.size())
+                .description("Archive segments loaded on this node")
+                .register(meterRegistry);
+        Gauge.builder("url.archive.backlog", backlog, AtomicLong::get)
+                .description("Rows due for archiving when the last run finished")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            loadSegments();
+        }
+    }
+
+    // A run deletes in many small transactions, so it is handed to the archiver's own thread
+    // instead of holding the shared scheduler thread for its whole length
+    @Scheduled(initialDelayString = "${app.archive.initial-delay-ms:60000}",
+               fixedDelayString = "${app.archive.interval-ms:3600000}")
+    public void scheduledArchive() {
+        if (!enabled || running.get()) {
+            return;
+        }
+        try {
+            archiveExecutor.execute(this::archive);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the next start picks the backlog up
+        }
+    }
+
+    // Archive due rows, one segment at a time; returns the number of rows moved by this node
+    public int archive() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            // Segments written by another node since the last run
+            loadSegments();
+            AtomicInteger archived = new AtomicInteger();
+            boolean acquired = urlJdbcRepository.runWithAdvisoryLock(lockKey, () -> {
+                int written = 0;
+                List<Url> rows;
+                do {
+                    LocalDateTime cutoff = LocalDateTime.now().minus(after);
+                    rows = urlJdbcRepository.findArchivable(cutoff, segmentSize);
+                    if (!rows.isEmpty()) {
+                        archived.addAndGet(archiveSegment(rows));
+                        written++;
+                    }
+                } while (rows.size() == segmentSize && written < maxSegmentsPerRun && !archiveExecutor.isShutdown());
+                backlog.set(urlJdbcRepository.countArchivable(LocalDateTime.now().minus(after)));
+            });
+
+            if (!acquired) {
+                log.debug("Archive run skipped, another node holds the lock");
+                return 0;
+            }
+            if (archived.get() > 0) {
+                log.info("Archived {} URLs, {} still due", archived.get(), backlog.get());
+            }
+            return archived.get();
+        } catch (UncheckedIOException e) {
+            log.warn("Archive run stopped, could not write a segment: {}", e.getMessage());
+            return 0;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Newest archived copy of the code
+    public Optional<ArchivedUrl> find(String shortCode) {
+        try {
+            for (ArchiveSegment segment : segments) {
+                Optional<Url> url = segment.find(shortCode);
+                if (url.isPresent()) {
+                    lookupHits.increment();
+                    return Optional.of(new ArchivedUrl(url.get(), segment.archivedAt()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lookupMisses.increment();
+        return Optional.empty();
+    }
+
+    // Put the newest archived copy back into the table, optionally active again with no expiry.
+    // The copy stays in its segment; if the row is archived again, the newer segment wins
+    public Optional<Url> restore(String shortCode, boolean reactivate) {
+        Optional<ArchivedUrl> archived = find(shortCode);
+        if (archived.isEmpty()) {
+            return Optional.empty();
+        }
+        Url url = archived.get().url();
+        if (reactivate) {
+            url.setIsActive(true);
+            url.setExpiresAt(null);
+        }
+        url.setUpdatedAt(LocalDateTime.now());
+        try {
+            urlJdbcRepository.insertRestored(url);
+        } catch (DuplicateKeyException e) {
+            throw new ShortCodeConflictException("Short code already exists: " + shortCode);
+        }
+
+        shortCodeFilter.add(shortCode);
+        replicaReadPolicy.recordWrite(shortCode);
+        redirectSnapshotStore.recordWrite(shortCode);
+        urlResolveCache.invalidate(shortCode);
+        rowsRestored.increment();
+        log.info("Restored archived URL {}", shortCode);
+        return Optional.of(url);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        // Stops a run after its current segment
+        archiveExecutor.shutdown();
+        archiveExecutor.awaitTermination(10, TimeUnit.SECONDS);
+
+        for (ArchiveSegment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.debug("Could not close archive segment {}: {}", segment.path(), e.getMessage());
+            }
+        }
+    }
+
+    // Archived row with the time its segment was written
+    public record ArchivedUrl(Url url, LocalDateTime archivedAt) {
+    }
+
+    // Write the rows to a new segment, then delete them from the table in batches
+    private int archiveSegment(List<Url> rows) {
+        List<Url> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(Url::getShortCode));
+        LocalDateTime archivedAt = LocalDateTime.now();
+        Path target = directory.resolve(String.format("segment-%013d-%04d%s",
+                System.currentTimeMillis(), sequence.getAndIncrement() % 10000, SEGMENT_SUFFIX));
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(target, blockSize, archivedAt)) {
+            for (Url url : sorted) {
+                writer.add(url);
+            }
+            writer.commit();
+            addSegment(ArchiveSegment.open(target));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int deleted = 0;
+        for (int from = 0; from < rows.size(); from += deleteBatchSize) {
+            List<String> shortCodes = urlJdbcRepository.deleteArchived(
+                    rows.subList(from, Math.min(from + deleteBatchSize, rows.size())));
+            for (String shortCode : shortCodes) {
+                replicaReadPolicy.recordWrite(shortCode);
+                redirectSnapshotStore.recordDelete(shortCode);
+            }
+            urlResolveCache.invalidate(shortCodes);
+            deleted += shortCodes.size();
+        }
+        rowsArchived.increment(deleted);
+        rowsSkipped.increment(rows.size() - deleted);
+        return deleted;
+    }
+
+    // Open segment files not loaded yet; unreadable files are skipped and retried next time
+    private synchronized void loadSegments() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Set<Path> loaded = segments.stream().map(ArchiveSegment::path).collect(Collectors.toSet());
+        List<Path> found;
+        try (Stream<Path> files = Files.list(directory)) {
+            found = files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .filter(file -> !loaded.contains(file))
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Could not list archive segments in {}: {}", directory, e.getMessage());
+            return;
+        }
+        for (Path file : found) {
+            try {
+                addSegment(ArchiveSegment.open(file));
+            } catch (IOException e) {
+                log.warn("Skipping archive segment {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    // Segment names start with their creation time, so name order is age order
+    private synchronized void addSegment(ArchiveSegment segment) {
+        List<ArchiveSegment> updated = new ArrayList<>(segments);
+        updated.add(segment);
+        updated.sort(Comparator.comparing((ArchiveSegment s) -> s.path().getFileName().toString()).reversed());
+        segments = List.copyOf(updated);
+    }
+
+    private static Counter rows(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("url.archive.rows")
+                .description("URLs moved to or from the archive")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
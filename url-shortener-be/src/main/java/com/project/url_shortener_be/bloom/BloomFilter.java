@@ -0,0 +1,141 @@
+package com.project.url_shortener_be.bloom;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings.
+ * Bits live in an AtomicLongArray so lookups and inserts can run concurrently
+ * without locking; a value that was put is always reported as present.
+ */
+public class BloomFilter {
+
+    private static final long MAGIC = 0x55524C424C4F4F4DL; // "URLBLOOM"
+    private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+    private final AtomicLong bitCount = new AtomicLong();
+
+    private BloomFilter(int numWords, int numHashes) {
+        this.words = new AtomicLongArray(numWords);
+        this.numBits = (long) numWords * Long.SIZE;
+        this.numHashes = numHashes;
+    }
+
+    // Size the filter for the expected number of values at the target false-positive probability
+    public static BloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int numWords = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE));
+        int numHashes = (int) Math.max(1, Math.round((double) numWords * Long.SIZE / n * Math.log(2)));
+        return new BloomFilter(numWords, numHashes);
+    }
+
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            setBit(Long.remainderUnsigned(hash1 + i * hash2, numBits));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, numBits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Probability that a value never put is reported as present, given the current fill
+    public double expectedFalsePositiveProbability() {
+        return Math.pow((double) bitCount.get() / numBits, numHashes);
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    public int getNumWords() {
+        return words.length();
+    }
+
+    // Bytes needed to serialize this filter
+    public long serializedSize() {
+        return HEADER_BYTES + (long) words.length() * Long.BYTES;
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putLong(MAGIC);
+        buffer.putInt(numHashes);
+        buffer.putInt(words.length());
+        for (int i = 0; i < words.length(); i++) {
+            buffer.putLong(words.get(i));
+        }
+    }
+
+    // Read a filter written by writeTo; returns null if the data is not a compatible filter
+    public static BloomFilter readFrom(ByteBuffer buffer, int expectedNumWords, int expectedNumHashes) {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getLong() != MAGIC) {
+            return null;
+        }
+
+        int numHashes = buffer.getInt();
+        int numWords = buffer.getInt();
+        if (numHashes != expectedNumHashes || numWords != expectedNumWords
+                || buffer.remaining() < (long) numWords * Long.BYTES) {
+            return null;
+        }
+
+        BloomFilter filter = new BloomFilter(numWords, numHashes);
+        long bits = 0;
+        for (int i = 0; i < numWords; i++) {
+            long word = buffer.getLong();
+            filter.words.set(i, word);
+            bits += Long.bitCount(word);
+        }
+        filter.bitCount.set(bits);
+        return filter;
+    }
+
+    private void setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long word;
+        do {
+            word = words.get(index);
+            if ((word & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(index, word, word | mask));
+        bitCount.incrementAndGet();
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes, finished with a strong mixer
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    // MurmurHash3 fmix64 finalizer
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB93FE53B0D8DL;
+        value ^= value >>> 33;
+        return value;
+    }
+}
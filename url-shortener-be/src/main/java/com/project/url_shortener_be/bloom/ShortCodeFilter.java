@@ -0,0 +1,267 @@
+package com.project.url_shortener_be.bloom;
+
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloom filter over every issued short code, used as a front door before the
+ * resolve cache and the database. A negative answer means the code was never
+ * issued, so unknown codes are rejected without a query.
+ *
+ * The filter is built by streaming the urls table once, then kept current by
+ * local inserts and a periodic delta scan on updated_at, which also picks up
+ * codes created by other nodes. It is snapshotted to a memory-mapped file so a
+ * restart only has to scan the rows changed since the snapshot. Until the
+ * first load finishes every code is reported as possibly present.
+ */
+@Component
+@Slf4j
+public class ShortCodeFilter {
+
+    private final UrlJdbcRepository urlJdbcRepository;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Path snapshotPath;
+    private final Duration refreshOverlap;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Counter absent;
+    private final Counter maybePresent;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    private volatile boolean ready;
+    private volatile LocalDateTime watermark;
+
+    public ShortCodeFilter(UrlJdbcRepository urlJdbcRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.bloom.enabled:false}") boolean enabled,
+                           @Value("${app.bloom.expected-insertions:10000000}") long expectedInsertions,
+                           @Value("${app.bloom.false-positive-probability:0.01}") double falsePositiveProbability,
+                           @Value("${app.bloom.snapshot-path:}") String snapshotPath,
+                           @Value("${app.bloom.refresh-overlap:1m}") Duration refreshOverlap) {
+        this.urlJdbcRepository = urlJdbcRepository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.refreshOverlap = refreshOverlap;
+        this.filter = BloomFilter.create(expectedInsertions, falsePositiveProbability);
+
+        this.absent = Counter.builder("url.bloom.checks")
+                .description("Short code lookups answered by the filter")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.maybePresent = Counter.builder("url.bloom.checks")
+                .description("Short code lookups answered by the filter")
+                .tag("result", "maybe_present")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("url.bloom.false.positives")
+                .description("Lookups the filter let through that the database did not find")
+                .register(meterRegistry);
+        Gauge.builder("url.bloom.fpp.expected", this, f -> f.filter.expectedFalsePositiveProbability())
+                .description("False-positive probability implied by the filter's current fill")
+                .register(meterRegistry);
+        Gauge.builder("url.bloom.fpp.observed", this, ShortCodeFilter::observedFalsePositiveRate)
+                .description("False positives / (false positives + definite negatives)")
+                .register(meterRegistry);
+    }
+
+    // False means the code was never issued; true means it may exist
+    public boolean mightContain(String shortCode) {
+        if (!enabled || !ready) {
+            return true;
+        }
+        if (filter.mightContain(shortCode)) {
+            maybePresent.increment();
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    // Record an issued code; call for every insert and short code change
+    public void add(String shortCode) {
+        if (enabled) {
+            filter.put(shortCode);
+        }
+    }
+
+    // The filter let a code through but the database had no row for it
+    public void recordFalsePositive() {
+        if (enabled && ready) {
+            falsePositives.increment();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Load in the background so a full table scan never delays startup;
+    // lookups fall through to the database until it finishes
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+
+        Thread loader = new Thread(this::load, "short-code-filter-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(fixedDelayString = "${app.bloom.refresh-interval-ms:5000}")
+    public void scheduledRefresh() {
+        if (enabled && ready) {
+            refresh();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.bloom.snapshot-interval-ms:300000}",
+               fixedDelayString = "${app.bloom.snapshot-interval-ms:300000}")
+    public void scheduledSnapshot() {
+        if (enabled && ready) {
+            snapshot();
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        if (enabled && ready) {
+            snapshot();
+        }
+    }
+
+    // Restore the last snapshot if there is a compatible one, otherwise scan the whole table
+    void load() {
+        refreshLock.lock();
+        try {
+            long start = System.nanoTime();
+            if (!restoreSnapshot()) {
+                BloomFilter fresh = BloomFilter.create(expectedInsertions, falsePositiveProbability);
+                LocalDateTime scanStart = LocalDateTime.now();
+                long rows = urlJdbcRepository.streamShortCodes(null, fresh::put);
+                filter = fresh;
+                watermark = scanStart;
+                log.info("Built short code filter from {} rows in {} ms", rows,
+                        Duration.ofNanos(System.nanoTime() - start).toMillis());
+            }
+
+            // Codes added while loading went into the old filter; the delta scan catches them
+            refreshDelta();
+            ready = true;
+        } catch (RuntimeException e) {
+            log.error("Could not load short code filter, lookups keep going to the database: {}", e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    void refresh() {
+        refreshLock.lock();
+        try {
+            refreshDelta();
+        } catch (RuntimeException e) {
+            log.warn("Short code filter refresh failed: {}", e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Re-add codes changed since the watermark, minus an overlap for transactions
+    // that committed after rows with later timestamps
+    private void refreshDelta() {
+        LocalDateTime scanStart = LocalDateTime.now();
+        long rows = urlJdbcRepository.streamShortCodes(watermark.minus(refreshOverlap), filter::put);
+        watermark = scanStart;
+        log.debug("Short code filter refreshed with {} changed rows", rows);
+    }
+
+    // Write the filter to a memory-mapped temp file, then atomically replace the snapshot
+    void snapshot() {
+        if (snapshotPath == null) {
+            return;
+        }
+
+        refreshLock.lock();
+        try {
+            Path directory = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, snapshotPath.getFileName().toString(), ".tmp");
+
+            BloomFilter current = filter;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        Long.BYTES + current.serializedSize());
+                buffer.putLong(watermark.toInstant(ZoneOffset.UTC).toEpochMilli());
+                current.writeTo(buffer);
+                buffer.force();
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote short code filter snapshot to {}", snapshotPath);
+        } catch (IOException e) {
+            log.warn("Could not write short code filter snapshot to {}: {}", snapshotPath, e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private boolean restoreSnapshot() {
+        if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return false;
+        }
+
+        BloomFilter expected = BloomFilter.create(expectedInsertions, falsePositiveProbability);
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < Long.BYTES) {
+                return false;
+            }
+            LocalDateTime snapshotWatermark = LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong()), ZoneOffset.UTC);
+
+            BloomFilter restored = BloomFilter.readFrom(buffer, expected.getNumWords(), expected.getNumHashes());
+            if (restored == null) {
+                log.info("Short code filter snapshot {} does not match the configured size, rebuilding", snapshotPath);
+                return false;
+            }
+
+            filter = restored;
+            watermark = snapshotWatermark;
+            log.info("Restored short code filter snapshot from {} (taken at {})", snapshotPath, snapshotWatermark);
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not read short code filter snapshot {}: {}", snapshotPath, e.getMessage());
+            return false;
+        }
+    }
+
+    private double observedFalsePositiveRate() {
+        double fp = falsePositives.count();
+        double total = fp + absent.count();
+        return total == 0 ? 0 : fp / total;
+    }
+}
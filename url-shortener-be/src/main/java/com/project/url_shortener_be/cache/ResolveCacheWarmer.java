@@ -0,0 +1,111 @@
+package com.project.url_shortener_be.cache;
+
+import com.project.url_shortener_be.dto.RedirectTarget;
+import com.project.url_shortener_be.dto.RollupGranularity;
+import com.project.url_shortener_be.metrics.StartupMetrics;
+import com.project.url_shortener_be.repository.ClickRollupRepository;
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Preloads the redirect targets of the hottest codes into the resolve cache.
+ * Application runners finish before Spring Boot marks the application ready,
+ * so the readiness probe only passes once the warm-up is done (or has used up
+ * its time budget) and a fresh instance does not send its first minutes of
+ * hot-link redirects to the database. A failed warm-up is logged and startup
+ * carries on with a cold cache.
+ */
+@Component
+@Slf4j
+public class ResolveCacheWarmer implements ApplicationRunner {
+
+    private final UrlResolveCache urlResolveCache;
+    private final UrlJdbcRepository urlJdbcRepository;
+    private final ClickRollupRepository clickRollupRepository;
+    private final StartupMetrics startupMetrics;
+    private final boolean enabled;
+    private final int topN;
+    private final WarmupSource source;
+    private final Duration rollupWindow;
+    private final int batchSize;
+    private final Duration timeout;
+
+    public ResolveCacheWarmer(UrlResolveCache urlResolveCache,
+                              UrlJdbcRepository urlJdbcRepository,
+                              ClickRollupRepository clickRollupRepository,
+                              StartupMetrics startupMetrics,
+                              @Value("${app.warmup.enabled:true}") boolean enabled,
+                              @Value("${app.warmup.top-n:10000}") int topN,
+                              @Value("${app.warmup.source:rollups}") String source,
+                              @Value("${app.warmup.rollup-window:24h}") Duration rollupWindow,
+                              @Value("${app.warmup.batch-size:1000}") int batchSize,
+                              @Value("${app.warmup.timeout:30s}") Duration timeout) {
+        this.urlResolveCache = urlResolveCache;
+        this.urlJdbcRepository = urlJdbcRepository;
+        this.clickRollupRepository = clickRollupRepository;
+        this.startupMetrics = startupMetrics;
+        this.enabled = enabled;
+        this.topN = topN;
+        this.source = WarmupSource.fromValue(source);
+        this.rollupWindow = rollupWindow;
+        this.batchSize = batchSize;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // More codes than the redirect region holds would only evict each other
+        int limit = (int) Math.min(topN, urlResolveCache.getRedirectCapacity());
+        if (!enabled || limit <= 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        int loaded = 0;
+        try {
+            List<String> codes = hottestCodes(limit);
+            for (int from = 0; from < codes.size(); from += batchSize) {
+                if (System.nanoTime() - deadline > 0) {
+                    log.warn("Cache warm-up stopped after {} of {} codes: took longer than {}",
+                            from, codes.size(), timeout);
+                    break;
+                }
+                List<String> batch = codes.subList(from, Math.min(from + batchSize, codes.size()));
+                Map<String, RedirectTarget> targets = urlJdbcRepository.findRedirectTargets(batch);
+                loaded += urlResolveCache.preloadRedirectTargets(targets);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Cache warm-up failed after {} codes, starting with a partly cold cache: {}",
+                    loaded, e.getMessage());
+        }
+
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+        startupMetrics.warmupCompleted(loaded, took);
+        log.info("Cache warm-up preloaded {} redirect targets from {} in {} ms",
+                loaded, source.getValue(), took.toMillis());
+    }
+
+    // Rollups never fall back to click_count: with fewer hot codes than the limit there is
+    // nothing worth a full scan and sort of urls. click_count stays unindexed so click
+    // flushes remain HOT updates
+    private List<String> hottestCodes(int limit) {
+        if (source == WarmupSource.ROLLUPS) {
+            // Rollup buckets are in UTC
+            return clickRollupRepository.findTopShortCodes(
+                    RollupGranularity.HOUR, LocalDateTime.now(ZoneOffset.UTC).minus(rollupWindow), limit);
+        }
+        return urlJdbcRepository.findTopShortCodesByClicks(LocalDateTime.now(), limit);
+    }
+}
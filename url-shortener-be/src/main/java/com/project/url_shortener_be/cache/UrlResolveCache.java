@@ -0,0 +1,226 @@
+package com.project.url_shortener_be.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.project.url_shortener_be.dto.CacheStatsResponse;
+import com.project.url_shortener_be.dto.RedirectTarget;
+import com.project.url_shortener_be.dto.UrlResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through caches for short code resolution.
+ * The resolve region holds full UrlResponse DTOs for the API; the redirect
+ * region holds slim RedirectTarget projections for the redirect endpoints.
+ * Both store "not found" results (as empty optionals) so repeated lookups of
+ * hot or unknown codes do not reach the database.
+ * Loads run on the calling thread but outside any lock held by the cache, so a
+ * virtual thread blocked on the database does not pin its carrier thread.
+ */
+@Component
+@Slf4j
+public class UrlResolveCache {
+
+    private final AsyncCache<String, Optional<UrlResponse>> resolveCache;
+    private final AsyncCache<String, Optional<RedirectTarget>> redirectCache;
+    private final long redirectMaximumSize;
+
+    public UrlResolveCache(MeterRegistry meterRegistry,
+                           @Value("${app.cache.resolve.maximum-size:100000}") long maximumSize,
+                           @Value("${app.cache.redirect.maximum-size:100000}") long redirectMaximumSize,
+                           @Value("${app.cache.resolve.ttl:10m}") Duration ttl,
+                           @Value("${app.cache.resolve.negative-ttl:30s}") Duration negativeTtl) {
+        this.resolveCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ResolveExpiry<UrlResponse>(ttl, negativeTtl, UrlResponse::getExpiresAt))
+                .recordStats()
+                .buildAsync();
+        this.redirectMaximumSize = redirectMaximumSize;
+        this.redirectCache = Caffeine.newBuilder()
+                .maximumSize(redirectMaximumSize)
+                .expireAfter(new ResolveExpiry<RedirectTarget>(ttl, negativeTtl, RedirectTarget::getExpiresAt))
+                .recordStats()
+                .buildAsync();
+        // Exposes cache.gets{result=hit|miss}, cache.evictions etc. per region
+        CaffeineCacheMetrics.monitor(meterRegistry, resolveCache, "resolve");
+        CaffeineCacheMetrics.monitor(meterRegistry, redirectCache, "redirect");
+        log.info("Resolve cache configured with maximumSize={}, redirectMaximumSize={}, ttl={}, negativeTtl={}",
+                maximumSize, redirectMaximumSize, ttl, negativeTtl);
+    }
+
+    // Get cached resolution, loading it with the given function on a miss
+    public Optional<UrlResponse> get(String shortCode, Function<String, Optional<UrlResponse>> loader) {
+        return getOrLoad(resolveCache, shortCode, loader);
+    }
+
+    // Get cached redirect target, loading it with the given function on a miss
+    public Optional<RedirectTarget> getRedirectTarget(String shortCode,
+                                                      Function<String, Optional<RedirectTarget>> loader) {
+        return getOrLoad(redirectCache, shortCode, loader);
+    }
+
+    // Non-blocking variants for the reactive stack: the loader's future is installed as
+    // the entry, so concurrent lookups share one query and failed loads are not cached
+    public CompletableFuture<Optional<UrlResponse>> getAsync(
+            String shortCode, Function<String, CompletableFuture<Optional<UrlResponse>>> loader) {
+        return resolveCache.get(shortCode, (code, executor) -> loader.apply(code));
+    }
+
+    public CompletableFuture<Optional<RedirectTarget>> getRedirectTargetAsync(
+            String shortCode, Function<String, CompletableFuture<Optional<RedirectTarget>>> loader) {
+        return redirectCache.get(shortCode, (code, executor) -> loader.apply(code));
+    }
+
+    // Preload redirect targets (cache warm-up); entries a lookup has already
+    // loaded or is loading are kept. Returns how many entries were added.
+    public int preloadRedirectTargets(Map<String, RedirectTarget> targets) {
+        int added = 0;
+        for (Map.Entry<String, RedirectTarget> entry : targets.entrySet()) {
+            if (redirectCache.asMap().putIfAbsent(entry.getKey(),
+                    CompletableFuture.completedFuture(Optional.of(entry.getValue()))) == null) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    public long getRedirectCapacity() {
+        return redirectMaximumSize;
+    }
+
+    // Drop cached entries right away
+    public void invalidate(String... shortCodes) {
+        invalidate(List.of(shortCodes));
+    }
+
+    public void invalidate(Collection<String> shortCodes) {
+        resolveCache.synchronous().invalidateAll(shortCodes);
+        redirectCache.synchronous().invalidateAll(shortCodes);
+    }
+
+    // Drop cached entries now and again once the surrounding transaction commits,
+    // so a concurrent lookup cannot re-cache the pre-commit state
+    public void invalidateAfterCommit(String... shortCodes) {
+        List<String> codes = List.of(shortCodes);
+        invalidate(codes);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(codes);
+                }
+            });
+        }
+    }
+
+    // Statistics per cache region
+    public Map<String, CacheStatsResponse> getStats() {
+        Map<String, CacheStatsResponse> stats = new LinkedHashMap<>();
+        stats.put("resolve", toResponse(resolveCache));
+        stats.put("redirect", toResponse(redirectCache));
+        return stats;
+    }
+
+    // Only an empty future is installed while the cache holds its map lock; the
+    // thread that installed it runs the loader, concurrent callers for the same
+    // code wait on that future instead of querying the database again
+    private static <V> Optional<V> getOrLoad(AsyncCache<String, Optional<V>> cache, String shortCode,
+                                             Function<String, Optional<V>> loader) {
+        CompletableFuture<Optional<V>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<V>> future = cache.get(shortCode, (code, executor) -> created);
+
+        if (future == created) {
+            try {
+                Optional<V> value = loader.apply(shortCode);
+                created.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                // Failed loads are dropped from the cache so the next lookup retries
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static CacheStatsResponse toResponse(AsyncCache<?, ?> asyncCache) {
+        Cache<?, ?> cache = asyncCache.synchronous();
+        CacheStats stats = cache.stats();
+        CacheStatsResponse response = new CacheStatsResponse();
+        response.setEstimatedSize(cache.estimatedSize());
+        response.setHitCount(stats.hitCount());
+        response.setMissCount(stats.missCount());
+        response.setHitRate(stats.hitRate());
+        response.setEvictionCount(stats.evictionCount());
+        response.setLoadFailureCount(stats.loadFailureCount());
+        return response;
+    }
+
+    // Positive entries live for the TTL but never past the URL's own expiry;
+    // negative entries use the shorter negative TTL
+    private static class ResolveExpiry<V> implements Expiry<String, Optional<V>> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+        private final Function<V, LocalDateTime> expiresAt;
+
+        ResolveExpiry(Duration ttl, Duration negativeTtl, Function<V, LocalDateTime> expiresAt) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+            this.expiresAt = expiresAt;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Optional<V> value, long currentTime) {
+            if (value.isEmpty()) {
+                return negativeTtlNanos;
+            }
+
+            LocalDateTime expiry = expiresAt.apply(value.get());
+            if (expiry == null) {
+                return ttlNanos;
+            }
+
+            long untilExpiry = Duration.between(LocalDateTime.now(), expiry).toNanos();
+            return Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<V> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<V> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
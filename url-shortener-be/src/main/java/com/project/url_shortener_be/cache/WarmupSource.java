@@ -0,0 +1,25 @@
+package com.project.url_shortener_be.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Where the cache warm-up takes its hottest codes from
+@Getter
+@RequiredArgsConstructor
+public enum WarmupSource {
+    // Lifetime click_count on urls; unindexed, so every startup sorts the whole table
+    CLICK_COUNT("click-count"),
+    // Most clicks in recent hourly rollups, read through the rollup key
+    ROLLUPS("rollups");
+
+    private final String value;
+
+    public static WarmupSource fromValue(String value) {
+        for (WarmupSource source : values()) {
+            if (source.value.equalsIgnoreCase(value)) {
+                return source;
+            }
+        }
+        throw new IllegalArgumentException("app.warmup.source must be click-count or rollups, was " + value);
+    }
+}
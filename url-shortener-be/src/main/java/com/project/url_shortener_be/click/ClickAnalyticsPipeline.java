@@ -0,0 +1,274 @@
+package com.project.url_shortener_be.click;
+
+import com.project.url_shortener_be.dto.RollupGranularity;
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import com.project.url_shortener_be.repository.ClickRollupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-link click time series, kept off the redirect thread.
+ * Redirects publish a ClickEvent into a bounded lock-free ring; when the ring
+ * is full the event is dropped and counted rather than slowing the redirect.
+ * A single drainer aggregates events into minute, hour and day buckets per
+ * referrer host and user-agent class and adds them to url_click_rollups with
+ * batched upserts. Rollups that cannot be written are retried on the next
+ * drain, up to a cap past which they are dropped and counted as well.
+ *
+ * The Referer header is client supplied, so each code and bucket keeps at most
+ * maxReferrersPerBucket distinct hosts and folds the rest into "other"; a client
+ * forging a new Referer on every redirect cannot grow the table without bound.
+ * The hosts seen are tracked in memory until their bucket closes, so the cap
+ * holds per node and is granted afresh after a restart.
+ */
+@Component
+@Slf4j
+public class ClickAnalyticsPipeline {
+
+    private final ClickRollupRepository clickRollupRepository;
+    private final UrlMetrics urlMetrics;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxPendingRollups;
+    private final int maxReferrersPerBucket;
+    private final Map<RollupGranularity, Duration> retention;
+    private final ClickEventRing ring;
+
+    // Only touched while holding drainLock
+    private final Map<ClickRollupKey, Long> pending = new HashMap<>();
+    private final Map<ReferrerBucket, Set<String>> bucketReferrers = new HashMap<>();
+    private LocalDateTime referrersPrunedAt = LocalDateTime.MIN;
+    private volatile int pendingRollups;
+
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final ExecutorService drainExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "click-analytics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter eventsAccepted;
+    private final Counter eventsDropped;
+    private final Counter rollupsWritten;
+    private final Counter rollupsDropped;
+    private final Counter referrersFolded;
+
+    public ClickAnalyticsPipeline(ClickRollupRepository clickRollupRepository,
+                                  UrlMetrics urlMetrics,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.analytics.enabled:true}") boolean enabled,
+                                  @Value("${app.analytics.ring-capacity:65536}") int ringCapacity,
+                                  @Value("${app.analytics.batch-size:500}") int batchSize,
+                                  @Value("${app.analytics.max-pending-rollups:100000}") int maxPendingRollups,
+                                  @Value("${app.analytics.max-referrers-per-bucket:20}") int maxReferrersPerBucket,
+                                  @Value("${app.analytics.retention.minute:2d}") Duration minuteRetention,
+                                  @Value("${app.analytics.retention.hour:90d}") Duration hourRetention,
+                                  @Value("${app.analytics.retention.day:0s}") Duration dayRetention) {
+        this.clickRollupRepository = clickRollupRepository;
+        this.urlMetrics = urlMetrics;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxPendingRollups = maxPendingRollups;
+        this.maxReferrersPerBucket = maxReferrersPerBucket;
+        this.retention = Map.of(RollupGranularity.MINUTE, minuteRetention,
+                RollupGranularity.HOUR, hourRetention,
+                RollupGranularity.DAY, dayRetention);
+        this.ring = new ClickEventRing(ringCapacity);
+
+        this.eventsAccepted = Counter.builder("url.analytics.events")
+                .description("Click events offered to the analytics ring")
+                .tag("outcome", "accepted")
+                .register(meterRegistry);
+        this.eventsDropped = Counter.builder("url.analytics.events")
+                .description("Click events offered to the analytics ring")
+                .tag("outcome", "dropped_ring_full")
+                .register(meterRegistry);
+        this.rollupsWritten = Counter.builder("url.analytics.rollups.written")
+                .description("Rollup rows upserted")
+                .register(meterRegistry);
+        this.rollupsDropped = Counter.builder("url.analytics.rollups.dropped")
+                .description("Rollup rows discarded after repeated write failures")
+                .register(meterRegistry);
+        this.referrersFolded = Counter.builder("url.analytics.referrers.folded")
+                .description("Clicks counted under \"other\" because their bucket had reached its referrer cap")
+                .register(meterRegistry);
+        urlMetrics.gauge("url.analytics.ring.depth", "Click events waiting in the analytics ring", ring::size);
+        urlMetrics.gauge("url.analytics.rollups.pending", "Aggregated rollup rows not yet written",
+                () -> pendingRollups);
+    }
+
+    // Publish one click; never blocks and never touches the database
+    public void record(String shortCode, String referrer, String userAgent) {
+        if (!enabled) {
+            return;
+        }
+        if (!ring.offer(new ClickEvent(shortCode, System.currentTimeMillis(), referrer, userAgent))) {
+            eventsDropped.increment();
+            return;
+        }
+        eventsAccepted.increment();
+
+        // Drain early once the ring is half full instead of waiting for the schedule
+        if (ring.size() >= ring.capacity() / 2) {
+            requestDrain();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.flush-interval-ms:1000}")
+    public void scheduledDrain() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    // Aggregate everything in the ring and write it; returns the number of rollup rows written
+    public int drain() {
+        drainLock.lock();
+        try {
+            ring.drain(this::aggregate, ring.capacity());
+            pruneReferrerBuckets();
+            pendingRollups = pending.size();
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            return writePending();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    // Drop rollups past their granularity's retention; a retention of zero keeps them forever
+    @Scheduled(initialDelayString = "${app.analytics.purge-initial-delay-ms:60000}",
+               fixedDelayString = "${app.analytics.purge-interval-ms:3600000}")
+    public void purgeExpiredRollups() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        retention.forEach((granularity, keep) -> {
+            if (!keep.isZero()) {
+                int deleted = urlMetrics.database("delete_click_rollups",
+                        () -> clickRollupRepository.deleteRollupsBefore(granularity, now.minus(keep)));
+                if (deleted > 0) {
+                    log.info("Purged {} {} click rollups older than {}", deleted, granularity, keep);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        drainExecutor.shutdown();
+        drainExecutor.awaitTermination(10, TimeUnit.SECONDS);
+
+        if (enabled) {
+            int written = drain();
+            log.info("Drained {} click rollups on shutdown", written);
+        }
+    }
+
+    private void aggregate(ClickEvent event) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(event.timestampMillis()), ZoneOffset.UTC);
+        String referrer = ClickClassifier.referrer(event.referrer());
+        String agentClass = ClickClassifier.agentClass(event.userAgent());
+
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDateTime bucketStart = granularity.bucketStart(time);
+            ClickRollupKey key = new ClickRollupKey(event.shortCode(), granularity, bucketStart,
+                    cappedReferrer(event.shortCode(), granularity, bucketStart, referrer), agentClass);
+            pending.merge(key, 1L, Long::sum);
+        }
+    }
+
+    // The referrer itself while its bucket is under the cap or already has it, otherwise "other"
+    private String cappedReferrer(String shortCode, RollupGranularity granularity, LocalDateTime bucketStart,
+                                  String referrer) {
+        if (referrer.equals(ClickClassifier.DIRECT) || referrer.equals(ClickClassifier.UNKNOWN)) {
+            return referrer;
+        }
+        Set<String> referrers = bucketReferrers.computeIfAbsent(
+                new ReferrerBucket(shortCode, granularity, bucketStart), bucket -> new HashSet<>());
+        if (referrers.contains(referrer) || (referrers.size() < maxReferrersPerBucket && referrers.add(referrer))) {
+            return referrer;
+        }
+        referrersFolded.increment();
+        return ClickClassifier.OTHER;
+    }
+
+    // Forget the referrers of buckets that closed before the previous one; checked once a minute
+    private void pruneReferrerBuckets() {
+        LocalDateTime now = RollupGranularity.MINUTE.bucketStart(LocalDateTime.now(ZoneOffset.UTC));
+        if (!now.isAfter(referrersPrunedAt)) {
+            return;
+        }
+        referrersPrunedAt = now;
+        bucketReferrers.keySet().removeIf(bucket -> bucket.bucketStart().isBefore(
+                bucket.granularity().bucketStart(now).minus(1, bucket.granularity().getUnit())));
+    }
+
+    private int writePending() {
+        TreeMap<ClickRollupKey, Long> rollups = new TreeMap<>(pending);
+        try {
+            urlMetrics.database("upsert_click_rollups", () -> clickRollupRepository.addClicks(rollups, batchSize));
+        } catch (RuntimeException e) {
+            // Kept for the next drain unless the backlog has outgrown its cap
+            if (pending.size() > maxPendingRollups) {
+                rollupsDropped.increment(pending.size());
+                log.error("Dropped {} click rollups after a failed write: {}", pending.size(), e.getMessage());
+                pending.clear();
+            } else {
+                log.error("Failed to write {} click rollups, retrying on the next drain: {}",
+                        pending.size(), e.getMessage());
+            }
+            pendingRollups = pending.size();
+            return 0;
+        }
+
+        pending.clear();
+        pendingRollups = 0;
+        rollupsWritten.increment(rollups.size());
+        log.debug("Wrote {} click rollups", rollups.size());
+        return rollups.size();
+    }
+
+    private void requestDrain() {
+        if (drainRequested.compareAndSet(false, true)) {
+            try {
+                drainExecutor.execute(() -> {
+                    try {
+                        drain();
+                    } finally {
+                        drainRequested.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Executor already shut down; the shutdown drain picks the events up
+                drainRequested.set(false);
+            }
+        }
+    }
+
+    private record ReferrerBucket(String shortCode, RollupGranularity granularity, LocalDateTime bucketStart) {
+    }
+}
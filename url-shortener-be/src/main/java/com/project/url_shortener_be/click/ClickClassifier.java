@@ -0,0 +1,63 @@
+package com.project.url_shortener_be.click;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+
+// Reduces raw Referer and User-Agent headers to low-cardinality rollup dimensions
+final class ClickClassifier {
+
+    static final String DIRECT = "direct";
+    static final String UNKNOWN = "unknown";
+    // Referrer hosts past the per-bucket cap are folded into this value
+    static final String OTHER = "other";
+    private static final int MAX_REFERRER_LENGTH = 255;
+
+    private static final String[] BOT_MARKERS =
+            {"bot", "crawl", "spider", "slurp", "curl", "wget", "python", "java/", "httpclient", "okhttp", "go-http"};
+    private static final String[] MOBILE_MARKERS = {"mobile", "android", "iphone", "ipad", "ipod"};
+
+    private ClickClassifier() {
+    }
+
+    // Host of the referring page, e.g. "news.example.com"; "direct" when there is none
+    static String referrer(String referer) {
+        if (referer == null || referer.isBlank()) {
+            return DIRECT;
+        }
+        try {
+            String host = new URI(referer.trim()).getHost();
+            if (host == null) {
+                return UNKNOWN;
+            }
+            host = host.toLowerCase(Locale.ROOT);
+            return host.length() > MAX_REFERRER_LENGTH ? host.substring(0, MAX_REFERRER_LENGTH) : host;
+        } catch (URISyntaxException e) {
+            return UNKNOWN;
+        }
+    }
+
+    // bot, mobile, desktop or unknown
+    static String agentClass(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return UNKNOWN;
+        }
+        String agent = userAgent.toLowerCase(Locale.ROOT);
+        if (containsAny(agent, BOT_MARKERS)) {
+            return "bot";
+        }
+        if (containsAny(agent, MOBILE_MARKERS)) {
+            return "mobile";
+        }
+        return agent.startsWith("mozilla/") || agent.startsWith("opera/") ? "desktop" : UNKNOWN;
+    }
+
+    private static boolean containsAny(String value, String[] markers) {
+        for (String marker : markers) {
+            if (value.contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,182 @@
+package com.project.url_shortener_be.click;
+
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers redirect clicks in memory and writes them to the database in batches.
+ * Recording a click is a lock-free LongAdder increment; the accumulated deltas
+ * are flushed on a schedule, when too many codes are pending, and on shutdown.
+ */
+@Component
+@Slf4j
+public class ClickCountBuffer {
+
+    private final UrlJdbcRepository urlJdbcRepository;
+    private final UrlMetrics urlMetrics;
+    private final int flushThreshold;
+    private final int batchSize;
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private volatile double hottestCodeShare;
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "click-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ClickCountBuffer(UrlJdbcRepository urlJdbcRepository,
+                            UrlMetrics urlMetrics,
+                            @Value("${app.clicks.flush-threshold:10000}") int flushThreshold,
+                            @Value("${app.clicks.batch-size:500}") int batchSize) {
+        this.urlJdbcRepository = urlJdbcRepository;
+        this.urlMetrics = urlMetrics;
+        this.flushThreshold = flushThreshold;
+        this.batchSize = batchSize;
+
+        urlMetrics.gauge("url.clicks.pending.codes", "Short codes with clicks not yet written", this::pendingCodes);
+        // A share close to 1 means one code takes most of the traffic (hot-key skew)
+        urlMetrics.gauge("url.clicks.hottest.share", "Share of the last flush window's clicks on its busiest code",
+                () -> hottestCodeShare);
+    }
+
+    // Record one click; never touches the database
+    public void record(String shortCode) {
+        add(shortCode, 1);
+    }
+
+    // Number of short codes with buffered clicks
+    public int pendingCodes() {
+        return counters.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.clicks.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    // Write all buffered deltas; returns the number of codes updated
+    public int flush() {
+        flushLock.lock();
+        try {
+            return urlMetrics.observe(UrlMetrics.CLICK_FLUSH, this::writeDeltas);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int writeDeltas() {
+        // Sorted so concurrent flushes from several nodes lock rows in the same order
+        Map<String, Long> deltas = new TreeMap<>();
+
+        counters.forEach((code, counter) -> {
+            long delta = counter.clicks.sumThenReset();
+            if (delta == 0) {
+                // Idle since the last flush: retire it, then drain whatever
+                // slipped in before recorders noticed the retirement
+                counter.retired = true;
+                counters.remove(code, counter);
+                delta = counter.clicks.sumThenReset();
+            }
+            addDelta(deltas, code, delta);
+        });
+
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        long total = deltas.values().stream().mapToLong(Long::longValue).sum();
+        long hottest = deltas.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        hottestCodeShare = (double) hottest / total;
+
+        try {
+            urlMetrics.database("increment_click_counts",
+                    () -> urlJdbcRepository.incrementClickCounts(deltas, batchSize));
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            deltas.forEach(this::add);
+            log.error("Failed to flush click counts for {} short codes: {}", deltas.size(), e.getMessage());
+            return 0;
+        }
+
+        log.debug("Flushed click counts for {} short codes", deltas.size());
+        return deltas.size();
+    }
+
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+
+        int flushed = flush();
+        log.info("Drained click counts for {} short codes on shutdown", flushed);
+    }
+
+    private void add(String shortCode, long clicks) {
+        Counter counter = counters.get(shortCode);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(shortCode, code -> new Counter());
+            if (counters.size() >= flushThreshold) {
+                requestFlush();
+            }
+        }
+        counter.clicks.add(clicks);
+
+        // The flusher retired this counter concurrently. Whatever is still in it has
+        // not been drained yet, so move it to a live counter. Each click is taken
+        // exactly once, either by the flusher's drain or by this move.
+        if (counter.retired) {
+            counters.remove(shortCode, counter);
+            long leftover = counter.clicks.sumThenReset();
+            if (leftover > 0) {
+                add(shortCode, leftover);
+            }
+        }
+    }
+
+    private void requestFlush() {
+        if (flushPending.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    try {
+                        flush();
+                    } finally {
+                        flushPending.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Executor already shut down; the shutdown drain picks the clicks up
+                flushPending.set(false);
+            }
+        }
+    }
+
+    private static final class Counter {
+        private final LongAdder clicks = new LongAdder();
+        private volatile boolean retired;
+    }
+
+    private static void addDelta(Map<String, Long> deltas, String code, long delta) {
+        if (delta > 0) {
+            deltas.merge(code, delta, Long::sum);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.project.url_shortener_be.click;
+
+// One redirect as published on the request thread; headers are kept as given and only
+// classified later by the analytics pipeline
+public record ClickEvent(String shortCode, long timestampMillis, String referrer, String userAgent) {
+}
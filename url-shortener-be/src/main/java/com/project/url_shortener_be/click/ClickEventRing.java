@@ -0,0 +1,86 @@
+package com.project.url_shortener_be.click;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring of click events: many producers, one consumer.
+ * Each slot carries a sequence number that tells producers whether the slot is
+ * free for their lap and the consumer whether it has been filled, so neither
+ * side takes a lock. A full ring rejects the event instead of blocking.
+ */
+public class ClickEventRing {
+
+    private final int capacity;
+    private final int mask;
+    private final ClickEvent[] slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    public ClickEventRing(int requestedCapacity) {
+        if (requestedCapacity < 2 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Ring capacity must be between 2 and 2^30: " + requestedCapacity);
+        }
+        // Rounded up to a power of two so a slot index is a mask, not a division
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new ClickEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    // Publish an event; returns false without waiting when the ring is full
+    public boolean offer(ClickEvent event) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long lag = sequences.get(index) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = event;
+                    // Publishes the slot write to the consumer
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (lag < 0) {
+                // The consumer has not freed this slot from the previous lap
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    // Hand up to max events to the consumer in publication order; only one thread may drain
+    public int drain(Consumer<ClickEvent> consumer, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                // Empty, or a producer has claimed the slot but not filled it yet
+                break;
+            }
+            ClickEvent event = slots[index];
+            slots[index] = null;
+            sequences.set(index, position + capacity);
+            head = ++position;
+            drained++;
+            consumer.accept(event);
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
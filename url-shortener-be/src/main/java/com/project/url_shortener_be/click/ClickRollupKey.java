@@ -0,0 +1,23 @@
+package com.project.url_shortener_be.click;
+
+import com.project.url_shortener_be.dto.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+// Primary key of one url_click_rollups row
+public record ClickRollupKey(String shortCode, RollupGranularity granularity, LocalDateTime bucketStart,
+                             String referrer, String agentClass) implements Comparable<ClickRollupKey> {
+
+    // Key order, so concurrent upserts from several nodes lock rows in the same order
+    private static final Comparator<ClickRollupKey> ORDER = Comparator.comparing(ClickRollupKey::shortCode)
+            .thenComparing(key -> key.granularity().getCode())
+            .thenComparing(ClickRollupKey::bucketStart)
+            .thenComparing(ClickRollupKey::referrer)
+            .thenComparing(ClickRollupKey::agentClass);
+
+    @Override
+    public int compareTo(ClickRollupKey other) {
+        return ORDER.compare(this, other);
+    }
+}
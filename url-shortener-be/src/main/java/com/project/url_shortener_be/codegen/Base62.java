@@ -0,0 +1,50 @@
+package com.project.url_shortener_be.codegen;
+
+// Fixed-width Base62 encoding of non-negative numbers
+public final class Base62 {
+
+    static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    static final int RADIX = ALPHABET.length();
+
+    private Base62() {
+    }
+
+    // Number of distinct values representable with the given code length
+    public static long capacity(int length) {
+        long capacity = 1;
+        for (int i = 0; i < length; i++) {
+            capacity = Math.multiplyExact(capacity, RADIX);
+        }
+        return capacity;
+    }
+
+    public static String encode(long value, int length) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+
+        char[] chars = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt((int) (value % RADIX));
+            value /= RADIX;
+        }
+
+        if (value != 0) {
+            throw new IllegalArgumentException("Value does not fit in " + length + " Base62 characters");
+        }
+        return new String(chars);
+    }
+
+    // Returns -1 when the code contains characters outside the alphabet
+    public static long decode(String code) {
+        long value = 0;
+        for (int i = 0; i < code.length(); i++) {
+            int digit = ALPHABET.indexOf(code.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * RADIX + digit;
+        }
+        return value;
+    }
+}
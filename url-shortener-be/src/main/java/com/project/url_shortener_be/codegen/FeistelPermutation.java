@@ -0,0 +1,55 @@
+package com.project.url_shortener_be.codegen;
+
+/**
+ * Keyed bijection on [0, domain). A balanced Feistel network permutes the
+ * smallest even-width bit range covering the domain and cycle-walking maps the
+ * result back into it, so distinct inputs always give distinct outputs.
+ */
+final class FeistelPermutation {
+
+    private static final int ROUNDS = 4;
+
+    private final long domain;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    FeistelPermutation(long domain, String key) {
+        int bits = 64 - Long.numberOfLeadingZeros(domain - 1);
+        this.domain = domain;
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+
+        long seed = key.hashCode();
+        for (int i = 0; i < ROUNDS; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            roundKeys[i] = seed;
+        }
+    }
+
+    long permute(long value) {
+        long result = value;
+        do {
+            result = encrypt(result);
+        } while (result >= domain);
+        return result;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (long roundKey : roundKeys) {
+            long next = left ^ (mix(right ^ roundKey) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
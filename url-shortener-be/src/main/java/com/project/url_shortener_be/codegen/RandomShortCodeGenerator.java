@@ -0,0 +1,52 @@
+package com.project.url_shortener_be.codegen;
+
+import com.project.url_shortener_be.bloom.ShortCodeFilter;
+import com.project.url_shortener_be.repository.UrlRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Legacy generator: picks random Base62 codes and probes the database until a
+ * free one is found. Codes are not reserved, so concurrent creates can still
+ * collide on the unique constraint. Enable with app.codegen.strategy=random.
+ */
+@Component
+@ConditionalOnProperty(name = "app.codegen.strategy", havingValue = "random")
+@Slf4j
+public class RandomShortCodeGenerator implements ShortCodeGenerator {
+
+    private final UrlRepository urlRepository;
+    private final ShortCodeFilter shortCodeFilter;
+    private final int codeLength;
+
+    public RandomShortCodeGenerator(UrlRepository urlRepository,
+                                    ShortCodeFilter shortCodeFilter,
+                                    @Value("${app.codegen.length:7}") int codeLength) {
+        this.urlRepository = urlRepository;
+        this.shortCodeFilter = shortCodeFilter;
+        this.codeLength = codeLength;
+    }
+
+    @Override
+    public String nextCode() {
+        String shortCode;
+        do {
+            shortCode = randomCode();
+        } while (shortCodeFilter.mightContain(shortCode) && urlRepository.existsByShortCode(shortCode));
+
+        return shortCode;
+    }
+
+    private String randomCode() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] chars = new char[codeLength];
+        for (int i = 0; i < codeLength; i++) {
+            chars[i] = Base62.ALPHABET.charAt(random.nextInt(Base62.RADIX));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,80 @@
+package com.project.url_shortener_be.codegen;
+
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Default generator: leases blocks of IDs from the short_code_seq database
+ * sequence and encodes each ID as a fixed-width Base62 code. IDs are never
+ * handed out twice, so no existence query is needed per code. With a shuffle
+ * key the IDs are permuted first so consecutive codes are not guessable.
+ */
+@Component
+@ConditionalOnProperty(name = "app.codegen.strategy", havingValue = "sequence", matchIfMissing = true)
+@Slf4j
+public class SequenceShortCodeGenerator implements ShortCodeGenerator {
+
+    private final UrlJdbcRepository urlJdbcRepository;
+    private final int codeLength;
+    private final int blockSize;
+    private final long capacity;
+    private final FeistelPermutation permutation;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextId;
+    private long blockEnd;
+
+    public SequenceShortCodeGenerator(UrlJdbcRepository urlJdbcRepository,
+                                      @Value("${app.codegen.length:7}") int codeLength,
+                                      @Value("${app.codegen.block-size:1000}") int blockSize,
+                                      @Value("${app.codegen.shuffle-key:}") String shuffleKey) {
+        this.urlJdbcRepository = urlJdbcRepository;
+        this.codeLength = codeLength;
+        this.blockSize = blockSize;
+        this.capacity = Base62.capacity(codeLength);
+        this.permutation = StringUtils.hasText(shuffleKey) ? new FeistelPermutation(capacity, shuffleKey) : null;
+    }
+
+    // The sequence increment defines the block size; a mismatch would lease overlapping ranges
+    @PostConstruct
+    public void verifySequence() {
+        Long increment = urlJdbcRepository.getShortCodeSequenceIncrement();
+        if (increment != null && increment != blockSize) {
+            throw new IllegalStateException("short_code_seq increments by " + increment
+                    + " but app.codegen.block-size is " + blockSize);
+        }
+        log.info("Sequence short code generator ready (length={}, blockSize={}, shuffled={})",
+                codeLength, blockSize, permutation != null);
+    }
+
+    @Override
+    public String nextCode() {
+        long id = nextId();
+        if (id >= capacity) {
+            throw new IllegalStateException("Short code space of length " + codeLength + " is exhausted");
+        }
+        return Base62.encode(permutation != null ? permutation.permute(id) : id, codeLength);
+    }
+
+    private long nextId() {
+        lock.lock();
+        try {
+            if (nextId >= blockEnd) {
+                long blockStart = urlJdbcRepository.leaseShortCodeBlock();
+                nextId = blockStart;
+                blockEnd = blockStart + blockSize;
+                log.debug("Leased short code block [{}, {})", blockStart, blockEnd);
+            }
+            return nextId++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.project.url_shortener_be.codegen;
+
+// Strategy for producing short codes for auto-generated URLs
+public interface ShortCodeGenerator {
+
+    // Return a short code that no other caller of this generator will receive
+    String nextCode();
+}
@@ -0,0 +1,60 @@
+package com.project.url_shortener_be.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Cross-origin access to the /api endpoints for the configured origins, in
+ * place of a blanket @CrossOrigin("*") on the controllers. Retry-After is
+ * exposed so browser clients can back off after a 429.
+ */
+@Configuration
+public class CorsConfig {
+
+    private static final String API_PATHS = "/api/**";
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE"};
+
+    @Value("${app.cors.allowed-origins:*}")
+    private String[] allowedOrigins;
+
+    @Value("${app.cors.max-age:30m}")
+    private Duration maxAge;
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public WebMvcConfigurer corsWebMvcConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addCorsMappings(CorsRegistry registry) {
+                registry.addMapping(API_PATHS)
+                        .allowedOrigins(allowedOrigins)
+                        .allowedMethods(METHODS)
+                        .exposedHeaders(HttpHeaders.RETRY_AFTER)
+                        .maxAge(maxAge.toSeconds());
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public WebFluxConfigurer corsWebFluxConfigurer() {
+        return new WebFluxConfigurer() {
+            @Override
+            public void addCorsMappings(org.springframework.web.reactive.config.CorsRegistry registry) {
+                registry.addMapping(API_PATHS)
+                        .allowedOrigins(allowedOrigins)
+                        .allowedMethods(METHODS)
+                        .exposedHeaders(HttpHeaders.RETRY_AFTER)
+                        .maxAge(maxAge.toSeconds());
+            }
+        };
+    }
+}
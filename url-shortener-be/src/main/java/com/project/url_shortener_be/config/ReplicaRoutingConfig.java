@@ -0,0 +1,72 @@
+package com.project.url_shortener_be.config;
+
+import com.project.url_shortener_be.datasource.ReadWriteRoutingDataSource;
+import com.project.url_shortener_be.datasource.ReplicaPool;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured datasource with a read/write router when
+ * app.datasource.replica.urls is set. Read-only transactions go to a healthy
+ * replica, everything else (and every read when no replica is healthy) to the primary.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.urls:}'.isBlank()")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(MeterRegistry meterRegistry,
+                                   @Value("${app.datasource.replica.urls}") List<String> urls,
+                                   @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                   @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+                                   @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+                                   @Value("${app.datasource.replica.connection-timeout:1s}") Duration connectionTimeout,
+                                   @Value("${app.datasource.replica.max-lag:10s}") Duration maxLag) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(urls.get(i).trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setReadOnly(true);
+            // Start even when a replica is down; the health check keeps it out of rotation
+            config.setInitializationFailTimeout(-1);
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+        return new ReplicaPool(replicas, maxLag, meterRegistry);
+    }
+
+    // The lazy proxy defers picking a target until the first statement, by which
+    // point the transaction manager has published the read-only flag
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaPool, meterRegistry));
+    }
+}
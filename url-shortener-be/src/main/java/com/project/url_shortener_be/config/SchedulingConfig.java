@@ -0,0 +1,10 @@
+package com.project.url_shortener_be.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Enables @Scheduled background jobs (click flushing, maintenance tasks)
+}
@@ -0,0 +1,28 @@
+package com.project.url_shortener_be.controller;
+
+import com.project.url_shortener_be.cache.UrlResolveCache;
+import com.project.url_shortener_be.dto.CacheStatsResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminController {
+
+    private final UrlResolveCache urlResolveCache;
+
+    // Get cache statistics per region (hits, misses, evictions)
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, CacheStatsResponse>> getCacheStats() {
+        log.info("Received request to get resolve cache statistics");
+        return ResponseEntity.ok(urlResolveCache.getStats());
+    }
+}
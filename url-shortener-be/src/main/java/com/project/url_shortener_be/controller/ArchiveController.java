@@ -0,0 +1,50 @@
+package com.project.url_shortener_be.controller;
+
+import com.project.url_shortener_be.archive.UrlArchiver;
+import com.project.url_shortener_be.dto.ArchivedUrlResponse;
+import com.project.url_shortener_be.dto.UrlResponse;
+import com.project.url_shortener_be.exception.UrlNotFoundException;
+import com.project.url_shortener_be.mapper.UrlMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Archived URLs are read from segment files with blocking I/O, so these endpoints are servlet mode only
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/admin/archive")
+@RequiredArgsConstructor
+@Slf4j
+public class ArchiveController {
+
+    private final UrlArchiver urlArchiver;
+    private final UrlMapper urlMapper;
+
+    // Get the archived copy of a short code
+    @GetMapping("/{shortCode}")
+    public ResponseEntity<ArchivedUrlResponse> getArchivedUrl(@PathVariable String shortCode) {
+        log.info("Received request to get archived URL for short code: {}", shortCode);
+
+        UrlArchiver.ArchivedUrl archived = urlArchiver.find(shortCode)
+                .orElseThrow(() -> new UrlNotFoundException("No archived URL for short code: " + shortCode));
+        ArchivedUrlResponse response = new ArchivedUrlResponse();
+        response.setUrl(urlMapper.toResponse(archived.url()));
+        response.setArchivedAt(archived.archivedAt());
+        return ResponseEntity.ok(response);
+    }
+
+    // Put an archived URL back into the table; reactivate makes it active again with no expiry
+    @PostMapping("/{shortCode}/restore")
+    public ResponseEntity<UrlResponse> restoreUrl(@PathVariable String shortCode,
+                                                  @RequestParam(defaultValue = "false") boolean reactivate) {
+        log.info("Received request to restore archived URL for short code: {}", shortCode);
+
+        UrlResponse response = urlArchiver.restore(shortCode, reactivate)
+                .map(urlMapper::toResponse)
+                .orElseThrow(() -> new UrlNotFoundException("No archived URL for short code: " + shortCode));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.url_shortener_be.controller;
+
+import com.project.url_shortener_be.dto.CreateUrlAutoRequest;
+import com.project.url_shortener_be.dto.CreateUrlRequest;
+import com.project.url_shortener_be.dto.UrlResponse;
+import com.project.url_shortener_be.idempotency.IdempotencyStore;
+import com.project.url_shortener_be.logging.LogMarkers;
+import com.project.url_shortener_be.service.ReactiveUrlService;
+import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+// Create and resolve endpoints in reactive mode; the remaining /api/v1/urls
+// endpoints (listing, export, bulk, update, delete) are served in servlet mode only
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/v1/urls")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUrlController {
+    
+    private final ReactiveUrlService reactiveUrlService;
+    private final IdempotencyStore idempotencyStore;
+    
+    // Create new short URL with custom code; retries carrying the same Idempotency-Key get the first response
+    @PostMapping("/custom")
+    public Mono<ResponseEntity<UrlResponse>> createShortUrl(
+            @Validated({Default.class, CreateUrlRequest.CustomShortCodeRequired.class}) @RequestBody CreateUrlRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        log.info(LogMarkers.CREATE, "Received request to create short URL with custom code for: {}", request.getOriginalUrl());
+        
+        return idempotencyStore.execute(idempotencyKey, "custom", request,
+                        reactiveUrlService.createShortUrl(request))
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+    
+    // Create new short URL with auto-generated code; retries carrying the same Idempotency-Key get the first response
+    @PostMapping
+    public Mono<ResponseEntity<UrlResponse>> createShortUrlAuto(
+            @Valid @RequestBody CreateUrlAutoRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        log.info(LogMarkers.CREATE, "Received request to create short URL with auto-generated code for: {}", request.getOriginalUrl());
+        
+        return idempotencyStore.execute(idempotencyKey, "auto", request,
+                        reactiveUrlService.createShortUrlAuto(request))
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+    
+    // Get URL by short code
+    @GetMapping("/{shortCode}")
+    public Mono<ResponseEntity<UrlResponse>> getUrlByShortCode(@PathVariable String shortCode) {
+        log.info(LogMarkers.RESOLVE, "Received request to get URL for short code: {}", shortCode);
+        
+        return reactiveUrlService.getUrlByShortCode(shortCode).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.url_shortener_be.controller;
+
+import com.project.url_shortener_be.click.ClickAnalyticsPipeline;
+import com.project.url_shortener_be.logging.LogMarkers;
+import com.project.url_shortener_be.metrics.StartupMetrics;
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import com.project.url_shortener_be.service.UrlService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Slf4j
+public class RedirectController {
+
+    private final UrlService urlService;
+    private final UrlMetrics urlMetrics;
+    private final RedirectPolicy redirectPolicy;
+    private final ClickAnalyticsPipeline clickAnalyticsPipeline;
+    private final StartupMetrics startupMetrics;
+
+    // Redirect to original URL; /api/v1/urls/redirect/{shortCode} is kept as a compatible alias
+    @GetMapping({"/{shortCode:[A-Za-z0-9_-]{1,10}}", "/api/v1/urls/redirect/{shortCode}"})
+    public ResponseEntity<Void> redirectToOriginalUrl(
+            @PathVariable String shortCode,
+            @RequestHeader(value = HttpHeaders.REFERER, required = false) String referrer,
+            @RequestHeader(value = HttpHeaders.USER_AGENT, required = false) String userAgent) {
+        log.debug(LogMarkers.REDIRECT, "Redirecting short code: {}", shortCode);
+
+        return urlMetrics.observe(UrlMetrics.REDIRECT, () -> urlService.findRedirectTarget(shortCode)
+                .map(target -> {
+                    startupMetrics.redirectServed();
+                    // Buffered in memory; no database write on the redirect path
+                    urlService.incrementClickCount(shortCode);
+                    clickAnalyticsPipeline.record(shortCode, referrer, userAgent);
+                    return ResponseEntity.status(redirectPolicy.status())
+                            .header(HttpHeaders.LOCATION, target.getOriginalUrl())
+                            .cacheControl(redirectPolicy.cacheControl(target))
+                            .<Void>build();
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.project.url_shortener_be.controller;
+
+import com.project.url_shortener_be.dto.RedirectTarget;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// Status and caching headers of redirect responses, shared by the servlet and reactive controllers
+@Component
+public class RedirectPolicy {
+
+    private static final Set<HttpStatus> REDIRECT_STATUSES = Set.of(
+            HttpStatus.MOVED_PERMANENTLY, HttpStatus.FOUND, HttpStatus.TEMPORARY_REDIRECT, HttpStatus.PERMANENT_REDIRECT);
+
+    private final HttpStatus status;
+    private final Duration cacheMaxAge;
+    private final boolean cachePublic;
+
+    public RedirectPolicy(@Value("${app.redirect.status:302}") int status,
+                          @Value("${app.redirect.cache-max-age:0s}") Duration cacheMaxAge,
+                          @Value("${app.redirect.cache-public:true}") boolean cachePublic) {
+        this.status = HttpStatus.valueOf(status);
+        this.cacheMaxAge = cacheMaxAge;
+        this.cachePublic = cachePublic;
+
+        if (!REDIRECT_STATUSES.contains(this.status)) {
+            throw new IllegalStateException("app.redirect.status must be 301, 302, 307 or 308 but was " + status);
+        }
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    // Let browsers and CDNs reuse the redirect, but never past the link's own expiry.
+    // Cached redirects are not counted as clicks.
+    public CacheControl cacheControl(RedirectTarget target) {
+        Duration maxAge = cacheMaxAge;
+        if (target.getExpiresAt() != null) {
+            Duration untilExpiry = Duration.between(LocalDateTime.now(), target.getExpiresAt());
+            if (untilExpiry.compareTo(maxAge) < 0) {
+                maxAge = untilExpiry;
+            }
+        }
+
+        if (maxAge.isNegative() || maxAge.isZero()) {
+            return CacheControl.noStore();
+        }
+
+        CacheControl cacheControl = CacheControl.maxAge(maxAge);
+        return cachePublic ? cacheControl.cachePublic() : cacheControl.cachePrivate();
+    }
+}
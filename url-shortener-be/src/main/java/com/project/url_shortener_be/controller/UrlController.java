@@ -1,121 +1,144 @@
 package com.project.url_shortener_be.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.url_shortener_be.dto.BulkCreateResponse;
+import com.project.url_shortener_be.dto.ClickAnalyticsResponse;
 import com.project.url_shortener_be.dto.CreateUrlRequest;
 import com.project.url_shortener_be.dto.CreateUrlAutoRequest;
+import com.project.url_shortener_be.dto.ExportFormat;
+import com.project.url_shortener_be.dto.RollupGranularity;
+import com.project.url_shortener_be.dto.UrlPageResponse;
 import com.project.url_shortener_be.dto.UrlResponse;
+import com.project.url_shortener_be.idempotency.IdempotencyStore;
+import com.project.url_shortener_be.logging.LogMarkers;
+import com.project.url_shortener_be.service.BulkUrlService;
+import com.project.url_shortener_be.service.ClickAnalyticsService;
 import com.project.url_shortener_be.service.UrlService;
-import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
-import java.util.List;
+import java.time.LocalDateTime;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/urls")
 @RequiredArgsConstructor
 @Slf4j
-@CrossOrigin(origins = "*")
 public class UrlController {
     
     private final UrlService urlService;
+    private final BulkUrlService bulkUrlService;
+    private final ClickAnalyticsService clickAnalyticsService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
     
-    // Create new short URL with custom code
+    // Create new short URL with custom code; retries carrying the same Idempotency-Key get the first response
     @PostMapping("/custom")
-    public ResponseEntity<UrlResponse> createShortUrl(@Valid @RequestBody CreateUrlRequest request) {
-        log.info("Received request to create short URL with custom code for: {}", request.getOriginalUrl());
+    public ResponseEntity<UrlResponse> createShortUrl(
+            @Validated({Default.class, CreateUrlRequest.CustomShortCodeRequired.class}) @RequestBody CreateUrlRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        log.info(LogMarkers.CREATE, "Received request to create short URL with custom code for: {}", request.getOriginalUrl());
         
-        try {
-            UrlResponse response = urlService.createShortUrl(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } catch (Exception e) {
-            log.error("Error creating short URL: {}", e.getMessage());
-            throw e;
-        }
+        UrlResponse response = idempotencyStore.execute(idempotencyKey, "custom", request,
+                () -> urlService.createShortUrl(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
-    // Create new short URL with auto-generated code
+    // Create new short URL with auto-generated code; retries carrying the same Idempotency-Key get the first response
     @PostMapping
-    public ResponseEntity<UrlResponse> createShortUrlAuto(@Valid @RequestBody CreateUrlAutoRequest request) {
-        log.info("Received request to create short URL with auto-generated code for: {}", request.getOriginalUrl());
+    public ResponseEntity<UrlResponse> createShortUrlAuto(
+            @Valid @RequestBody CreateUrlAutoRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        log.info(LogMarkers.CREATE, "Received request to create short URL with auto-generated code for: {}", request.getOriginalUrl());
         
-        try {
-            UrlResponse response = urlService.createShortUrlAuto(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } catch (Exception e) {
-            log.error("Error creating short URL: {}", e.getMessage());
-            throw e;
+        UrlResponse response = idempotencyStore.execute(idempotencyKey, "auto", request,
+                () -> urlService.createShortUrlAuto(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    // Create short URLs in bulk from a JSON array or an NDJSON stream
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkCreateResponse> createShortUrlsBulk(HttpServletRequest request) throws IOException {
+        log.info(LogMarkers.CREATE, "Received request to create short URLs in bulk");
+        
+        // Items are read one at a time, so the request body is never held in memory
+        try (MappingIterator<CreateUrlRequest> items = objectMapper.readerFor(CreateUrlRequest.class)
+                .readValues(request.getInputStream())) {
+            BulkCreateResponse response = bulkUrlService.createShortUrls(items);
+            return ResponseEntity.ok(response);
         }
     }
     
     // Get URL by short code (for redirect)
     @GetMapping("/{shortCode}")
     public ResponseEntity<UrlResponse> getUrlByShortCode(@PathVariable String shortCode) {
-        log.info("Received request to get URL for short code: {}", shortCode);
+        log.info(LogMarkers.RESOLVE, "Received request to get URL for short code: {}", shortCode);
         
-        try {
-            UrlResponse response = urlService.getUrlByShortCode(shortCode);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Error getting URL for short code {}: {}", shortCode, e.getMessage());
-            throw e;
-        }
+        UrlResponse response = urlService.getUrlByShortCode(shortCode);
+        return ResponseEntity.ok(response);
     }
     
-    // Redirect to original URL
-    @GetMapping("/redirect/{shortCode}")
-    public void redirectToOriginalUrl(@PathVariable String shortCode, HttpServletResponse response) {
-        log.info("Redirecting short code: {}", shortCode);
+    // Get click time series for a short code (granularity minute, hour or day; times in UTC)
+    @GetMapping("/{shortCode}/analytics")
+    public ResponseEntity<ClickAnalyticsResponse> getClickAnalytics(
+            @PathVariable String shortCode,
+            @RequestParam(defaultValue = "hour") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Received request to get click analytics for short code: {}", shortCode);
         
-        try {
-            UrlResponse urlResponse = urlService.getUrlByShortCode(shortCode);
-            
-            // Increment click count
-            urlService.incrementClickCount(shortCode);
-            
-            // Redirect to original URL
-            response.sendRedirect(urlResponse.getOriginalUrl());
-            
-        } catch (IOException e) {
-            log.error("Error redirecting: {}", e.getMessage());
-            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
-        } catch (Exception e) {
-            log.error("Error getting URL for redirect: {}", e.getMessage());
-            response.setStatus(HttpStatus.NOT_FOUND.value());
-        }
+        ClickAnalyticsResponse response = clickAnalyticsService.getClickAnalytics(
+                shortCode, RollupGranularity.fromValue(granularity), from, to);
+        return ResponseEntity.ok(response);
     }
     
-    // Get all active URLs
+    // Get a page of active URLs (pass nextCursor from the previous page to continue)
     @GetMapping
-    public ResponseEntity<List<UrlResponse>> getAllActiveUrls() {
-        log.info("Received request to get all active URLs");
+    public ResponseEntity<UrlPageResponse> getActiveUrls(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "50") int size) {
+        log.info(LogMarkers.LIST, "Received request to get active URLs after cursor: {}", cursor);
         
-        try {
-            List<UrlResponse> urls = urlService.getAllActiveUrls();
-            return ResponseEntity.ok(urls);
-        } catch (Exception e) {
-            log.error("Error getting all active URLs: {}", e.getMessage());
-            throw e;
-        }
+        UrlPageResponse page = urlService.getActiveUrls(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+    
+    // Export all active URLs as NDJSON or CSV, streamed straight from a database cursor
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportActiveUrls(@RequestParam(defaultValue = "ndjson") String format) {
+        log.info("Received request to export active URLs as {}", format);
+        
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        StreamingResponseBody body = outputStream -> urlService.exportActiveUrls(exportFormat, outputStream);
+        
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"urls." + exportFormat.getFileExtension() + "\"")
+                .body(body);
     }
     
     // Update URL
     @PutMapping("/{id}")
     public ResponseEntity<UrlResponse> updateUrl(@PathVariable Long id, 
-                                               @Valid @RequestBody CreateUrlRequest request) {
+                                               @Validated({Default.class, CreateUrlRequest.CustomShortCodeRequired.class}) @RequestBody CreateUrlRequest request) {
         log.info("Received request to update URL with ID: {}", id);
         
-        try {
-            UrlResponse response = urlService.updateUrl(id, request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Error updating URL with ID {}: {}", id, e.getMessage());
-            throw e;
-        }
+        UrlResponse response = urlService.updateUrl(id, request);
+        return ResponseEntity.ok(response);
     }
     
     // Delete URL
@@ -123,26 +146,16 @@ public class UrlController {
     public ResponseEntity<Void> deleteUrl(@PathVariable Long id) {
         log.info("Received request to delete URL with ID: {}", id);
         
-        try {
-            urlService.deleteUrl(id);
-            return ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            log.error("Error deleting URL with ID {}: {}", id, e.getMessage());
-            throw e;
-        }
+        urlService.deleteUrl(id);
+        return ResponseEntity.noContent().build();
     }
     
     // Generate unique short code
     @GetMapping("/generate-code")
     public ResponseEntity<String> generateUniqueShortCode() {
-        log.info("Received request to generate unique short code");
+        log.info(LogMarkers.CREATE, "Received request to generate unique short code");
         
-        try {
-            String shortCode = urlService.generateUniqueShortCode();
-            return ResponseEntity.ok(shortCode);
-        } catch (Exception e) {
-            log.error("Error generating unique short code: {}", e.getMessage());
-            throw e;
-        }
+        String shortCode = urlService.generateUniqueShortCode();
+        return ResponseEntity.ok(shortCode);
     }
 }
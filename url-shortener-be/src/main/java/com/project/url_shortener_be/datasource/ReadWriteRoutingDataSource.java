@@ -0,0 +1,88 @@
+package com.project.url_shortener_be.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to a healthy replica and
+ * everything else to the primary. Must sit behind a LazyConnectionDataSourceProxy
+ * so the physical connection is chosen after the transaction's read-only flag is set.
+ * If a replica refuses a connection it is taken out of rotation and the primary is used.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaPool replicaPool;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter replicaFailovers;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicaPool, MeterRegistry meterRegistry) {
+        this.replicaPool = replicaPool;
+
+        Map<Object, Object> targets = new HashMap<>(replicaPool.getReplicas());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        this.primaryConnections = Counter.builder("url.datasource.connections")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        this.replicaConnections = Counter.builder("url.datasource.connections")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        this.replicaFailovers = Counter.builder("url.datasource.replica.failovers")
+                .description("Read-only connections sent to the primary because a replica refused the connection")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || DataSourceRouting.isPrimaryForced()) {
+            return PRIMARY;
+        }
+        String replica = replicaPool.next();
+        return replica != null ? replica : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            primaryConnections.increment();
+            return primary().getConnection();
+        }
+
+        try {
+            Connection connection = getResolvedDataSources().get(key).getConnection();
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException e) {
+            replicaPool.markDown((String) key, e.getMessage());
+            replicaFailovers.increment();
+            primaryConnections.increment();
+            return primary().getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Pools are configured with their own credentials
+        return getConnection();
+    }
+
+    private DataSource primary() {
+        return getResolvedDataSources().get(PRIMARY);
+    }
+}
@@ -0,0 +1,127 @@
+package com.project.url_shortener_be.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replicas with their health. A replica is taken out of rotation when a
+ * health check or a connection attempt fails, or when its replay lag exceeds
+ * the limit, and put back by the next successful check.
+ */
+@Slf4j
+public class ReplicaPool implements AutoCloseable {
+
+    // Zero when the node is not a standby or has replayed everything it received
+    private static final String POSTGRES_LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+                    + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<String> available;
+
+    public ReplicaPool(Map<String, DataSource> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.maxLag = maxLag;
+        replicas.keySet().forEach(name -> healthy.put(name, Boolean.TRUE));
+        this.available = List.copyOf(replicas.keySet());
+
+        Gauge.builder("url.datasource.replicas.healthy", this, pool -> pool.available.size())
+                .description("Read replicas currently in rotation")
+                .register(meterRegistry);
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    // Next healthy replica in round-robin order, or null if none is available
+    public String next() {
+        List<String> current = available;
+        if (current.isEmpty()) {
+            return null;
+        }
+        return current.get(Math.floorMod(next.getAndIncrement(), current.size()));
+    }
+
+    public void markDown(String name, String reason) {
+        if (Boolean.TRUE.equals(healthy.put(name, Boolean.FALSE))) {
+            log.warn("Read replica {} taken out of rotation: {}", name, reason);
+        }
+        updateAvailable();
+    }
+
+    public void markUp(String name) {
+        if (Boolean.FALSE.equals(healthy.put(name, Boolean.TRUE))) {
+            log.info("Read replica {} back in rotation", name);
+        }
+        updateAvailable();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        replicas.forEach((name, dataSource) -> {
+            try (Connection connection = dataSource.getConnection()) {
+                Duration lag = replicationLag(connection);
+                if (lag.compareTo(maxLag) > 0) {
+                    markDown(name, "replication lag " + lag.toMillis() + " ms");
+                } else {
+                    markUp(name);
+                }
+            } catch (SQLException e) {
+                markDown(name, e.getMessage());
+            }
+        });
+    }
+
+    private static Duration replicationLag(Connection connection) throws SQLException {
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(postgres ? POSTGRES_LAG_SQL : "SELECT 1")) {
+            rs.next();
+            return postgres ? Duration.ofMillis((long) (rs.getDouble(1) * 1000)) : Duration.ZERO;
+        }
+    }
+
+    // Close the replica pools on shutdown
+    @Override
+    public void close() {
+        replicas.values().forEach(dataSource -> {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.debug("Failed to close read replica pool: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void updateAvailable() {
+        List<String> names = new ArrayList<>();
+        replicas.keySet().forEach(name -> {
+            if (Boolean.TRUE.equals(healthy.get(name))) {
+                names.add(name);
+            }
+        });
+        available = List.copyOf(names);
+    }
+}
@@ -0,0 +1,73 @@
+package com.project.url_shortener_be.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Decides when a short code lookup must bypass the replicas. Codes this node
+ * wrote within the staleness window are read from the primary, and (optionally)
+ * a replica miss is re-checked on the primary because the code may have been
+ * created on another node and not replayed yet. Without replicas every call is
+ * a plain pass-through.
+ */
+@Component
+public class ReplicaReadPolicy {
+
+    private final boolean replicasConfigured;
+    private final boolean fallbackOnMiss;
+    private final Cache<String, Boolean> recentWrites;
+    private final Counter recentWriteReads;
+    private final Counter missFallbacks;
+
+    public ReplicaReadPolicy(MeterRegistry meterRegistry,
+                             @Value("${app.datasource.replica.urls:}") String replicaUrls,
+                             @Value("${app.datasource.replica.staleness-window:30s}") Duration stalenessWindow,
+                             @Value("${app.datasource.replica.fallback-on-miss:true}") boolean fallbackOnMiss) {
+        this.replicasConfigured = !replicaUrls.isBlank();
+        this.fallbackOnMiss = fallbackOnMiss;
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(stalenessWindow)
+                .maximumSize(100_000)
+                .build();
+        this.recentWriteReads = Counter.builder("url.datasource.primary.reads")
+                .tag("reason", "recent_write")
+                .register(meterRegistry);
+        this.missFallbacks = Counter.builder("url.datasource.primary.reads")
+                .tag("reason", "replica_miss")
+                .register(meterRegistry);
+    }
+
+    // Remember a code written by this node so reads stay on the primary for the staleness window
+    public void recordWrite(String shortCode) {
+        if (replicasConfigured) {
+            recentWrites.put(shortCode, Boolean.TRUE);
+        }
+    }
+
+    // Look a code up, preferring a replica unless it may not have the row yet
+    public <T> Optional<T> read(String shortCode, Supplier<Optional<T>> query) {
+        if (!replicasConfigured) {
+            return query.get();
+        }
+
+        if (recentWrites.getIfPresent(shortCode) != null) {
+            recentWriteReads.increment();
+            return DataSourceRouting.onPrimary(query);
+        }
+
+        Optional<T> result = query.get();
+        if (result.isEmpty() && fallbackOnMiss) {
+            missFallbacks.increment();
+            return DataSourceRouting.onPrimary(query);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,161 @@
+package com.project.url_shortener_be.dedupe;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.url_shortener_be.dto.UrlResponse;
+import com.project.url_shortener_be.entity.Url;
+import com.project.url_shortener_be.mapper.UrlMapper;
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import com.project.url_shortener_be.repository.UrlRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Opt-in reuse of existing short codes when the same URL is shortened again.
+ * URLs are keyed by the hash of their normalized form, stored in the indexed
+ * original_url_hash column and cached locally as hash to short code.
+ *
+ * The unique index on original_url_hash, created at deploy time by
+ * db/dedupe/original-url-hash-index.sql, makes the loser of two concurrent
+ * identical creates fail its insert, after which it returns the winner's row. Partitioned layouts cannot carry that index, so there identical
+ * creates are serialized by a transaction-scoped advisory lock on the hash instead.
+ */
+@Component
+@Slf4j
+public class UrlDeduplicator {
+
+    private final UrlRepository urlRepository;
+    private final UrlJdbcRepository urlJdbcRepository;
+    private final UrlMapper urlMapper;
+    private final UrlMetrics urlMetrics;
+    private final boolean enabled;
+    private volatile boolean lockOnCreate;
+    private final Cache<String, String> codesByHash;
+
+    private final Counter cacheReuses;
+    private final Counter databaseReuses;
+    private final Counter concurrentReuses;
+
+    public UrlDeduplicator(UrlRepository urlRepository,
+                           UrlJdbcRepository urlJdbcRepository,
+                           UrlMapper urlMapper,
+                           UrlMetrics urlMetrics,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.dedupe.enabled:false}") boolean enabled,
+                           @Value("${app.dedupe.cache.maximum-size:10000}") long cacheMaximumSize) {
+        this.urlRepository = urlRepository;
+        this.urlJdbcRepository = urlJdbcRepository;
+        this.urlMapper = urlMapper;
+        this.urlMetrics = urlMetrics;
+        this.enabled = enabled;
+        this.codesByHash = cacheMaximumSize > 0 ? Caffeine.newBuilder().maximumSize(cacheMaximumSize).build() : null;
+
+        this.cacheReuses = reuses(meterRegistry, "cache");
+        this.databaseReuses = reuses(meterRegistry, "database");
+        this.concurrentReuses = reuses(meterRegistry, "concurrent_create");
+    }
+
+    // Refuse to start without the hash index for the current table layout; the application
+    // never builds it, because that would block writes on a large table
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkIndex() {
+        if (!enabled) {
+            return;
+        }
+        boolean partitioned = urlJdbcRepository.getPartitionStrategy() != null;
+        Optional<Boolean> unique = urlJdbcRepository.findOriginalUrlHashIndexUnique();
+        if (unique.isEmpty()) {
+            throw new IllegalStateException("app.dedupe.enabled=true but the urls table has no valid "
+                    + "idx_urls_original_url_hash index; run db/dedupe/original-url-hash-index.sql first");
+        }
+        if (!partitioned && !unique.get()) {
+            throw new IllegalStateException("idx_urls_original_url_hash on the plain urls table is not unique; "
+                    + "drop it and run db/dedupe/original-url-hash-index.sql");
+        }
+        lockOnCreate = partitioned;
+        log.info("URL deduplication enabled on a {} table", partitioned ? "partitioned" : "plain");
+    }
+
+    // Dedupe key for an auto-generated create, or null when the create must get a new code.
+    // URLs with an expiry are never shared: each caller owns its own expiry.
+    public byte[] keyFor(String originalUrl, LocalDateTime expiresAt) {
+        return enabled && expiresAt == null ? UrlNormalizer.hash(originalUrl) : null;
+    }
+
+    // Find the active URL already stored under the key. Cached codes are checked through
+    // the resolver (active, unexpired, same normalized URL) so deletes and edits on any node
+    // are noticed; anything else falls through to the database
+    public Optional<UrlResponse> findExisting(byte[] key, Function<String, Optional<UrlResponse>> resolver) {
+        String cacheKey = HexFormat.of().formatHex(key);
+        String cachedCode = codesByHash != null ? codesByHash.getIfPresent(cacheKey) : null;
+        if (cachedCode != null) {
+            Optional<UrlResponse> cached = resolver.apply(cachedCode)
+                    .filter(url -> Arrays.equals(key, UrlNormalizer.hash(url.getOriginalUrl())));
+            if (cached.isPresent()) {
+                cacheReuses.increment();
+                return cached;
+            }
+            codesByHash.invalidate(cacheKey);
+        }
+
+        Optional<Url> stored = findInDatabase(key);
+        stored.ifPresent(url -> {
+            remember(key, url.getShortCode());
+            databaseReuses.increment();
+        });
+        return stored.map(urlMapper::toResponse);
+    }
+
+    // Re-check after a create lost a race for the key; the winner has committed by now
+    public Optional<UrlResponse> findConcurrentlyCreated(byte[] key) {
+        Optional<Url> stored = findInDatabase(key);
+        stored.ifPresent(url -> {
+            remember(key, url.getShortCode());
+            concurrentReuses.increment();
+        });
+        return stored.map(urlMapper::toResponse);
+    }
+
+    // Called inside the create transaction before inserting; on partitioned layouts this
+    // waits for any concurrent create of the same URL and returns its row once committed
+    public Optional<Url> lockForCreate(byte[] key) {
+        if (!lockOnCreate) {
+            return Optional.empty();
+        }
+        urlJdbcRepository.lockForTransaction(ByteBuffer.wrap(key).getLong());
+        Optional<Url> stored = findInDatabase(key);
+        stored.ifPresent(url -> concurrentReuses.increment());
+        return stored;
+    }
+
+    public void remember(byte[] key, String shortCode) {
+        if (codesByHash != null) {
+            codesByHash.put(HexFormat.of().formatHex(key), shortCode);
+        }
+    }
+
+    private Optional<Url> findInDatabase(byte[] key) {
+        return urlMetrics.database("find_url_by_hash", () -> urlRepository.findByOriginalUrlHashAndIsActiveTrue(key))
+                .filter(url -> url.getExpiresAt() == null || url.getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    private static Counter reuses(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("url.dedupe.reused")
+                .description("Auto creates answered with an existing short code")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
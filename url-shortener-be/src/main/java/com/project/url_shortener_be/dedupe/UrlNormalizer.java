@@ -0,0 +1,36 @@
+package com.project.url_shortener_be.dedupe;
+
+import com.project.url_shortener_be.validation.UrlCanonicalizer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Canonical form and fixed-width hash of an original URL for deduplication.
+ * The canonical form is the one UrlCanonicalizer stores on create, so only
+ * rewrites that cannot change which resource is addressed are applied.
+ */
+public final class UrlNormalizer {
+
+    public static final int HASH_LENGTH = 32;
+
+    private UrlNormalizer() {
+    }
+
+    public static String normalize(String originalUrl) {
+        String canonical = UrlCanonicalizer.canonicalize(originalUrl);
+        // Not a URL we can take apart; only exact repeats are deduplicated
+        return canonical != null ? canonical : originalUrl.trim();
+    }
+
+    // SHA-256 of the normalized URL; collisions are not a practical concern at this width
+    public static byte[] hash(String originalUrl) {
+        try {
+            return MessageDigest.getInstance("SHA-256")
+                    .digest(normalize(originalUrl).getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.url_shortener_be.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ArchivedUrlResponse {
+    private UrlResponse url;
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,15 @@
+package com.project.url_shortener_be.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkCreateResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private long elapsedMillis;
+    private double itemsPerSecond;
+    private List<BulkItemResult> results;
+}
@@ -0,0 +1,23 @@
+package com.project.url_shortener_be.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+    private int index;
+    private boolean success;
+    private UrlResponse url;
+    private String error;
+
+    public static BulkItemResult succeeded(int index, UrlResponse url) {
+        return new BulkItemResult(index, true, url, null);
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return new BulkItemResult(index, false, null, error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.url_shortener_be.dto;
+
+import lombok.Data;
+
+@Data
+public class CacheStatsResponse {
+    private Long estimatedSize;
+    private Long hitCount;
+    private Long missCount;
+    private Double hitRate;
+    private Long evictionCount;
+    private Long loadFailureCount;
+}
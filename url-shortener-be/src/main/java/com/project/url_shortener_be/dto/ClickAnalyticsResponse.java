@@ -0,0 +1,17 @@
+package com.project.url_shortener_be.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Click time series for one short code; bucket times are UTC
+@Data
+public class ClickAnalyticsResponse {
+    private String shortCode;
+    private RollupGranularity granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long totalClicks;
+    private List<ClickBucket> buckets;
+}
@@ -0,0 +1,14 @@
+package com.project.url_shortener_be.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+public class ClickBucket {
+    private LocalDateTime bucketStart;
+    private long clicks;
+    private Map<String, Long> referrers;
+    private Map<String, Long> agentClasses;
+}
@@ -1,7 +1,7 @@
 package com.project.url_shortener_be.dto;
 
+import com.project.url_shortener_be.validation.ValidUrl;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -10,8 +10,7 @@ import java.time.LocalDateTime;
 public class CreateUrlAutoRequest {
     
     @NotBlank(message = "Original URL is required")
-    @Pattern(regexp = "^(https?://)?([\\da-z.-]+)\\.([a-z.]{2,6})[/\\w .-]*/?$", 
-             message = "Please provide a valid URL")
+    @ValidUrl
     private String originalUrl;
     
     private LocalDateTime expiresAt;
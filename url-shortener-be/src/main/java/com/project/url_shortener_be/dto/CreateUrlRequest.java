@@ -1,5 +1,6 @@
 package com.project.url_shortener_be.dto;
 
+import com.project.url_shortener_be.validation.ValidUrl;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.Data;
@@ -10,11 +11,17 @@ import java.time.LocalDateTime;
 public class CreateUrlRequest {
     
     @NotBlank(message = "Original URL is required")
-    @Pattern(regexp = "^(https?://)?([\\da-z.-]+)\\.([a-z.]{2,6})[/\\w .-]*/?$", 
-             message = "Please provide a valid URL")
+    @ValidUrl
     private String originalUrl;
     
+    // Optional in bulk items, where a missing code means an auto-generated one
+    @NotBlank(groups = CustomShortCodeRequired.class, message = "Custom short code is required")
+    @Pattern(regexp = "[A-Za-z0-9_-]{1,10}", message = "Short code must be 1 to 10 letters, digits, '-' or '_'")
     private String customShortCode;
     
     private LocalDateTime expiresAt;
+
+    // Validation group for the custom create and update endpoints
+    public interface CustomShortCodeRequired {
+    }
 }
@@ -0,0 +1,17 @@
+package com.project.url_shortener_be.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Slim read model for redirects: only what is needed to decide and send the redirect
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RedirectTarget {
+    private String originalUrl;
+    private Boolean isActive;
+    private LocalDateTime expiresAt;
+}
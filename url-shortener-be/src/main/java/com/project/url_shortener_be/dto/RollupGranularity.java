@@ -0,0 +1,36 @@
+package com.project.url_shortener_be.dto;
+
+import com.project.url_shortener_be.exception.InvalidRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Getter
+@RequiredArgsConstructor
+public enum RollupGranularity {
+    MINUTE("m", ChronoUnit.MINUTES, Duration.ofHours(1)),
+    HOUR("h", ChronoUnit.HOURS, Duration.ofDays(1)),
+    DAY("d", ChronoUnit.DAYS, Duration.ofDays(30));
+
+    // Stored in url_click_rollups.granularity
+    private final String code;
+    private final ChronoUnit unit;
+    // Range served when the caller gives no start
+    private final Duration defaultRange;
+
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    public static RollupGranularity fromValue(String value) {
+        for (RollupGranularity granularity : values()) {
+            if (granularity.name().equalsIgnoreCase(value)) {
+                return granularity;
+            }
+        }
+        throw new InvalidRequestException("Unsupported granularity: " + value);
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.url_shortener_be.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UrlPageResponse {
+    private List<UrlResponse> items;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -16,13 +16,19 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Url {
     
+    // Sequence IDs (allocated 50 at a time) let Hibernate batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "url_id_seq")
+    @SequenceGenerator(name = "url_id_seq", sequenceName = "url_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "original_url", nullable = false, length = 2048)
     private String originalUrl;
     
+    // SHA-256 of the normalized original URL; only set on rows created in dedupe mode
+    @Column(name = "original_url_hash", length = 32)
+    private byte[] originalUrlHash;
+    
     @Column(name = "short_code", nullable = false, unique = true, length = 10)
     private String shortCode;
     
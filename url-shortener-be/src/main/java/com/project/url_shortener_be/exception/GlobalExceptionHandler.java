@@ -1,21 +1,73 @@
 package com.project.url_shortener_be.exception;
 
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.bind.ServletRequestBindingException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Slf4j
 public class GlobalExceptionHandler {
     
+    private final UrlMetrics urlMetrics;
+    private final RateLimitedLogger rateLimitedLogger;
+    
+    public GlobalExceptionHandler(UrlMetrics urlMetrics,
+                                  @Value("${app.errors.log.max-per-window:10}") int maxLogsPerWindow,
+                                  @Value("${app.errors.log.window:1m}") Duration logWindow) {
+        this.urlMetrics = urlMetrics;
+        this.rateLimitedLogger = new RateLimitedLogger(maxLogsPerWindow, logWindow);
+    }
+    
+    // Handle unknown short codes and IDs
+    @ExceptionHandler(UrlNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotFound(UrlNotFoundException ex, HttpServletRequest request) {
+        return handleUrlException(HttpStatus.NOT_FOUND, "Not Found", ex, request);
+    }
+    
+    // Handle expired and deactivated short codes
+    @ExceptionHandler({UrlExpiredException.class, UrlInactiveException.class})
+    public ResponseEntity<ErrorResponse> handleGone(UrlException ex, HttpServletRequest request) {
+        return handleUrlException(HttpStatus.GONE, "Gone", ex, request);
+    }
+    
+    // Handle short codes that are already taken
+    @ExceptionHandler(ShortCodeConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(ShortCodeConflictException ex, HttpServletRequest request) {
+        return handleUrlException(HttpStatus.CONFLICT, "Conflict", ex, request);
+    }
+    
+    // Handle retries that are still waiting on the first request with their Idempotency-Key
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyInProgress(IdempotencyKeyInProgressException ex,
+                                                                     HttpServletRequest request) {
+        return handleUrlException(HttpStatus.CONFLICT, "Conflict", ex, request);
+    }
+    
+    // Handle an Idempotency-Key reused for a different request
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyMismatch(IdempotencyKeyMismatchException ex,
+                                                                   HttpServletRequest request) {
+        return handleUrlException(HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable Entity", ex, request);
+    }
+    
     // Handle validation errors
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
@@ -34,26 +86,67 @@ public class GlobalExceptionHandler {
             errors
         );
         
-        log.error("Validation error: {}", errors);
+        urlMetrics.error(HttpStatus.BAD_REQUEST, ex);
+        long suppressed = rateLimitedLogger.tryAcquire("validation");
+        if (suppressed >= 0) {
+            log.warn("Validation error: {}{}", errors, suppressedSuffix(suppressed));
+        }
         return ResponseEntity.badRequest().body(errorResponse);
     }
     
-    // Handle runtime exceptions
-    @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex) {
+    // Handle request parameters and headers the client got wrong
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(InvalidRequestException ex, HttpServletRequest request) {
+        return handleUrlException(HttpStatus.BAD_REQUEST, "Bad Request", ex, request);
+    }
+    
+    // Handle requests Spring could not bind (unreadable body, mistyped or missing parameters)
+    @ExceptionHandler({HttpMessageNotReadableException.class, TypeMismatchException.class,
+            ServletRequestBindingException.class})
+    public ResponseEntity<ErrorResponse> handleRequestBindingException(Exception ex) {
+        String message = ex instanceof TypeMismatchException mismatch
+                ? "Invalid value for " + mismatch.getPropertyName()
+                : ex instanceof ServletRequestBindingException ? ex.getMessage() : "Malformed request body";
         ErrorResponse errorResponse = new ErrorResponse(
             LocalDateTime.now(),
             HttpStatus.BAD_REQUEST.value(),
-            "Runtime Error",
-            ex.getMessage(),
+            "Request Error",
+            message,
             null
         );
         
-        log.error("Runtime error: {}", ex.getMessage());
+        urlMetrics.error(HttpStatus.BAD_REQUEST, ex);
+        long suppressed = rateLimitedLogger.tryAcquire(ex.getClass().getName());
+        if (suppressed >= 0) {
+            log.warn("Request error: {}{}", ex.getMessage(), suppressedSuffix(suppressed));
+        }
         return ResponseEntity.badRequest().body(errorResponse);
     }
     
-    // Handle generic exceptions
+    // Handle unique key races the service checks could not see (e.g. two creates of one custom code).
+    // Other integrity violations mean input slipped past validation and stay server faults
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (!UniqueKeyViolations.isUniqueKeyViolation(ex)) {
+            return handleGenericException(ex);
+        }
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
+            "Request conflicts with existing data",
+            null
+        );
+        
+        urlMetrics.error(HttpStatus.CONFLICT, ex);
+        long suppressed = rateLimitedLogger.tryAcquire(ex.getClass().getName());
+        if (suppressed >= 0) {
+            log.warn("Data integrity violation: {}{}", ex.getMostSpecificCause().getMessage(), suppressedSuffix(suppressed));
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+    
+    // Handle everything else, including database and I/O failures, as a server fault
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         ErrorResponse errorResponse = new ErrorResponse(
@@ -64,7 +157,31 @@ public class GlobalExceptionHandler {
             null
         );
         
+        urlMetrics.error(HttpStatus.INTERNAL_SERVER_ERROR, ex);
         log.error("Unexpected error: {}", ex.getMessage(), ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
+    
+    // Domain failures are expected traffic: count every one, log only a sample
+    private ResponseEntity<ErrorResponse> handleUrlException(HttpStatus status, String error, UrlException ex,
+                                                             HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            status.value(),
+            error,
+            ex.getMessage(),
+            null
+        );
+        
+        urlMetrics.error(status, ex);
+        long suppressed = rateLimitedLogger.tryAcquire(ex.getClass().getName());
+        if (suppressed >= 0) {
+            log.info("{} {} for {}{}", status.value(), ex.getMessage(), request.getRequestURI(), suppressedSuffix(suppressed));
+        }
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+    
+    private static String suppressedSuffix(long suppressed) {
+        return suppressed > 0 ? " (" + suppressed + " similar suppressed)" : "";
+    }
 }
@@ -0,0 +1,12 @@
+package com.project.url_shortener_be.exception;
+
+// The first request with this Idempotency-Key is still running after the wait timeout (409)
+public class IdempotencyKeyInProgressException extends UrlException {
+
+    public static final IdempotencyKeyInProgressException INSTANCE =
+            new IdempotencyKeyInProgressException("A request with this Idempotency-Key is still in progress");
+
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.url_shortener_be.exception;
+
+// Idempotency-Key already used for a different request (422)
+public class IdempotencyKeyMismatchException extends UrlException {
+
+    public static final IdempotencyKeyMismatchException INSTANCE =
+            new IdempotencyKeyMismatchException("Idempotency-Key was already used for a different request");
+
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
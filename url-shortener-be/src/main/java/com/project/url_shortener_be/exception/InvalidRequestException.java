@@ -0,0 +1,9 @@
+package com.project.url_shortener_be.exception;
+
+// Request parameter or header the client got wrong (400)
+public class InvalidRequestException extends UrlException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
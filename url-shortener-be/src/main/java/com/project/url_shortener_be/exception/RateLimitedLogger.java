@@ -0,0 +1,50 @@
+package com.project.url_shortener_be.exception;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most a fixed number of log lines per key through in each time window
+ * and counts the rest, so a flood of identical errors (e.g. bots probing random
+ * codes) costs a counter increment instead of a log write.
+ */
+class RateLimitedLogger {
+
+    private final int maxPerWindow;
+    private final long windowNanos;
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    RateLimitedLogger(int maxPerWindow, Duration window) {
+        this.maxPerWindow = maxPerWindow;
+        this.windowNanos = window.toNanos();
+    }
+
+    // Returns -1 if the event must not be logged, otherwise the number of events
+    // suppressed for this key since the last one that was logged
+    long tryAcquire(String key) {
+        Window window = windows.computeIfAbsent(key, k -> new Window(System.nanoTime()));
+        long now = System.nanoTime();
+        long start = window.start.get();
+
+        if (now - start >= windowNanos && window.start.compareAndSet(start, now)) {
+            window.count.set(0);
+        }
+
+        if (window.count.incrementAndGet() <= maxPerWindow) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    private static final class Window {
+        private final AtomicLong start;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Window(long start) {
+            this.start = new AtomicLong(start);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.project.url_shortener_be.exception;
+
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+// Reactive-mode counterpart of GlobalExceptionHandler with the same responses, metrics and log sampling
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveExceptionHandler {
+    
+    private final UrlMetrics urlMetrics;
+    private final RateLimitedLogger rateLimitedLogger;
+    
+    public ReactiveExceptionHandler(UrlMetrics urlMetrics,
+                                    @Value("${app.errors.log.max-per-window:10}") int maxLogsPerWindow,
+                                    @Value("${app.errors.log.window:1m}") Duration logWindow) {
+        this.urlMetrics = urlMetrics;
+        this.rateLimitedLogger = new RateLimitedLogger(maxLogsPerWindow, logWindow);
+    }
+    
+    // Handle unknown short codes
+    @ExceptionHandler(UrlNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotFound(UrlNotFoundException ex, ServerHttpRequest request) {
+        return handleUrlException(HttpStatus.NOT_FOUND, "Not Found", ex, request);
+    }
+    
+    // Handle expired and deactivated short codes
+    @ExceptionHandler({UrlExpiredException.class, UrlInactiveException.class})
+    public ResponseEntity<ErrorResponse> handleGone(UrlException ex, ServerHttpRequest request) {
+        return handleUrlException(HttpStatus.GONE, "Gone", ex, request);
+    }
+    
+    // Handle short codes that are already taken
+    @ExceptionHandler(ShortCodeConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(ShortCodeConflictException ex, ServerHttpRequest request) {
+        return handleUrlException(HttpStatus.CONFLICT, "Conflict", ex, request);
+    }
+    
+    // Handle retries that are still waiting on the first request with their Idempotency-Key
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyInProgress(IdempotencyKeyInProgressException ex,
+                                                                     ServerHttpRequest request) {
+        return handleUrlException(HttpStatus.CONFLICT, "Conflict", ex, request);
+    }
+    
+    // Handle an Idempotency-Key reused for a different request
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyMismatch(IdempotencyKeyMismatchException ex,
+                                                                   ServerHttpRequest request) {
+        return handleUrlException(HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable Entity", ex, request);
+    }
+    
+    // Handle request parameters and headers the client got wrong
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(InvalidRequestException ex, ServerHttpRequest request) {
+        return handleUrlException(HttpStatus.BAD_REQUEST, "Bad Request", ex, request);
+    }
+    
+    // Handle validation errors
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            errors.put(fieldName, error.getDefaultMessage());
+        });
+        
+        urlMetrics.error(HttpStatus.BAD_REQUEST, ex);
+        long suppressed = rateLimitedLogger.tryAcquire("validation");
+        if (suppressed >= 0) {
+            log.warn("Validation error: {}{}", errors, suppressedSuffix(suppressed));
+        }
+        return ResponseEntity.badRequest().body(new ErrorResponse(
+                LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), "Validation Error", "Invalid input data", errors));
+    }
+    
+    // Handle framework errors that carry their own status (unreadable body, unsupported method, ...)
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(ResponseStatusException ex) {
+        HttpStatusCode status = ex.getStatusCode();
+        urlMetrics.error(status, ex);
+        long suppressed = rateLimitedLogger.tryAcquire(ex.getClass().getName());
+        if (suppressed >= 0) {
+            log.warn("Request error: {}{}", ex.getMessage(), suppressedSuffix(suppressed));
+        }
+        return ResponseEntity.status(status).body(new ErrorResponse(
+                LocalDateTime.now(), status.value(), "Request Error", ex.getReason(), null));
+    }
+    
+    // Handle unique key races the service checks could not see (e.g. two creates of one custom code).
+    // Other integrity violations mean input slipped past validation and stay server faults
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (!UniqueKeyViolations.isUniqueKeyViolation(ex)) {
+            return handleGenericException(ex);
+        }
+        urlMetrics.error(HttpStatus.CONFLICT, ex);
+        long suppressed = rateLimitedLogger.tryAcquire(ex.getClass().getName());
+        if (suppressed >= 0) {
+            log.warn("Data integrity violation: {}{}", ex.getMostSpecificCause().getMessage(), suppressedSuffix(suppressed));
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(
+                LocalDateTime.now(), HttpStatus.CONFLICT.value(), "Conflict", "Request conflicts with existing data", null));
+    }
+    
+    // Handle everything else, including database and I/O failures, as a server fault
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
+        urlMetrics.error(HttpStatus.INTERNAL_SERVER_ERROR, ex);
+        log.error("Unexpected error: {}", ex.getMessage(), ex);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ErrorResponse(
+                LocalDateTime.now(), HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal Server Error",
+                "An unexpected error occurred", null));
+    }
+    
+    // Domain failures are expected traffic: count every one, log only a sample
+    private ResponseEntity<ErrorResponse> handleUrlException(HttpStatus status, String error, UrlException ex,
+                                                             ServerHttpRequest request) {
+        urlMetrics.error(status, ex);
+        long suppressed = rateLimitedLogger.tryAcquire(ex.getClass().getName());
+        if (suppressed >= 0) {
+            log.info("{} {} for {}{}", status.value(), ex.getMessage(), request.getPath(), suppressedSuffix(suppressed));
+        }
+        return ResponseEntity.status(status).body(new ErrorResponse(LocalDateTime.now(), status.value(), error,
+                ex.getMessage(), null));
+    }
+    
+    private static String suppressedSuffix(long suppressed) {
+        return suppressed > 0 ? " (" + suppressed + " similar suppressed)" : "";
+    }
+}
@@ -0,0 +1,9 @@
+package com.project.url_shortener_be.exception;
+
+// Requested or generated short code is already taken (409)
+public class ShortCodeConflictException extends UrlException {
+
+    public ShortCodeConflictException(String message) {
+        super(message);
+    }
+}
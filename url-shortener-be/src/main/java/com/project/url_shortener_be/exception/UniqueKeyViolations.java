@@ -0,0 +1,35 @@
+package com.project.url_shortener_be.exception;
+
+import io.r2dbc.spi.R2dbcException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+
+/**
+ * Tells unique key violations apart from other integrity violations (NOT NULL,
+ * column length, foreign keys). JPA reports all of them as the same
+ * DataIntegrityViolationException, so the SQLState of the cause decides.
+ */
+final class UniqueKeyViolations {
+
+    // unique_violation in Postgres and H2
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private UniqueKeyViolations() {
+    }
+
+    static boolean isUniqueKeyViolation(DataIntegrityViolationException ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            String sqlState = cause instanceof SQLException sql ? sql.getSQLState()
+                    : cause instanceof R2dbcException r2dbc ? r2dbc.getSqlState() : null;
+            if (UNIQUE_VIOLATION.equals(sqlState)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.url_shortener_be.exception;
+
+/**
+ * Base class for expected domain failures (unknown, expired or inactive codes,
+ * code conflicts, invalid client input). These are part of normal traffic, so
+ * they skip stack trace capture and the hot-path ones are preallocated singletons.
+ */
+public abstract class UrlException extends RuntimeException {
+
+    protected UrlException(String message) {
+        super(message, null, false, false);
+    }
+}
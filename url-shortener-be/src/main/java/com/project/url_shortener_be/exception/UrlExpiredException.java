@@ -0,0 +1,11 @@
+package com.project.url_shortener_be.exception;
+
+// Short code exists but its expiry has passed (410)
+public class UrlExpiredException extends UrlException {
+
+    public static final UrlExpiredException INSTANCE = new UrlExpiredException("URL has expired");
+
+    public UrlExpiredException(String message) {
+        super(message);
+    }
+}
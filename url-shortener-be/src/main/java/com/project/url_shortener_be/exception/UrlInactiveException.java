@@ -0,0 +1,11 @@
+package com.project.url_shortener_be.exception;
+
+// Short code exists but has been deactivated (410)
+public class UrlInactiveException extends UrlException {
+
+    public static final UrlInactiveException INSTANCE = new UrlInactiveException("URL is no longer active");
+
+    public UrlInactiveException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.url_shortener_be.exception;
+
+// Short code or ID does not exist (404)
+public class UrlNotFoundException extends UrlException {
+
+    public static final UrlNotFoundException INSTANCE = new UrlNotFoundException("URL not found");
+
+    public UrlNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,118 @@
+package com.project.url_shortener_be.expiry;
+
+import com.project.url_shortener_be.cache.UrlResolveCache;
+import com.project.url_shortener_be.datasource.ReplicaReadPolicy;
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deactivates expired URLs with chunked set-based UPDATE statements.
+ * Runs on a schedule under a Postgres advisory lock so only one node sweeps
+ * at a time; the partial index on expires_at keeps each chunk cheap.
+ */
+@Component
+@Slf4j
+public class ExpiredUrlSweeper {
+
+    private final UrlJdbcRepository urlJdbcRepository;
+    private final UrlResolveCache urlResolveCache;
+    private final ReplicaReadPolicy replicaReadPolicy;
+    private final boolean scheduleEnabled;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final long lockKey;
+
+    private final Counter rowsDeactivated;
+    private final Counter runsCompleted;
+    private final Counter runsSkipped;
+    private final Timer chunkTimer;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public ExpiredUrlSweeper(UrlJdbcRepository urlJdbcRepository,
+                             UrlResolveCache urlResolveCache,
+                             ReplicaReadPolicy replicaReadPolicy,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.expiry.enabled:true}") boolean scheduleEnabled,
+                             @Value("${app.expiry.chunk-size:1000}") int chunkSize,
+                             @Value("${app.expiry.max-chunks-per-run:100}") int maxChunksPerRun,
+                             @Value("${app.expiry.lock-key:727100}") long lockKey) {
+        this.urlJdbcRepository = urlJdbcRepository;
+        this.urlResolveCache = urlResolveCache;
+        this.replicaReadPolicy = replicaReadPolicy;
+        this.scheduleEnabled = scheduleEnabled;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.lockKey = lockKey;
+
+        this.rowsDeactivated = Counter.builder("url.expiry.rows.deactivated")
+                .description("Expired URLs deactivated by the sweeper")
+                .register(meterRegistry);
+        this.runsCompleted = Counter.builder("url.expiry.runs")
+                .tag("outcome", "completed")
+                .register(meterRegistry);
+        this.runsSkipped = Counter.builder("url.expiry.runs")
+                .tag("outcome", "lock_held_elsewhere")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("url.expiry.chunk.duration")
+                .description("Latency of one expiry UPDATE chunk")
+                .register(meterRegistry);
+        Gauge.builder("url.expiry.backlog", backlog, AtomicLong::get)
+                .description("Active URLs past their expiry when the last sweep finished")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.expiry.initial-delay-ms:30000}",
+               fixedDelayString = "${app.expiry.interval-ms:60000}")
+    public void scheduledSweep() {
+        if (scheduleEnabled) {
+            sweep();
+        }
+    }
+
+    // Deactivate expired URLs; returns the number of rows deactivated by this node
+    public int sweep() {
+        AtomicInteger deactivated = new AtomicInteger();
+
+        boolean acquired = urlJdbcRepository.runWithAdvisoryLock(lockKey, () -> {
+            int chunks = 0;
+            int updated;
+            do {
+                LocalDateTime now = LocalDateTime.now();
+                List<String> shortCodes = chunkTimer.record(() -> urlJdbcRepository.deactivateExpiredChunk(now, chunkSize));
+                updated = shortCodes.size();
+
+                shortCodes.forEach(replicaReadPolicy::recordWrite);
+                urlResolveCache.invalidate(shortCodes);
+                rowsDeactivated.increment(updated);
+                deactivated.addAndGet(updated);
+                chunks++;
+            } while (updated == chunkSize && chunks < maxChunksPerRun);
+
+            backlog.set(urlJdbcRepository.countExpiredActive(LocalDateTime.now()));
+        });
+
+        if (!acquired) {
+            runsSkipped.increment();
+            log.debug("Expiry sweep skipped, another node holds the lock");
+            return 0;
+        }
+
+        runsCompleted.increment();
+        if (deactivated.get() > 0) {
+            log.info("Deactivated {} expired URLs, {} still pending", deactivated.get(), backlog.get());
+        }
+        return deactivated.get();
+    }
+}
@@ -0,0 +1,301 @@
+package com.project.url_shortener_be.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.url_shortener_be.dto.UrlResponse;
+import com.project.url_shortener_be.exception.IdempotencyKeyInProgressException;
+import com.project.url_shortener_be.exception.IdempotencyKeyMismatchException;
+import com.project.url_shortener_be.exception.InvalidRequestException;
+import com.project.url_shortener_be.repository.IdempotencyKeyRepository;
+import com.project.url_shortener_be.repository.IdempotencyKeyRepository.StoredKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs each create sent with an Idempotency-Key header once. The first request
+ * with a key claims it; retries with the same key and body get its response, and
+ * retries arriving while it still runs wait for its result instead of creating
+ * another URL. A key reused for a different body is rejected.
+ *
+ * Keys live in a bounded cache for the TTL, holding the first request's future.
+ * With app.idempotency.database.enabled the claim and the response are also kept
+ * in the idempotency_keys table, so a retry that lands on another node is answered
+ * from there. Failed requests release their key, so the next retry runs again.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean databaseEnabled;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration claimTimeout;
+    private final Duration pollInterval;
+    private final Cache<String, Entry> entries;
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter mismatched;
+    private final Counter timedOut;
+
+    private record Entry(String fingerprint, CompletableFuture<UrlResponse> result) {
+    }
+
+    // Result of a request with a key; waiting is set when another request owns the key
+    private record Attempt(CompletableFuture<UrlResponse> result, boolean waiting) {
+    }
+
+    public IdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.idempotency.enabled:true}") boolean enabled,
+                            @Value("${app.idempotency.maximum-size:50000}") long maximumSize,
+                            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${app.idempotency.wait-timeout:10s}") Duration waitTimeout,
+                            @Value("${app.idempotency.database.enabled:false}") boolean databaseEnabled,
+                            @Value("${app.idempotency.database.claim-timeout:30s}") Duration claimTimeout,
+                            @Value("${app.idempotency.database.poll-interval:50ms}") Duration pollInterval) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.databaseEnabled = databaseEnabled;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.claimTimeout = claimTimeout;
+        this.pollInterval = pollInterval;
+        this.entries = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+
+        this.executed = requests(meterRegistry, "executed");
+        this.replayed = requests(meterRegistry, "replayed");
+        this.mismatched = requests(meterRegistry, "mismatched");
+        this.timedOut = requests(meterRegistry, "timed_out");
+        Gauge.builder("url.idempotency.keys", entries, Cache::estimatedSize)
+                .description("Idempotency keys held in memory")
+                .register(meterRegistry);
+    }
+
+    // Blocking variant for the servlet controllers; without a key the action just runs.
+    // The endpoint and request body identify the request a key was first used for.
+    public UrlResponse execute(String key, String endpoint, Object request, Supplier<UrlResponse> action) {
+        if (!enabled || key == null) {
+            return action.get();
+        }
+        CompletableFuture<UrlResponse> result =
+                executeAsync(key, fingerprint(endpoint, request), () -> CompletableFuture.completedFuture(action.get())).result();
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            throw IdempotencyKeyInProgressException.INSTANCE;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an idempotent request", e);
+        }
+    }
+
+    // Reactive variant. Table access blocks, so with the table enabled the claim and the
+    // response write run on the bounded elastic scheduler. Only waiters time out, and
+    // cancelling one never cancels the first request.
+    public Mono<UrlResponse> execute(String key, String endpoint, Object request, Mono<UrlResponse> action) {
+        if (!enabled || key == null) {
+            return action;
+        }
+        Mono<Attempt> attempt = Mono.fromCallable(() -> executeAsync(key, fingerprint(endpoint, request),
+                () -> (databaseEnabled ? action.publishOn(Schedulers.boundedElastic()) : action).toFuture()));
+        return (databaseEnabled ? attempt.subscribeOn(Schedulers.boundedElastic()) : attempt)
+                .flatMap(started -> {
+                    Mono<UrlResponse> result = Mono.fromFuture(started.result(), true);
+                    return started.waiting() ? result.timeout(waitTimeout, Mono.error(() -> {
+                        timedOut.increment();
+                        return IdempotencyKeyInProgressException.INSTANCE;
+                    })) : result;
+                });
+    }
+
+    // SHA-256 of the endpoint and the request body, compared when a key is reused
+    private String fingerprint(String endpoint, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(endpoint.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize request for its fingerprint", e);
+        }
+    }
+
+    // Expired keys leave the cache on their own; the table is purged here
+    @Scheduled(initialDelayString = "${app.idempotency.database.purge-interval-ms:600000}",
+            fixedDelayString = "${app.idempotency.database.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        if (!enabled || !databaseEnabled) {
+            return;
+        }
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Attempt executeAsync(String key, String fingerprint,
+            Supplier<CompletableFuture<UrlResponse>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            checkFingerprint(existing.fingerprint(), fingerprint);
+            replayed.increment();
+            return new Attempt(existing.result(), true);
+        }
+
+        CompletableFuture<UrlResponse> result;
+        try {
+            result = databaseEnabled ? executeClaimed(key, fingerprint, action) : run(action);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((response, error) -> {
+            if (error == null) {
+                entry.result().complete(response);
+                return;
+            }
+            // Nothing was created, so the key is free for the next retry
+            entries.asMap().remove(key, entry);
+            entry.result().completeExceptionally(error instanceof CompletionException
+                    && error.getCause() != null ? error.getCause() : error);
+        });
+        return new Attempt(entry.result(), false);
+    }
+
+    // Claim the key in the table, or answer from the response another node stored for it.
+    // Claims left behind by a node that died mid-request are taken over after the claim timeout.
+    private CompletableFuture<UrlResponse> executeClaimed(String key, String fingerprint,
+                                                          Supplier<CompletableFuture<UrlResponse>> action) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (!idempotencyKeyRepository.claim(key, fingerprint, LocalDateTime.now())) {
+            Optional<StoredKey> stored = idempotencyKeyRepository.find(key);
+            if (stored.isEmpty()) {
+                continue;
+            }
+            StoredKey claim = stored.get();
+            checkFingerprint(claim.fingerprint(), fingerprint);
+            LocalDateTime now = LocalDateTime.now();
+            if (claim.response() != null && claim.createdAt().isAfter(now.minus(ttl))) {
+                replayed.increment();
+                return CompletableFuture.completedFuture(readResponse(claim.response()));
+            }
+            if (claim.response() != null || claim.createdAt().isBefore(now.minus(claimTimeout))) {
+                idempotencyKeyRepository.deleteClaim(key, claim.createdAt());
+                continue;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                timedOut.increment();
+                throw IdempotencyKeyInProgressException.INSTANCE;
+            }
+            sleep(pollInterval);
+        }
+
+        CompletableFuture<UrlResponse> result;
+        try {
+            result = run(action);
+        } catch (RuntimeException e) {
+            idempotencyKeyRepository.release(key);
+            throw e;
+        }
+        return result.whenComplete((response, error) -> {
+            try {
+                if (error == null) {
+                    idempotencyKeyRepository.complete(key, writeResponse(response));
+                } else {
+                    idempotencyKeyRepository.release(key);
+                }
+            } catch (RuntimeException e) {
+                // The URL exists either way; only retries on other nodes lose the stored response
+                log.warn("Could not store the result for idempotency key {}: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    private CompletableFuture<UrlResponse> run(Supplier<CompletableFuture<UrlResponse>> action) {
+        executed.increment();
+        return action.get();
+    }
+
+    private void checkFingerprint(String stored, String fingerprint) {
+        if (!stored.equals(fingerprint)) {
+            mismatched.increment();
+            throw IdempotencyKeyMismatchException.INSTANCE;
+        }
+    }
+
+    private UrlResponse readResponse(String json) {
+        try {
+            return objectMapper.readValue(json, UrlResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored idempotent response", e);
+        }
+    }
+
+    private String writeResponse(UrlResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store idempotent response", e);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an idempotent request", e);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("url.idempotency.requests")
+                .description("Create requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.url_shortener_be.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback's async appender, counting the events it drops. Below WARN, events
+ * are discarded once the queue is nearly full (discardingThreshold); with
+ * neverBlock any event that finds the queue full is dropped instead of making
+ * the request thread wait for the console or file.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder queueFull = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Checked before the offer, so a slot freed in between is still counted as a drop
+        if (isStarted() && isNeverBlock() && getRemainingCapacity() == 0
+                && !(isQueueBelowDiscardingThreshold() && super.isDiscardable(event))) {
+            queueFull.increment();
+        }
+        super.append(event);
+    }
+
+    // Only asked once the queue is below the discarding threshold, so true means dropped
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            discarded.increment();
+        }
+        return discardable;
+    }
+
+    public long getDiscarded() {
+        return discarded.sum();
+    }
+
+    public long getQueueFullDrops() {
+        return queueFull.sum();
+    }
+}
@@ -0,0 +1,20 @@
+package com.project.url_shortener_be.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Markers for per-request log lines on the hot endpoints. Lines below WARN
+ * carrying one of these are sampled by {@link SamplingTurboFilter} at the rate
+ * configured for that endpoint (app.logging.sample-rates).
+ */
+public final class LogMarkers {
+
+    public static final Marker REDIRECT = MarkerFactory.getMarker("redirect");
+    public static final Marker RESOLVE = MarkerFactory.getMarker("resolve");
+    public static final Marker CREATE = MarkerFactory.getMarker("create");
+    public static final Marker LIST = MarkerFactory.getMarker("list");
+
+    private LogMarkers() {
+    }
+}
@@ -0,0 +1,83 @@
+package com.project.url_shortener_be.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Exports what the hot-path logging pipeline dropped: events discarded or
+ * rejected by the async appender, lines removed by sampling, and the free queue
+ * capacity. The appender and filter are looked up on every read, since a
+ * logging reconfiguration replaces them.
+ */
+@Component
+public class LoggingMetrics {
+
+    public LoggingMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("logging.events.dropped", this, appenderValue(CountingAsyncAppender::getDiscarded))
+                .description("Log events dropped by the async appender")
+                .tag("reason", "discarded")
+                .register(meterRegistry);
+        FunctionCounter.builder("logging.events.dropped", this, appenderValue(CountingAsyncAppender::getQueueFullDrops))
+                .description("Log events dropped by the async appender")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        Gauge.builder("logging.async.queue.remaining", this, appenderValue(CountingAsyncAppender::getRemainingCapacity))
+                .description("Free slots in the async appender queue")
+                .register(meterRegistry);
+
+        for (Marker marker : List.of(LogMarkers.REDIRECT, LogMarkers.RESOLVE, LogMarkers.CREATE, LogMarkers.LIST)) {
+            FunctionCounter.builder("logging.events.sampled.out", this, metrics -> {
+                        SamplingTurboFilter filter = samplingFilter();
+                        return filter == null ? 0 : filter.getSampledOut(marker.getName());
+                    })
+                    .description("Hot-path log lines removed by sampling")
+                    .tag("endpoint", marker.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    private static ToDoubleFunction<LoggingMetrics> appenderValue(ToDoubleFunction<CountingAsyncAppender> value) {
+        return metrics -> {
+            CountingAsyncAppender appender = asyncAppender();
+            return appender == null ? 0 : value.applyAsDouble(appender);
+        };
+    }
+
+    private static CountingAsyncAppender asyncAppender() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return null;
+        }
+        Iterator<Appender<ILoggingEvent>> appenders =
+                context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof CountingAsyncAppender appender) {
+                return appender;
+            }
+        }
+        return null;
+    }
+
+    private static SamplingTurboFilter samplingFilter() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return null;
+        }
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof SamplingTurboFilter sampling) {
+                return sampling;
+            }
+        }
+        return null;
+    }
+}
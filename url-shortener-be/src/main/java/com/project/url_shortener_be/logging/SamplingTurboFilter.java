@@ -0,0 +1,71 @@
+package com.project.url_shortener_be.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a random fraction of the log lines marked with an endpoint marker (see
+ * {@link LogMarkers}) and denies the rest before a logging event is created or
+ * its message formatted. WARN and ERROR lines and unmarked lines always pass,
+ * as do lines whose level is disabled anyway (the level check rejects those).
+ *
+ * Configured in logback-spring.xml with rates such as "redirect=0.01,resolve=0.1";
+ * markers without a rate are not sampled.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final Map<String, Double> rates = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> sampledOut = new ConcurrentHashMap<>();
+
+    // Comma-separated marker=rate pairs, rates between 0 (drop all) and 1 (keep all)
+    public void setRates(String value) {
+        rates.clear();
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        for (String pair : value.split(",")) {
+            String[] parts = pair.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected marker=rate, got: " + pair);
+            }
+            double rate = Double.parseDouble(parts[1].trim());
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Sample rate must be between 0 and 1: " + pair);
+            }
+            rates.put(parts[0].trim(), rate);
+        }
+    }
+
+    public double getRate(String marker) {
+        return rates.getOrDefault(marker, 1.0);
+    }
+
+    // Lines of the marker dropped by sampling since startup
+    public long getSampledOut(String marker) {
+        LongAdder count = sampledOut.get(marker);
+        return count == null ? 0 : count.sum();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || level == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        Double rate = rates.get(marker.getName());
+        if (rate == null || rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate)) {
+            return FilterReply.NEUTRAL;
+        }
+        sampledOut.computeIfAbsent(marker.getName(), name -> new LongAdder()).increment();
+        return FilterReply.DENY;
+    }
+}
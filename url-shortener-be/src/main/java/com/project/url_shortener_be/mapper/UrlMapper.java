@@ -0,0 +1,28 @@
+package com.project.url_shortener_be.mapper;
+
+import com.project.url_shortener_be.dto.UrlResponse;
+import com.project.url_shortener_be.entity.Url;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UrlMapper {
+
+    @Value("${app.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    // Convert entity to DTO
+    public UrlResponse toResponse(Url url) {
+        UrlResponse response = new UrlResponse();
+        response.setId(url.getId());
+        response.setOriginalUrl(url.getOriginalUrl());
+        response.setShortCode(url.getShortCode());
+        response.setShortUrl(baseUrl + "/" + url.getShortCode());
+        response.setClickCount(url.getClickCount());
+        response.setIsActive(url.getIsActive());
+        response.setExpiresAt(url.getExpiresAt());
+        response.setCreatedAt(url.getCreatedAt());
+        response.setUpdatedAt(url.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.url_shortener_be.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Startup milestones for the redirect tier: how long the resolve cache warm-up
+ * took and how long after JVM start the first redirect was served. Spring Boot
+ * already reports application.started.time and application.ready.time; time to
+ * first redirect also covers lazy initialization done by the first request.
+ */
+@Component
+@Slf4j
+public class StartupMetrics {
+
+    private final AtomicBoolean firstRedirectSeen = new AtomicBoolean();
+    private volatile double firstRedirectSeconds = Double.NaN;
+    private volatile double warmupSeconds = Double.NaN;
+    private volatile int warmupCodes;
+
+    public StartupMetrics(UrlMetrics urlMetrics) {
+        urlMetrics.gauge("url.startup.first.redirect", "Seconds from JVM start to the first redirect served",
+                () -> firstRedirectSeconds);
+        urlMetrics.gauge("url.startup.warmup.duration", "Seconds spent warming the resolve cache before readiness",
+                () -> warmupSeconds);
+        urlMetrics.gauge("url.startup.warmup.codes", "Redirect targets preloaded by the cache warm-up",
+                () -> warmupCodes);
+    }
+
+    // Called on every redirect; only the first one does any work
+    public void redirectServed() {
+        if (!firstRedirectSeen.get() && firstRedirectSeen.compareAndSet(false, true)) {
+            long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+            firstRedirectSeconds = uptimeMillis / 1000.0;
+            log.info("First redirect served {} ms after JVM start", uptimeMillis);
+        }
+    }
+
+    public void warmupCompleted(int codes, Duration took) {
+        warmupCodes = codes;
+        warmupSeconds = took.toNanos() / 1e9;
+    }
+}
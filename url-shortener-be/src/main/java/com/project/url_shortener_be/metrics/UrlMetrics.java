@@ -0,0 +1,105 @@
+package com.project.url_shortener_be.metrics;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Instrumentation for the URL hot paths.
+ * Operations are recorded as Micrometer observations: each one becomes a timer
+ * (with histogram buckets, see application.properties) and a span once a
+ * tracing bridge is on the classpath. Database calls are observed as "url.db"
+ * inside the enclosing operation, so DB time can be compared with total time.
+ */
+@Component
+public class UrlMetrics {
+
+    public static final String RESOLVE = "url.resolve";
+    public static final String REDIRECT = "url.redirect";
+    public static final String CREATE = "url.create";
+    public static final String CODE_GENERATION = "url.codegen";
+    public static final String CLICK_FLUSH = "url.clicks.flush";
+    public static final String DATABASE = "url.db";
+
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Counter codeGenerationRetries;
+    private final Counter codeGenerationExhausted;
+
+    public UrlMetrics(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+        this.codeGenerationRetries = Counter.builder("url.codegen.retries")
+                .description("Inserts retried because a generated short code was already taken")
+                .register(meterRegistry);
+        this.codeGenerationExhausted = Counter.builder("url.codegen.exhausted")
+                .description("Creates that gave up after the maximum number of short code attempts")
+                .register(meterRegistry);
+    }
+
+    // Time an operation; key values must be low cardinality (never a short code or URL)
+    public <T> T observe(String name, Supplier<T> action, String... keyValues) {
+        return Observation.createNotStarted(name, observationRegistry)
+                .lowCardinalityKeyValues(KeyValues.of(keyValues))
+                .observe(action);
+    }
+
+    public void observe(String name, Runnable action, String... keyValues) {
+        Observation.createNotStarted(name, observationRegistry)
+                .lowCardinalityKeyValues(KeyValues.of(keyValues))
+                .observe(action);
+    }
+
+    // Time a reactive operation from subscription until it completes, fails or is cancelled
+    public <T> Mono<T> observe(String name, Mono<T> action, String... keyValues) {
+        return Mono.defer(() -> {
+            Observation observation = Observation.createNotStarted(name, observationRegistry)
+                    .lowCardinalityKeyValues(KeyValues.of(keyValues))
+                    .start();
+            return action.doOnError(observation::error).doFinally(signal -> observation.stop());
+        });
+    }
+
+    // Time one database round trip
+    public <T> T database(String query, Supplier<T> action) {
+        return observe(DATABASE, action, "query", query);
+    }
+
+    public void database(String query, Runnable action) {
+        observe(DATABASE, action, "query", query);
+    }
+
+    public <T> Mono<T> database(String query, Mono<T> action) {
+        return observe(DATABASE, action, "query", query);
+    }
+
+    public void codeGenerationRetry() {
+        codeGenerationRetries.increment();
+    }
+
+    public void codeGenerationExhausted() {
+        codeGenerationExhausted.increment();
+    }
+
+    // Count an error response by status and exception type
+    public void error(HttpStatusCode status, Exception exception) {
+        meterRegistry.counter("url.errors",
+                "status", String.valueOf(status.value()),
+                "exception", exception.getClass().getSimpleName()).increment();
+    }
+
+    public void gauge(String name, String description, Supplier<Number> value, String... tags) {
+        Gauge.builder(name, value)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
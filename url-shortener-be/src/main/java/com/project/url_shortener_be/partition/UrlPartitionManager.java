@@ -0,0 +1,157 @@
+package com.project.url_shortener_be.partition;
+
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the storage layout created by the scripts in db/partitioning.
+ * In range mode it keeps monthly partitions created ahead of time and drops past
+ * months once every URL in them has expired (or the retention has passed), which
+ * replaces row-by-row deletes with a single DROP TABLE. Hash partitions are fixed
+ * and need no upkeep; the layout is only checked against the configured mode.
+ */
+@Component
+@Slf4j
+public class UrlPartitionManager {
+
+    static final String MODE_NONE = "none";
+    static final String MODE_HASH = "hash";
+    static final String MODE_RANGE = "range";
+
+    private static final Map<String, String> STRATEGY_BY_MODE = Map.of(MODE_HASH, "h", MODE_RANGE, "r");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("urls_p\\d{6}");
+
+    private final UrlJdbcRepository urlJdbcRepository;
+    private final String mode;
+    private final int premadeMonths;
+    private final Duration retention;
+    private final long lockKey;
+
+    private final Counter partitionsCreated;
+    private final Counter partitionsDropped;
+    private final AtomicInteger partitionCount = new AtomicInteger();
+
+    public UrlPartitionManager(UrlJdbcRepository urlJdbcRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.partitioning.mode:none}") String mode,
+                               @Value("${app.partitioning.premade-months:3}") int premadeMonths,
+                               @Value("${app.partitioning.retention:0s}") Duration retention,
+                               @Value("${app.partitioning.lock-key:727101}") long lockKey) {
+        if (!MODE_NONE.equals(mode) && !STRATEGY_BY_MODE.containsKey(mode)) {
+            throw new IllegalStateException("app.partitioning.mode must be none, hash or range, was " + mode);
+        }
+        this.urlJdbcRepository = urlJdbcRepository;
+        this.mode = mode;
+        this.premadeMonths = premadeMonths;
+        this.retention = retention;
+        this.lockKey = lockKey;
+
+        this.partitionsCreated = Counter.builder("url.partitions.created")
+                .description("Monthly urls partitions created ahead of time")
+                .register(meterRegistry);
+        this.partitionsDropped = Counter.builder("url.partitions.dropped")
+                .description("Monthly urls partitions dropped after their URLs expired")
+                .register(meterRegistry);
+        Gauge.builder("url.partitions.current", partitionCount, AtomicInteger::get)
+                .description("Partitions of the urls table")
+                .register(meterRegistry);
+    }
+
+    // Catch a mode that does not match the table before the first write lands in the wrong place
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkLayout() {
+        if (MODE_NONE.equals(mode)) {
+            return;
+        }
+
+        String strategy = urlJdbcRepository.getPartitionStrategy();
+        if (!STRATEGY_BY_MODE.get(mode).equals(strategy)) {
+            throw new IllegalStateException("app.partitioning.mode=" + mode + " but the urls table is "
+                    + (strategy == null ? "not partitioned" : "partitioned with strategy '" + strategy + "'")
+                    + "; run the matching script from db/partitioning first");
+        }
+
+        List<String> partitions = urlJdbcRepository.listPartitions();
+        partitionCount.set(partitions.size());
+        log.info("urls table is {}-partitioned into {} partitions", mode, partitions.size());
+        if (MODE_RANGE.equals(mode)) {
+            maintain();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.partitioning.interval-ms:3600000}",
+               fixedDelayString = "${app.partitioning.interval-ms:3600000}")
+    public void scheduledMaintenance() {
+        if (MODE_RANGE.equals(mode)) {
+            maintain();
+        }
+    }
+
+    // Create upcoming months and drop expired ones; returns false if another node holds the lock
+    public boolean maintain() {
+        return urlJdbcRepository.runWithAdvisoryLock(lockKey, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            createUpcomingPartitions(YearMonth.from(now));
+            dropExpiredPartitions(now);
+            partitionCount.set(urlJdbcRepository.listPartitions().size());
+        });
+    }
+
+    private void createUpcomingPartitions(YearMonth current) {
+        List<String> existing = urlJdbcRepository.listPartitions();
+        for (int i = 0; i <= premadeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            String partition = partitionName(month);
+            if (!existing.contains(partition)) {
+                urlJdbcRepository.createRangePartition(partition, month.atDay(1), month.plusMonths(1).atDay(1));
+                partitionsCreated.increment();
+                log.info("Created urls partition {}", partition);
+            }
+        }
+    }
+
+    // Only closed months are considered, so no new row can arrive in a partition being dropped.
+    // Cached entries for the dropped codes are left to expire; they already point past their expiry.
+    private void dropExpiredPartitions(LocalDateTime now) {
+        for (String partition : urlJdbcRepository.listPartitions()) {
+            if (!MONTHLY_PARTITION.matcher(partition).matches()) {
+                continue;
+            }
+
+            LocalDateTime upperBound = YearMonth.parse(partition.substring("urls_p".length()), MONTH_FORMAT)
+                    .plusMonths(1).atDay(1).atStartOfDay();
+            if (upperBound.isAfter(now)) {
+                continue;
+            }
+
+            boolean pastRetention = !retention.isZero() && !upperBound.plus(retention).isAfter(now);
+            if (pastRetention || urlJdbcRepository.isPartitionExpired(partition, now)) {
+                urlJdbcRepository.dropRangePartition(partition);
+                partitionsDropped.increment();
+                log.info("Dropped urls partition {} ({})", partition, pastRetention ? "past retention" : "all URLs expired");
+            }
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return "urls_p" + month.format(MONTH_FORMAT);
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.url_shortener_be.ratelimit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// What identifies a client for rate limiting
+@Getter
+@RequiredArgsConstructor
+public enum ClientKeySource {
+    // Remote address (the client address when server.forward-headers-strategy is set behind a proxy)
+    IP("ip"),
+    // API key header, falling back to the remote address; only safe when a gateway verifies the key
+    API_KEY("api-key");
+
+    private final String value;
+
+    public static ClientKeySource fromValue(String value) {
+        for (ClientKeySource source : values()) {
+            if (source.value.equalsIgnoreCase(value)) {
+                return source;
+            }
+        }
+        throw new IllegalArgumentException("app.rate-limit.client-key must be ip or api-key, was " + value);
+    }
+}
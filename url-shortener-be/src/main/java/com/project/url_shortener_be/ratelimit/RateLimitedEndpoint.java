@@ -0,0 +1,33 @@
+package com.project.url_shortener_be.ratelimit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Endpoints with their own rate limit; everything else (redirects included) is never limited
+@Getter
+@RequiredArgsConstructor
+public enum RateLimitedEndpoint {
+    CREATE("create"),
+    BULK("bulk"),
+    GENERATE("generate");
+
+    private static final String URLS_PATH = "/api/v1/urls";
+
+    private final String value;
+
+    // Plain string comparisons, so requests that are not limited pay next to nothing
+    public static RateLimitedEndpoint match(String method, String path) {
+        if (!path.startsWith(URLS_PATH)) {
+            return null;
+        }
+        String rest = path.substring(URLS_PATH.length());
+        if ("POST".equals(method)) {
+            return switch (rest) {
+                case "", "/", "/custom" -> CREATE;
+                case "/bulk" -> BULK;
+                default -> null;
+            };
+        }
+        return "GET".equals(method) && "/generate-code".equals(rest) ? GENERATE : null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.project.url_shortener_be.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+// Reactive-mode counterpart of RateLimitFilter with the same limits and responses
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    private final RequestRateLimiter requestRateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!requestRateLimiter.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        RateLimitedEndpoint endpoint = RateLimitedEndpoint.match(request.getMethod().name(),
+                request.getPath().pathWithinApplication().value());
+        if (endpoint == null) {
+            return chain.filter(exchange);
+        }
+
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        long retryAfterSeconds = requestRateLimiter.acquire(endpoint,
+                request.getHeaders().getFirst(requestRateLimiter.getApiKeyHeader()),
+                remoteAddress != null ? remoteAddress.getAddress().getHostAddress() : null);
+        if (retryAfterSeconds == 0) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            DataBuffer body = response.bufferFactory().wrap(
+                    objectMapper.writeValueAsBytes(RequestRateLimiter.tooManyRequests(endpoint, retryAfterSeconds)));
+            return response.writeWith(Mono.just(body));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.project.url_shortener_be.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.project.url_shortener_be.exception.ErrorResponse;
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client limits on the create, bulk and generate-code endpoints, applied by
+ * RateLimitFilter (servlet mode) and ReactiveRateLimitFilter (reactive mode)
+ * before the request body is read. Each endpoint has its own TokenBucketLimiter,
+ * keyed by remote address or API key; a rate of 0 leaves an endpoint unlimited.
+ */
+@Component
+@Slf4j
+public class RequestRateLimiter {
+
+    private static final int MAX_API_KEY_LENGTH = 128;
+
+    private final boolean enabled;
+    private final ClientKeySource clientKeySource;
+    @Getter
+    private final String apiKeyHeader;
+    private final Map<RateLimitedEndpoint, TokenBucketLimiter> limiters = new EnumMap<>(RateLimitedEndpoint.class);
+    private final Map<RateLimitedEndpoint, Counter> allowed = new EnumMap<>(RateLimitedEndpoint.class);
+    private final Map<RateLimitedEndpoint, Counter> rejected = new EnumMap<>(RateLimitedEndpoint.class);
+
+    public RequestRateLimiter(UrlMetrics urlMetrics,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                              @Value("${app.rate-limit.client-key:ip}") String clientKey,
+                              @Value("${app.rate-limit.api-key-header:X-API-Key}") String apiKeyHeader,
+                              @Value("${app.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                              @Value("${app.rate-limit.max-clients:100000}") long maxClients,
+                              @Value("${app.rate-limit.create.requests-per-second:10}") double createRate,
+                              @Value("${app.rate-limit.create.burst:20}") int createBurst,
+                              @Value("${app.rate-limit.bulk.requests-per-second:0.2}") double bulkRate,
+                              @Value("${app.rate-limit.bulk.burst:2}") int bulkBurst,
+                              @Value("${app.rate-limit.generate.requests-per-second:5}") double generateRate,
+                              @Value("${app.rate-limit.generate.burst:10}") int generateBurst) {
+        this.enabled = enabled;
+        this.clientKeySource = ClientKeySource.fromValue(clientKey);
+        this.apiKeyHeader = apiKeyHeader;
+
+        limit(RateLimitedEndpoint.CREATE, createRate, createBurst, idleTimeout, maxClients, urlMetrics);
+        limit(RateLimitedEndpoint.BULK, bulkRate, bulkBurst, idleTimeout, maxClients, urlMetrics);
+        limit(RateLimitedEndpoint.GENERATE, generateRate, generateBurst, idleTimeout, maxClients, urlMetrics);
+        for (RateLimitedEndpoint endpoint : RateLimitedEndpoint.values()) {
+            allowed.put(endpoint, counter(meterRegistry, endpoint, "allowed"));
+            rejected.put(endpoint, counter(meterRegistry, endpoint, "rejected"));
+        }
+    }
+
+    // 0 if the request may proceed, otherwise the whole seconds to send in Retry-After
+    public long acquire(RateLimitedEndpoint endpoint, String apiKey, String remoteAddress) {
+        TokenBucketLimiter limiter = limiters.get(endpoint);
+        if (limiter == null) {
+            return 0;
+        }
+
+        long waitNanos = limiter.tryAcquire(clientKey(apiKey, remoteAddress));
+        if (waitNanos == 0) {
+            allowed.get(endpoint).increment();
+            return 0;
+        }
+        rejected.get(endpoint).increment();
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    // Body of a 429 response, the same shape as every other error response
+    static ErrorResponse tooManyRequests(RateLimitedEndpoint endpoint, long retryAfterSeconds) {
+        return new ErrorResponse(LocalDateTime.now(), HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests",
+                "Rate limit exceeded for " + endpoint.getValue() + " requests; retry in " + retryAfterSeconds + "s",
+                null);
+    }
+
+    public boolean isEnabled() {
+        return enabled && !limiters.isEmpty();
+    }
+
+    private String clientKey(String apiKey, String remoteAddress) {
+        if (clientKeySource == ClientKeySource.API_KEY && apiKey != null && !apiKey.isBlank()) {
+            // Bounded so oversized headers cannot inflate the bucket map
+            return "key:" + (apiKey.length() > MAX_API_KEY_LENGTH ? apiKey.substring(0, MAX_API_KEY_LENGTH) : apiKey);
+        }
+        return remoteAddress != null ? remoteAddress : "unknown";
+    }
+
+    private void limit(RateLimitedEndpoint endpoint, double requestsPerSecond, int burst, Duration idleTimeout,
+                       long maxClients, UrlMetrics urlMetrics) {
+        if (!enabled || requestsPerSecond <= 0) {
+            return;
+        }
+        TokenBucketLimiter limiter = new TokenBucketLimiter(requestsPerSecond, burst, idleTimeout, maxClients,
+                Ticker.systemTicker());
+        limiters.put(endpoint, limiter);
+        urlMetrics.gauge("url.ratelimit.clients", "Clients with a live rate limit bucket",
+                limiter::trackedKeys, "endpoint", endpoint.getValue());
+        log.info("Rate limiting {} to {}/s (burst {}) per {}", endpoint.getValue(), requestsPerSecond, burst,
+                clientKeySource.getValue());
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, RateLimitedEndpoint endpoint, String outcome) {
+        return Counter.builder("url.ratelimit.requests")
+                .description("Requests checked against a rate limit")
+                .tag("endpoint", endpoint.getValue())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.url_shortener_be.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-key token bucket in its GCRA form: the whole state of a bucket is one
+ * "theoretical arrival time", so a permit is a single CAS on an AtomicLong with
+ * no lock and no refill bookkeeping. Up to burst requests pass back to back;
+ * after that one passes every 1 / permitsPerSecond.
+ * Buckets live in a size-bounded Caffeine cache and expire once idle for
+ * longer than it takes them to refill, so an expired bucket is a full one.
+ */
+public class TokenBucketLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketLimiter(double permitsPerSecond, int burst, Duration idleTimeout, long maxKeys, Ticker ticker) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limits need permitsPerSecond > 0 and burst >= 1");
+        }
+        this.emissionIntervalNanos = (long) Math.ceil(1_000_000_000d / permitsPerSecond);
+        this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.ticker = ticker;
+
+        long refillNanos = emissionIntervalNanos * burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(Math.max(idleTimeout.toNanos(), refillNanos)))
+                .ticker(ticker)
+                .build();
+    }
+
+    // 0 if the request may proceed, otherwise the nanoseconds until it would be allowed
+    public long tryAcquire(String key) {
+        long now = ticker.read();
+        AtomicLong arrival = buckets.getIfPresent(key);
+        if (arrival == null) {
+            arrival = buckets.get(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long current = arrival.get();
+            long start = Math.max(current, now);
+            long wait = start - toleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Expired buckets are otherwise only removed lazily
+    public long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
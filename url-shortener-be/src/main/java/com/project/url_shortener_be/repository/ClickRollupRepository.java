@@ -0,0 +1,71 @@
+package com.project.url_shortener_be.repository;
+
+import com.project.url_shortener_be.click.ClickRollupKey;
+import com.project.url_shortener_be.dto.RollupGranularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+// Time-bucketed click rollups written by ClickAnalyticsPipeline
+@Repository
+@RequiredArgsConstructor
+public class ClickRollupRepository {
+
+    // Postgres upsert: concurrent writers for the same bucket add up instead of overwriting
+    private static final String UPSERT_ROLLUP_SQL =
+            "INSERT INTO url_click_rollups (short_code, granularity, bucket_start, referrer, agent_class, clicks) "
+                    + "VALUES (?, ?, ?, ?, ?, ?) "
+                    + "ON CONFLICT (short_code, granularity, bucket_start, referrer, agent_class) "
+                    + "DO UPDATE SET clicks = url_click_rollups.clicks + EXCLUDED.clicks";
+
+    private static final String FIND_ROLLUPS_SQL =
+            "SELECT bucket_start, referrer, agent_class, clicks FROM url_click_rollups "
+                    + "WHERE short_code = ? AND granularity = ? AND bucket_start >= ? AND bucket_start < ? "
+                    + "ORDER BY bucket_start";
+
+    private static final String DELETE_ROLLUPS_BEFORE_SQL =
+            "DELETE FROM url_click_rollups WHERE granularity = ? AND bucket_start < ?";
+
+    private static final String FIND_TOP_SHORT_CODES_SQL =
+            "SELECT short_code FROM url_click_rollups WHERE granularity = ? AND bucket_start >= ? "
+                    + "GROUP BY short_code ORDER BY SUM(clicks) DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Add the clicks to their buckets, in key order
+    public void addClicks(SortedMap<ClickRollupKey, Long> clicks, int batchSize) {
+        jdbcTemplate.batchUpdate(UPSERT_ROLLUP_SQL, new ArrayList<>(clicks.entrySet()), batchSize,
+                (ps, entry) -> {
+                    ClickRollupKey key = entry.getKey();
+                    ps.setString(1, key.shortCode());
+                    ps.setString(2, key.granularity().getCode());
+                    ps.setTimestamp(3, Timestamp.valueOf(key.bucketStart()));
+                    ps.setString(4, key.referrer());
+                    ps.setString(5, key.agentClass());
+                    ps.setLong(6, entry.getValue());
+                });
+    }
+
+    public void findRollups(String shortCode, RollupGranularity granularity, LocalDateTime from, LocalDateTime to,
+                            RowCallbackHandler handler) {
+        jdbcTemplate.query(FIND_ROLLUPS_SQL, handler, shortCode, granularity.getCode(),
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    // Codes with the most clicks in buckets starting at or after since
+    public List<String> findTopShortCodes(RollupGranularity granularity, LocalDateTime since, int limit) {
+        return jdbcTemplate.queryForList(FIND_TOP_SHORT_CODES_SQL, String.class, granularity.getCode(),
+                Timestamp.valueOf(since), limit);
+    }
+
+    public int deleteRollupsBefore(RollupGranularity granularity, LocalDateTime before) {
+        return jdbcTemplate.update(DELETE_ROLLUPS_BEFORE_SQL, granularity.getCode(), Timestamp.valueOf(before));
+    }
+}
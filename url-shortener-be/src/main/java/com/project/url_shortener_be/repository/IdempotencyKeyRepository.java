@@ -0,0 +1,70 @@
+package com.project.url_shortener_be.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Idempotency-Key claims and the responses stored for them, shared by all nodes
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+    private static final String CLAIM_SQL =
+            "INSERT INTO idempotency_keys (idempotency_key, fingerprint, response, created_at) VALUES (?, ?, NULL, ?)";
+
+    private static final String FIND_SQL =
+            "SELECT fingerprint, response, created_at FROM idempotency_keys WHERE idempotency_key = ?";
+
+    private static final String COMPLETE_SQL = "UPDATE idempotency_keys SET response = ? WHERE idempotency_key = ?";
+
+    private static final String RELEASE_SQL =
+            "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND response IS NULL";
+
+    private static final String DELETE_CLAIM_SQL =
+            "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND created_at = ?";
+
+    private static final String DELETE_CREATED_BEFORE_SQL = "DELETE FROM idempotency_keys WHERE created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Stored claim; response is null while its request is still running
+    public record StoredKey(String fingerprint, String response, LocalDateTime createdAt) {
+    }
+
+    // False when another request holds the key
+    public boolean claim(String key, String fingerprint, LocalDateTime now) {
+        try {
+            return jdbcTemplate.update(CLAIM_SQL, key, fingerprint, Timestamp.valueOf(now)) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public Optional<StoredKey> find(String key) {
+        return jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new StoredKey(rs.getString("fingerprint"),
+                rs.getString("response"), rs.getTimestamp("created_at").toLocalDateTime()), key).stream().findFirst();
+    }
+
+    public void complete(String key, String response) {
+        jdbcTemplate.update(COMPLETE_SQL, response, key);
+    }
+
+    // Drop an unfinished claim so the next retry runs again
+    public void release(String key) {
+        jdbcTemplate.update(RELEASE_SQL, key);
+    }
+
+    // Drop the claim only if it is still the one that was read, so a fresh claim is never lost
+    public boolean deleteClaim(String key, LocalDateTime createdAt) {
+        return jdbcTemplate.update(DELETE_CLAIM_SQL, key, Timestamp.valueOf(createdAt)) == 1;
+    }
+
+    public int deleteCreatedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update(DELETE_CREATED_BEFORE_SQL, Timestamp.valueOf(cutoff));
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.url_shortener_be.repository;
+
+import com.project.url_shortener_be.dto.RedirectTarget;
+import com.project.url_shortener_be.entity.Url;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+// Non-blocking access to the urls table for the reactive serving mode
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveUrlRepository {
+
+    private static final String FIND_BY_SHORT_CODE_SQL =
+            "SELECT id, original_url, short_code, click_count, is_active, expires_at, created_at, updated_at "
+                    + "FROM urls WHERE short_code = :shortCode";
+
+    private static final String FIND_REDIRECT_TARGET_SQL =
+            "SELECT original_url, is_active, expires_at FROM urls WHERE short_code = :shortCode";
+
+    private static final String EXISTS_BY_SHORT_CODE_SQL = "SELECT 1 FROM urls WHERE short_code = :shortCode";
+
+    // IDs come from the same sequence Hibernate uses; a single nextval is a block of its own,
+    // so it never overlaps the ranges Hibernate's pooled optimizer hands out
+    private static final String INSERT_SQL =
+            "INSERT INTO urls (id, original_url, short_code, click_count, is_active, expires_at, created_at, updated_at) "
+                    + "VALUES (nextval('url_id_seq'), :originalUrl, :shortCode, 0, true, :expiresAt, :now, :now) "
+                    + "RETURNING id";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Url> findByShortCode(String shortCode) {
+        return databaseClient.sql(FIND_BY_SHORT_CODE_SQL)
+                .bind("shortCode", shortCode)
+                .map(ReactiveUrlRepository::toUrl)
+                .one();
+    }
+
+    public Mono<RedirectTarget> findRedirectTargetByShortCode(String shortCode) {
+        return databaseClient.sql(FIND_REDIRECT_TARGET_SQL)
+                .bind("shortCode", shortCode)
+                .map(row -> new RedirectTarget(row.get("original_url", String.class),
+                        row.get("is_active", Boolean.class), row.get("expires_at", LocalDateTime.class)))
+                .one();
+    }
+
+    public Mono<Boolean> existsByShortCode(String shortCode) {
+        return databaseClient.sql(EXISTS_BY_SHORT_CODE_SQL)
+                .bind("shortCode", shortCode)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    // Insert a new URL and fill in the generated ID and timestamps
+    public Mono<Url> insert(Url url) {
+        LocalDateTime now = LocalDateTime.now();
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT_SQL)
+                .bind("originalUrl", url.getOriginalUrl())
+                .bind("shortCode", url.getShortCode())
+                .bind("now", now);
+        spec = url.getExpiresAt() != null
+                ? spec.bind("expiresAt", url.getExpiresAt())
+                : spec.bindNull("expiresAt", LocalDateTime.class);
+
+        return spec.map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    url.setId(id);
+                    url.setClickCount(0L);
+                    url.setIsActive(true);
+                    url.setCreatedAt(now);
+                    url.setUpdatedAt(now);
+                    return url;
+                });
+    }
+
+    private static Url toUrl(Readable row) {
+        Url url = new Url(row.get("original_url", String.class), row.get("short_code", String.class));
+        url.setId(row.get("id", Long.class));
+        url.setClickCount(row.get("click_count", Long.class));
+        url.setIsActive(row.get("is_active", Boolean.class));
+        url.setExpiresAt(row.get("expires_at", LocalDateTime.class));
+        url.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        url.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return url;
+    }
+}
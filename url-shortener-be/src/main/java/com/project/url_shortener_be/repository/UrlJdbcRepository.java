@@ -0,0 +1,378 @@
+package com.project.url_shortener_be.repository;
+
+import com.project.url_shortener_be.dto.RedirectTarget;
+import com.project.url_shortener_be.entity.Url;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// Plain JDBC access for set-based statements that JPA cannot batch
+@Repository
+@RequiredArgsConstructor
+public class UrlJdbcRepository {
+
+    private static final String INCREMENT_CLICK_COUNT_SQL =
+            "UPDATE urls SET click_count = click_count + ? WHERE short_code = ?";
+
+    private static final String LEASE_SHORT_CODE_BLOCK_SQL = "SELECT nextval('short_code_seq')";
+
+    private static final String SHORT_CODE_SEQUENCE_INCREMENT_SQL =
+            "SELECT CAST(increment AS BIGINT) FROM information_schema.sequences "
+                    + "WHERE LOWER(sequence_name) = 'short_code_seq'";
+
+    private static final String STREAM_ACTIVE_URLS_SQL =
+            "SELECT id, original_url, short_code, click_count, is_active, expires_at, created_at, updated_at "
+                    + "FROM urls WHERE is_active ORDER BY id";
+
+    // Byte order ("C" collation, Postgres only) so the snapshot can be binary searched
+    private static final String STREAM_ACTIVE_REDIRECT_TARGETS_SQL =
+            "SELECT short_code, original_url, is_active, expires_at FROM urls WHERE is_active "
+                    + "ORDER BY short_code COLLATE \"C\"";
+
+    private static final String STREAM_CHANGED_REDIRECT_TARGETS_SQL =
+            "SELECT short_code, original_url, is_active, expires_at FROM urls WHERE updated_at >= ?";
+
+    private static final String STREAM_SHORT_CODES_SQL = "SELECT short_code FROM urls";
+
+    private static final String INSERT_DELETION_SQL = "INSERT INTO url_deletions (short_code, deleted_at) VALUES (?, ?)";
+
+    private static final String FIND_DELETED_SINCE_SQL =
+            "SELECT DISTINCT short_code FROM url_deletions WHERE deleted_at >= ?";
+
+    private static final String DELETE_DELETIONS_BEFORE_SQL = "DELETE FROM url_deletions WHERE deleted_at < ?";
+
+    private static final String STREAM_CHANGED_SHORT_CODES_SQL = "SELECT short_code FROM urls WHERE updated_at >= ?";
+
+    // SKIP LOCKED lets the chunk proceed past rows a user is updating right now
+    private static final String DEACTIVATE_EXPIRED_CHUNK_SQL =
+            "UPDATE urls SET is_active = false, updated_at = ? WHERE id IN ("
+                    + "SELECT id FROM urls WHERE is_active AND expires_at < ? "
+                    + "ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED) "
+                    + "RETURNING short_code";
+
+    private static final String COUNT_EXPIRED_ACTIVE_SQL =
+            "SELECT COUNT(*) FROM urls WHERE is_active AND expires_at < ?";
+
+    // Inactive rows last changed before the cutoff (idx_urls_updated_at) and active rows that
+    // expired before it (idx_urls_active_expires_at)
+    private static final String ARCHIVABLE_WHERE =
+            " FROM urls WHERE (NOT is_active AND updated_at < ?) OR (is_active AND expires_at < ?)";
+
+    private static final String FIND_ARCHIVABLE_SQL =
+            "SELECT id, original_url, original_url_hash, short_code, click_count, is_active, expires_at, "
+                    + "created_at, updated_at" + ARCHIVABLE_WHERE + " LIMIT ?";
+
+    private static final String COUNT_ARCHIVABLE_SQL = "SELECT COUNT(*)" + ARCHIVABLE_WHERE;
+
+    // Rows changed since they were archived stay in the table
+    private static final String DELETE_ARCHIVED_SQL =
+            "DELETE FROM urls WHERE id = ? AND updated_at IS NOT DISTINCT FROM ?";
+
+    private static final String INSERT_RESTORED_SQL =
+            "INSERT INTO urls (id, original_url, original_url_hash, short_code, click_count, is_active, expires_at, "
+                    + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 'h' (hash) or 'r' (range) when urls is partitioned, no row otherwise
+    private static final String PARTITION_STRATEGY_SQL =
+            "SELECT CAST(p.partstrat AS TEXT) FROM pg_partitioned_table p "
+                    + "JOIN pg_class c ON c.oid = p.partrelid WHERE c.relname = 'urls' AND pg_table_is_visible(c.oid)";
+
+    private static final String ORIGINAL_URL_HASH_INDEX_SQL =
+            "SELECT i.indisunique FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid "
+                    + "WHERE c.relname = 'idx_urls_original_url_hash' AND pg_table_is_visible(c.oid) AND i.indisvalid";
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                    + "WHERE i.inhparent = CAST('urls' AS regclass) ORDER BY c.relname";
+
+    // Active, unexpired codes with the most clicks, for cache warm-up; a full scan and sort
+    private static final String FIND_TOP_SHORT_CODES_SQL =
+            "SELECT short_code FROM urls WHERE is_active AND (expires_at IS NULL OR expires_at > ?) "
+                    + "ORDER BY click_count DESC LIMIT ?";
+
+    private static final String FIND_REDIRECT_TARGETS_SQL =
+            "SELECT short_code, original_url, is_active, expires_at FROM urls WHERE short_code IN (%s)";
+
+    private static final RowMapper<RedirectTarget> REDIRECT_TARGET_ROW_MAPPER = (rs, rowNum) ->
+            new RedirectTarget(rs.getString("original_url"), rs.getBoolean("is_active"),
+                    toLocalDateTime(rs.getTimestamp("expires_at")));
+
+    private static final RowMapper<Url> URL_ROW_MAPPER = (rs, rowNum) -> {
+        Url url = new Url(rs.getString("original_url"), rs.getString("short_code"));
+        url.setId(rs.getLong("id"));
+        url.setClickCount(rs.getLong("click_count"));
+        url.setIsActive(rs.getBoolean("is_active"));
+        url.setExpiresAt(toLocalDateTime(rs.getTimestamp("expires_at")));
+        url.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        url.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        return url;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int exportFetchSize;
+
+    // Add buffered click deltas in one batched statement; callers pass codes in a
+    // stable order so concurrent flushes lock rows consistently
+    @Transactional
+    public void incrementClickCounts(Map<String, Long> deltas, int batchSize) {
+        jdbcTemplate.batchUpdate(INCREMENT_CLICK_COUNT_SQL, new ArrayList<>(deltas.entrySet()), batchSize,
+                (ps, delta) -> {
+                    ps.setLong(1, delta.getValue());
+                    ps.setString(2, delta.getKey());
+                });
+    }
+
+    // Start of the next block of short code IDs; the block spans one sequence increment
+    public long leaseShortCodeBlock() {
+        Long blockStart = jdbcTemplate.queryForObject(LEASE_SHORT_CODE_BLOCK_SQL, Long.class);
+        if (blockStart == null) {
+            throw new IllegalStateException("short_code_seq returned no value");
+        }
+        return blockStart;
+    }
+
+    // Increment of the short code sequence, or null if it cannot be read
+    public Long getShortCodeSequenceIncrement() {
+        List<Long> increments = jdbcTemplate.queryForList(SHORT_CODE_SEQUENCE_INCREMENT_SQL, Long.class);
+        return increments.isEmpty() ? null : increments.get(0);
+    }
+
+    // Stream all active URLs through a forward-only cursor; rows are handed over one
+    // at a time and never collected. Postgres only uses a cursor inside a transaction.
+    @Transactional(readOnly = true)
+    public void streamActiveUrls(Consumer<Url> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(STREAM_ACTIVE_URLS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportFetchSize);
+            return statement;
+        }, rs -> {
+            consumer.accept(URL_ROW_MAPPER.mapRow(rs, rs.getRow()));
+        });
+    }
+
+    // Stream redirect targets, of all active URLs in short code byte order or of every row
+    // changed since the given time; returns the number of rows streamed
+    @Transactional(readOnly = true)
+    public long streamRedirectTargets(LocalDateTime changedSince, BiConsumer<String, RedirectTarget> consumer) {
+        long[] count = new long[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    changedSince == null ? STREAM_ACTIVE_REDIRECT_TARGETS_SQL : STREAM_CHANGED_REDIRECT_TARGETS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportFetchSize);
+            if (changedSince != null) {
+                statement.setTimestamp(1, Timestamp.valueOf(changedSince));
+            }
+            return statement;
+        }, rs -> {
+            consumer.accept(rs.getString("short_code"), REDIRECT_TARGET_ROW_MAPPER.mapRow(rs, rs.getRow()));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    // Stream short codes, all of them or only those of rows changed since the given time;
+    // returns the number of codes streamed
+    @Transactional(readOnly = true)
+    public long streamShortCodes(LocalDateTime changedSince, Consumer<String> consumer) {
+        long[] count = new long[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    changedSince == null ? STREAM_SHORT_CODES_SQL : STREAM_CHANGED_SHORT_CODES_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportFetchSize);
+            if (changedSince != null) {
+                statement.setTimestamp(1, Timestamp.valueOf(changedSince));
+            }
+            return statement;
+        }, rs -> {
+            consumer.accept(rs.getString(1));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    // Deactivate up to limit expired URLs in one statement; returns their short codes
+    public List<String> deactivateExpiredChunk(LocalDateTime now, int limit) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.queryForList(DEACTIVATE_EXPIRED_CHUNK_SQL, String.class, timestamp, timestamp, limit);
+    }
+
+    public List<String> findTopShortCodesByClicks(LocalDateTime now, int limit) {
+        return jdbcTemplate.queryForList(FIND_TOP_SHORT_CODES_SQL, String.class, Timestamp.valueOf(now), limit);
+    }
+
+    // Record a short code that stopped resolving; joins the caller's transaction, so the
+    // deletion becomes visible together with the row change
+    public void recordDeletion(String shortCode, LocalDateTime deletedAt) {
+        jdbcTemplate.update(INSERT_DELETION_SQL, shortCode, Timestamp.valueOf(deletedAt));
+    }
+
+    public List<String> findDeletedSince(LocalDateTime since) {
+        return jdbcTemplate.queryForList(FIND_DELETED_SINCE_SQL, String.class, Timestamp.valueOf(since));
+    }
+
+    public int deleteDeletionsBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update(DELETE_DELETIONS_BEFORE_SQL, Timestamp.valueOf(cutoff));
+    }
+
+    // Redirect targets of the given codes in one query; unknown codes are left out
+    public Map<String, RedirectTarget> findRedirectTargets(List<String> shortCodes) {
+        Map<String, RedirectTarget> targets = new HashMap<>(shortCodes.size() * 2);
+        if (shortCodes.isEmpty()) {
+            return targets;
+        }
+        String placeholders = String.join(",", Collections.nCopies(shortCodes.size(), "?"));
+        jdbcTemplate.query(String.format(FIND_REDIRECT_TARGETS_SQL, placeholders),
+                rs -> {
+                    targets.put(rs.getString("short_code"), REDIRECT_TARGET_ROW_MAPPER.mapRow(rs, rs.getRow()));
+                },
+                shortCodes.toArray());
+        return targets;
+    }
+
+    public long countExpiredActive(LocalDateTime now) {
+        Long count = jdbcTemplate.queryForObject(COUNT_EXPIRED_ACTIVE_SQL, Long.class, Timestamp.valueOf(now));
+        return count != null ? count : 0L;
+    }
+
+    // Up to limit rows that have been inactive, or expired, since before the cutoff
+    public List<Url> findArchivable(LocalDateTime cutoff, int limit) {
+        Timestamp timestamp = Timestamp.valueOf(cutoff);
+        return jdbcTemplate.query(FIND_ARCHIVABLE_SQL, (rs, rowNum) -> {
+            Url url = URL_ROW_MAPPER.mapRow(rs, rowNum);
+            url.setOriginalUrlHash(rs.getBytes("original_url_hash"));
+            return url;
+        }, timestamp, timestamp, limit);
+    }
+
+    public long countArchivable(LocalDateTime cutoff) {
+        Timestamp timestamp = Timestamp.valueOf(cutoff);
+        Long count = jdbcTemplate.queryForObject(COUNT_ARCHIVABLE_SQL, Long.class, timestamp, timestamp);
+        return count != null ? count : 0L;
+    }
+
+    // Delete archived rows in one batch; returns the short codes actually deleted
+    @Transactional
+    public List<String> deleteArchived(List<Url> urls) {
+        int[] deleted = jdbcTemplate.batchUpdate(DELETE_ARCHIVED_SQL, urls, urls.size(), (ps, url) -> {
+            ps.setLong(1, url.getId());
+            ps.setTimestamp(2, toTimestamp(url.getUpdatedAt()));
+        })[0];
+        List<String> shortCodes = new ArrayList<>(urls.size());
+        for (int i = 0; i < deleted.length; i++) {
+            if (deleted[i] > 0) {
+                shortCodes.add(urls.get(i).getShortCode());
+            }
+        }
+        return shortCodes;
+    }
+
+    // Put an archived row back under its original ID
+    public void insertRestored(Url url) {
+        jdbcTemplate.update(INSERT_RESTORED_SQL, url.getId(), url.getOriginalUrl(), url.getOriginalUrlHash(),
+                url.getShortCode(), url.getClickCount(), url.getIsActive(), toTimestamp(url.getExpiresAt()),
+                toTimestamp(url.getCreatedAt()), toTimestamp(url.getUpdatedAt()));
+    }
+
+    // Partitioning strategy of the urls table, or null if it is a plain table
+    public String getPartitionStrategy() {
+        List<String> strategies = jdbcTemplate.queryForList(PARTITION_STRATEGY_SQL, String.class);
+        return strategies.isEmpty() ? null : strategies.get(0);
+    }
+
+    public List<String> listPartitions() {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class);
+    }
+
+    // DDL cannot take bind parameters; callers only pass names and dates they built themselves
+    public void createRangePartition(String partition, LocalDate from, LocalDate to) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF urls "
+                + "FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    // True if no row in the partition can still be redirected to; uses the expires_at index
+    public boolean isPartitionExpired(String partition, LocalDateTime now) {
+        Boolean expired = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM " + partition
+                + " WHERE expires_at IS NULL OR expires_at > ?)", Boolean.class, Timestamp.valueOf(now));
+        return Boolean.TRUE.equals(expired);
+    }
+
+    // Detach and drop a whole partition; the claims of its short codes are released in the
+    // same transaction so the codes can be reused
+    @Transactional
+    public void dropRangePartition(String partition) {
+        jdbcTemplate.execute("ALTER TABLE urls DETACH PARTITION " + partition);
+        jdbcTemplate.update("DELETE FROM url_short_codes c USING " + partition + " p WHERE c.short_code = p.short_code");
+        jdbcTemplate.execute("DROP TABLE " + partition);
+    }
+
+    // Run the task only while this node holds the Postgres session advisory lock for the key.
+    // The lock lives on a dedicated connection and is released when the task finishes.
+    public boolean runWithAdvisoryLock(long key, Runnable task) {
+        Boolean acquired = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(?)", key)) {
+                return false;
+            }
+            try {
+                task.run();
+            } finally {
+                advisoryLock(connection, "SELECT pg_advisory_unlock(?)", key);
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    // Whether the dedupe index is unique, or empty when it is missing or left invalid by a
+    // failed concurrent build
+    public Optional<Boolean> findOriginalUrlHashIndexUnique() {
+        return jdbcTemplate.queryForList(ORIGINAL_URL_HASH_INDEX_SQL, Boolean.class).stream().findFirst();
+    }
+
+    // Wait for the Postgres advisory lock for the key; it is released when the surrounding
+    // transaction ends
+    public void lockForTransaction(long key) {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", key);
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql, long key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, key);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+}
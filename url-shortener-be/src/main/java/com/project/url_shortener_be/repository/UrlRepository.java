@@ -1,14 +1,17 @@
 package com.project.url_shortener_be.repository;
 
+import com.project.url_shortener_be.dto.RedirectTarget;
 import com.project.url_shortener_be.entity.Url;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UrlRepository extends JpaRepository<Url, Long> {
@@ -19,16 +22,21 @@ public interface UrlRepository extends JpaRepository<Url, Long> {
     // Find by short code and check if active
     Optional<Url> findByShortCodeAndIsActiveTrue(String shortCode);
     
-    // Find all active URLs
-    List<Url> findByIsActiveTrue();
+    // Find only the columns a redirect needs, without hydrating a managed entity
+    @Query("SELECT new com.project.url_shortener_be.dto.RedirectTarget(u.originalUrl, u.isActive, u.expiresAt) "
+            + "FROM Url u WHERE u.shortCode = :shortCode")
+    Optional<RedirectTarget> findRedirectTargetByShortCode(@Param("shortCode") String shortCode);
     
-    // Find expired URLs
-    @Query("SELECT u FROM Url u WHERE u.expiresAt IS NOT NULL AND u.expiresAt < :currentTime")
-    List<Url> findExpiredUrls(@Param("currentTime") LocalDateTime currentTime);
+    // Find the next page of active URLs after the given ID (keyset pagination)
+    List<Url> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
     
     // Check if short code exists
     boolean existsByShortCode(String shortCode);
     
-    // Find URLs by original URL (for duplicate checking)
-    List<Url> findByOriginalUrl(String originalUrl);
+    // Find which of the given short codes already exist
+    @Query("SELECT u.shortCode FROM Url u WHERE u.shortCode IN :shortCodes")
+    Set<String> findExistingShortCodes(@Param("shortCodes") Collection<String> shortCodes);
+    
+    // Find the active URL stored under a normalized original URL hash (deduplication)
+    Optional<Url> findByOriginalUrlHashAndIsActiveTrue(byte[] originalUrlHash);
 }
@@ -0,0 +1,12 @@
+package com.project.url_shortener_be.service;
+
+import com.project.url_shortener_be.dto.BulkCreateResponse;
+import com.project.url_shortener_be.dto.CreateUrlRequest;
+
+import java.util.Iterator;
+
+public interface BulkUrlService {
+
+    // Create short URLs from a stream of requests; items without a custom code get a generated one
+    BulkCreateResponse createShortUrls(Iterator<CreateUrlRequest> requests);
+}
@@ -0,0 +1,13 @@
+package com.project.url_shortener_be.service;
+
+import com.project.url_shortener_be.dto.ClickAnalyticsResponse;
+import com.project.url_shortener_be.dto.RollupGranularity;
+
+import java.time.LocalDateTime;
+
+public interface ClickAnalyticsService {
+
+    // Click time series for a short code over [from, to) in UTC; null bounds select a recent window
+    ClickAnalyticsResponse getClickAnalytics(String shortCode, RollupGranularity granularity,
+                                             LocalDateTime from, LocalDateTime to);
+}
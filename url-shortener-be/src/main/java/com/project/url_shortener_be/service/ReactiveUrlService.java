@@ -0,0 +1,27 @@
+package com.project.url_shortener_be.service;
+
+import com.project.url_shortener_be.dto.CreateUrlAutoRequest;
+import com.project.url_shortener_be.dto.CreateUrlRequest;
+import com.project.url_shortener_be.dto.RedirectTarget;
+import com.project.url_shortener_be.dto.UrlResponse;
+import reactor.core.publisher.Mono;
+
+// Non-blocking counterpart of the UrlService operations served in reactive mode;
+// same DTOs, same exceptions (signalled as errors), same caching
+public interface ReactiveUrlService {
+    
+    // Create new short URL with custom code
+    Mono<UrlResponse> createShortUrl(CreateUrlRequest request);
+    
+    // Create new short URL with auto-generated code
+    Mono<UrlResponse> createShortUrlAuto(CreateUrlAutoRequest request);
+    
+    // Get URL by short code; errors if it is unknown, inactive or expired
+    Mono<UrlResponse> getUrlByShortCode(String shortCode);
+    
+    // Get the redirect target of an active, unexpired short code; empty otherwise
+    Mono<RedirectTarget> findRedirectTarget(String shortCode);
+    
+    // Increment click count
+    void incrementClickCount(String shortCode);
+}
@@ -2,9 +2,14 @@ package com.project.url_shortener_be.service;
 
 import com.project.url_shortener_be.dto.CreateUrlRequest;
 import com.project.url_shortener_be.dto.CreateUrlAutoRequest;
+import com.project.url_shortener_be.dto.ExportFormat;
+import com.project.url_shortener_be.dto.RedirectTarget;
+import com.project.url_shortener_be.dto.UrlPageResponse;
 import com.project.url_shortener_be.dto.UrlResponse;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
 
 public interface UrlService {
     
@@ -14,11 +19,20 @@ public interface UrlService {
     // Create new short URL with auto-generated code
     UrlResponse createShortUrlAuto(CreateUrlAutoRequest request);
     
-    // Get URL by short code
+    // Get URL by short code; throws if it is unknown, inactive or expired
     UrlResponse getUrlByShortCode(String shortCode);
     
-    // Get all active URLs
-    List<UrlResponse> getAllActiveUrls();
+    // Get URL by short code if it is active and unexpired, without throwing
+    Optional<UrlResponse> findUrlByShortCode(String shortCode);
+    
+    // Get the redirect target of an active, unexpired short code
+    Optional<RedirectTarget> findRedirectTarget(String shortCode);
+    
+    // Get a page of active URLs, starting after the given cursor
+    UrlPageResponse getActiveUrls(String cursor, int size);
+    
+    // Write all active URLs to the given stream
+    void exportActiveUrls(ExportFormat format, OutputStream outputStream) throws IOException;
     
     // Update URL
     UrlResponse updateUrl(Long id, CreateUrlRequest request);
@@ -32,6 +46,6 @@ public interface UrlService {
     // Deactivate expired URLs
     void deactivateExpiredUrls();
     
-    // Generate unique short code
+    // Generate and reserve a unique short code
     String generateUniqueShortCode();
 }
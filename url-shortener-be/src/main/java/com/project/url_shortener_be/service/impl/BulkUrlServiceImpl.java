@@ -0,0 +1,257 @@
+package com.project.url_shortener_be.service.impl;
+
+import com.project.url_shortener_be.bloom.ShortCodeFilter;
+import com.project.url_shortener_be.cache.UrlResolveCache;
+import com.project.url_shortener_be.codegen.ShortCodeGenerator;
+import com.project.url_shortener_be.datasource.ReplicaReadPolicy;
+import com.project.url_shortener_be.dto.BulkCreateResponse;
+import com.project.url_shortener_be.dto.BulkItemResult;
+import com.project.url_shortener_be.dto.CreateUrlRequest;
+import com.project.url_shortener_be.entity.Url;
+import com.project.url_shortener_be.mapper.UrlMapper;
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import com.project.url_shortener_be.repository.UrlRepository;
+import com.project.url_shortener_be.service.BulkUrlService;
+import com.project.url_shortener_be.snapshot.RedirectSnapshotStore;
+import com.project.url_shortener_be.validation.UrlCanonicalizer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class BulkUrlServiceImpl implements BulkUrlService {
+
+    private final UrlRepository urlRepository;
+    private final ShortCodeGenerator shortCodeGenerator;
+    private final UrlResolveCache urlResolveCache;
+    private final ShortCodeFilter shortCodeFilter;
+    private final ReplicaReadPolicy replicaReadPolicy;
+    private final RedirectSnapshotStore redirectSnapshotStore;
+    private final UrlMapper urlMapper;
+    private final UrlMetrics urlMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxItems;
+
+    public BulkUrlServiceImpl(UrlRepository urlRepository,
+                              ShortCodeGenerator shortCodeGenerator,
+                              UrlResolveCache urlResolveCache,
+                              ShortCodeFilter shortCodeFilter,
+                              ReplicaReadPolicy replicaReadPolicy,
+                              RedirectSnapshotStore redirectSnapshotStore,
+                              UrlMapper urlMapper,
+                              UrlMetrics urlMetrics,
+                              TransactionTemplate transactionTemplate,
+                              EntityManager entityManager,
+                              Validator validator,
+                              @Value("${app.bulk.batch-size:500}") int batchSize,
+                              @Value("${app.bulk.max-items:50000}") int maxItems) {
+        this.urlRepository = urlRepository;
+        this.shortCodeGenerator = shortCodeGenerator;
+        this.urlResolveCache = urlResolveCache;
+        this.shortCodeFilter = shortCodeFilter;
+        this.replicaReadPolicy = replicaReadPolicy;
+        this.redirectSnapshotStore = redirectSnapshotStore;
+        this.urlMapper = urlMapper;
+        this.urlMetrics = urlMetrics;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    @Override
+    public BulkCreateResponse createShortUrls(Iterator<CreateUrlRequest> requests) {
+        long start = System.nanoTime();
+        List<BulkItemResult> results = new ArrayList<>();
+        List<PendingItem> chunk = new ArrayList<>(batchSize);
+        Set<String> requestedCustomCodes = new HashSet<>();
+        int index = 0;
+
+        while (true) {
+            CreateUrlRequest request;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+                request = requests.next();
+            } catch (RuntimeException e) {
+                // Malformed input; items after this point cannot be read reliably
+                results.add(BulkItemResult.failed(index, "Malformed item: " + e.getMessage()));
+                break;
+            }
+
+            if (index >= maxItems) {
+                results.add(BulkItemResult.failed(index,
+                        "Bulk limit of " + maxItems + " items exceeded; remaining items were not processed"));
+                break;
+            }
+
+            String error = validate(request, requestedCustomCodes);
+            if (error != null) {
+                results.add(BulkItemResult.failed(index, error));
+            } else {
+                chunk.add(new PendingItem(index, request));
+                if (chunk.size() >= batchSize) {
+                    insertChunk(chunk, results);
+                    chunk.clear();
+                }
+            }
+            index++;
+        }
+
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, results);
+        }
+
+        results.sort(Comparator.comparingInt(BulkItemResult::getIndex));
+        return buildResponse(results, System.nanoTime() - start);
+    }
+
+    // Validate one item; returns an error message or null if the item is valid
+    private String validate(CreateUrlRequest request, Set<String> requestedCustomCodes) {
+        if (request == null) {
+            return "Item must not be null";
+        }
+
+        Set<ConstraintViolation<CreateUrlRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+
+        // Length and character set of custom codes are checked by the request's constraints above
+        String customShortCode = request.getCustomShortCode();
+        if (customShortCode != null && !requestedCustomCodes.add(customShortCode)) {
+            return "Short code is duplicated in this request: " + customShortCode;
+        }
+        return null;
+    }
+
+    // Insert one chunk in a single transaction using JDBC batching
+    private void insertChunk(List<PendingItem> chunk, List<BulkItemResult> results) {
+        // One query per chunk for custom codes that may already be taken
+        Set<String> customCodes = chunk.stream()
+                .map(item -> item.request.getCustomShortCode())
+                .filter(code -> code != null && shortCodeFilter.mightContain(code))
+                .collect(Collectors.toSet());
+        Set<String> takenCodes = customCodes.isEmpty()
+                ? Set.of()
+                : urlMetrics.database("find_existing_short_codes", () -> urlRepository.findExistingShortCodes(customCodes));
+
+        List<PendingItem> insertable = new ArrayList<>(chunk.size());
+        for (PendingItem item : chunk) {
+            String customShortCode = item.request.getCustomShortCode();
+            if (customShortCode != null && takenCodes.contains(customShortCode)) {
+                results.add(BulkItemResult.failed(item.index, "Short code already exists: " + customShortCode));
+            } else {
+                item.url = toEntity(item.request);
+                insertable.add(item);
+            }
+        }
+
+        if (insertable.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveBatch(insertable));
+            insertable.forEach(item -> results.add(BulkItemResult.succeeded(item.index, urlMapper.toResponse(item.url))));
+        } catch (DataAccessException | PersistenceException e) {
+            // The batch was rolled back (e.g. a concurrent insert took a code); retry items one by one.
+            // The shared EntityManager's flush throws Hibernate's exceptions untranslated
+            log.warn("Bulk batch of {} items failed, retrying individually: {}", insertable.size(), e.getMessage());
+            insertable.forEach(item -> results.add(insertSingle(item)));
+        }
+    }
+
+    private BulkItemResult insertSingle(PendingItem item) {
+        // Fresh entity so no state from the failed batch is carried over
+        item.url = toEntity(item.request);
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveBatch(List.of(item)));
+            return BulkItemResult.succeeded(item.index, urlMapper.toResponse(item.url));
+        } catch (DataAccessException | PersistenceException e) {
+            return BulkItemResult.failed(item.index,
+                    "Could not create short URL: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private void saveBatch(List<PendingItem> items) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+        for (PendingItem item : items) {
+            entityManager.persist(item.url);
+        }
+        urlMetrics.database("insert_url_batch", entityManager::flush);
+        entityManager.clear();
+
+        items.forEach(item -> {
+            shortCodeFilter.add(item.url.getShortCode());
+            replicaReadPolicy.recordWrite(item.url.getShortCode());
+            redirectSnapshotStore.recordWrite(item.url.getShortCode());
+        });
+        urlResolveCache.invalidateAfterCommit(items.stream().map(item -> item.url.getShortCode()).toArray(String[]::new));
+    }
+
+    private Url toEntity(CreateUrlRequest request) {
+        String shortCode = request.getCustomShortCode() != null
+                ? request.getCustomShortCode()
+                : urlMetrics.observe(UrlMetrics.CODE_GENERATION, shortCodeGenerator::nextCode);
+
+        Url url = new Url(UrlCanonicalizer.requireCanonical(request.getOriginalUrl()), shortCode);
+        url.setExpiresAt(request.getExpiresAt());
+        return url;
+    }
+
+    private BulkCreateResponse buildResponse(List<BulkItemResult> results, long elapsedNanos) {
+        int succeeded = (int) results.stream().filter(BulkItemResult::isSuccess).count();
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        double itemsPerSecond = elapsedNanos > 0 ? succeeded * 1_000_000_000.0 / elapsedNanos : 0;
+
+        BulkCreateResponse response = new BulkCreateResponse();
+        response.setTotal(results.size());
+        response.setSucceeded(succeeded);
+        response.setFailed(results.size() - succeeded);
+        response.setElapsedMillis(elapsedMillis);
+        response.setItemsPerSecond(Math.round(itemsPerSecond * 10) / 10.0);
+        response.setResults(results);
+
+        log.info("Bulk created {} of {} URLs in {} ms ({} items/s)",
+                succeeded, results.size(), elapsedMillis, response.getItemsPerSecond());
+        return response;
+    }
+
+    private static final class PendingItem {
+        private final int index;
+        private final CreateUrlRequest request;
+        private Url url;
+
+        private PendingItem(int index, CreateUrlRequest request) {
+            this.index = index;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.url_shortener_be.service.impl;
+
+import com.project.url_shortener_be.dto.ClickAnalyticsResponse;
+import com.project.url_shortener_be.dto.ClickBucket;
+import com.project.url_shortener_be.dto.RollupGranularity;
+import com.project.url_shortener_be.exception.InvalidRequestException;
+import com.project.url_shortener_be.exception.UrlNotFoundException;
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import com.project.url_shortener_be.repository.ClickRollupRepository;
+import com.project.url_shortener_be.repository.UrlRepository;
+import com.project.url_shortener_be.service.ClickAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClickAnalyticsServiceImpl implements ClickAnalyticsService {
+
+    private final ClickRollupRepository clickRollupRepository;
+    private final UrlRepository urlRepository;
+    private final UrlMetrics urlMetrics;
+
+    @Value("${app.analytics.max-buckets:1500}")
+    private int maxBuckets;
+
+    @Override
+    public ClickAnalyticsResponse getClickAnalytics(String shortCode, RollupGranularity granularity,
+                                                    LocalDateTime from, LocalDateTime to) {
+        log.info("Getting {} click analytics for short code: {}", granularity, shortCode);
+
+        if (!urlMetrics.database("exists_short_code", () -> urlRepository.existsByShortCode(shortCode))) {
+            throw new UrlNotFoundException("URL not found with short code: " + shortCode);
+        }
+
+        // Default window ends after the current bucket, so clicks from the last second are included
+        LocalDateTime end = to != null ? to
+                : granularity.bucketStart(LocalDateTime.now(ZoneOffset.UTC)).plus(1, granularity.getUnit());
+        LocalDateTime start = granularity.bucketStart(from != null ? from : end.minus(granularity.getDefaultRange()));
+        if (!start.isBefore(end)) {
+            throw new InvalidRequestException("'from' must be before 'to'");
+        }
+        if (granularity.getUnit().between(start, end) > maxBuckets) {
+            throw new InvalidRequestException("Range spans more than " + maxBuckets + " " + granularity.name().toLowerCase()
+                    + " buckets; use a coarser granularity or a shorter range");
+        }
+
+        // Rows arrive ordered by bucket; each bucket collects its referrer and agent breakdowns
+        Map<LocalDateTime, ClickBucket> buckets = new LinkedHashMap<>();
+        urlMetrics.database("find_click_rollups", () -> clickRollupRepository.findRollups(shortCode, granularity,
+                start, end, rs -> {
+                    LocalDateTime bucketStart = rs.getTimestamp("bucket_start").toLocalDateTime();
+                    long clicks = rs.getLong("clicks");
+                    ClickBucket bucket = buckets.computeIfAbsent(bucketStart, ClickAnalyticsServiceImpl::emptyBucket);
+                    bucket.setClicks(bucket.getClicks() + clicks);
+                    bucket.getReferrers().merge(rs.getString("referrer"), clicks, Long::sum);
+                    bucket.getAgentClasses().merge(rs.getString("agent_class"), clicks, Long::sum);
+                }));
+
+        List<ClickBucket> series = new ArrayList<>(buckets.values());
+        ClickAnalyticsResponse response = new ClickAnalyticsResponse();
+        response.setShortCode(shortCode);
+        response.setGranularity(granularity);
+        response.setFrom(start);
+        response.setTo(end);
+        response.setTotalClicks(series.stream().mapToLong(ClickBucket::getClicks).sum());
+        response.setBuckets(series);
+        return response;
+    }
+
+    private static ClickBucket emptyBucket(LocalDateTime bucketStart) {
+        ClickBucket bucket = new ClickBucket();
+        bucket.setBucketStart(bucketStart);
+        bucket.setReferrers(new TreeMap<>());
+        bucket.setAgentClasses(new TreeMap<>());
+        return bucket;
+    }
+}
@@ -0,0 +1,194 @@
+package com.project.url_shortener_be.service.impl;
+
+import com.project.url_shortener_be.bloom.ShortCodeFilter;
+import com.project.url_shortener_be.cache.UrlResolveCache;
+import com.project.url_shortener_be.click.ClickCountBuffer;
+import com.project.url_shortener_be.codegen.ShortCodeGenerator;
+import com.project.url_shortener_be.dto.CreateUrlAutoRequest;
+import com.project.url_shortener_be.dto.CreateUrlRequest;
+import com.project.url_shortener_be.dto.RedirectTarget;
+import com.project.url_shortener_be.dto.UrlResponse;
+import com.project.url_shortener_be.entity.Url;
+import com.project.url_shortener_be.exception.ShortCodeConflictException;
+import com.project.url_shortener_be.exception.UrlExpiredException;
+import com.project.url_shortener_be.exception.UrlInactiveException;
+import com.project.url_shortener_be.exception.UrlNotFoundException;
+import com.project.url_shortener_be.logging.LogMarkers;
+import com.project.url_shortener_be.mapper.UrlMapper;
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import com.project.url_shortener_be.repository.ReactiveUrlRepository;
+import com.project.url_shortener_be.service.ReactiveUrlService;
+import com.project.url_shortener_be.snapshot.RedirectSnapshotStore;
+import com.project.url_shortener_be.validation.UrlCanonicalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUrlServiceImpl implements ReactiveUrlService {
+    
+    private final ReactiveUrlRepository reactiveUrlRepository;
+    private final UrlResolveCache urlResolveCache;
+    private final ClickCountBuffer clickCountBuffer;
+    private final ShortCodeGenerator shortCodeGenerator;
+    private final ShortCodeFilter shortCodeFilter;
+    private final RedirectSnapshotStore redirectSnapshotStore;
+    private final UrlMapper urlMapper;
+    private final UrlMetrics urlMetrics;
+    
+    @Value("${app.codegen.max-attempts:3}")
+    private int maxCodeAttempts;
+    
+    @Override
+    public Mono<UrlResponse> createShortUrl(CreateUrlRequest request) {
+        return urlMetrics.observe(UrlMetrics.CREATE, Mono.defer(() -> {
+            log.info(LogMarkers.CREATE, "Creating short URL for: {}", request.getOriginalUrl());
+            String shortCode = request.getCustomShortCode();
+            
+            // Codes the filter has never seen cannot exist, so most checks skip the query
+            Mono<Boolean> exists = shortCodeFilter.mightContain(shortCode)
+                    ? urlMetrics.database("exists_short_code", reactiveUrlRepository.existsByShortCode(shortCode))
+                    : Mono.just(Boolean.FALSE);
+            
+            return exists.flatMap(taken -> taken
+                            ? Mono.<UrlResponse>error(new ShortCodeConflictException("Short code already exists: " + shortCode))
+                            : insert(request.getOriginalUrl(), shortCode, request.getExpiresAt()))
+                    // A concurrent insert took the code between the check and the insert
+                    .onErrorMap(DataIntegrityViolationException.class,
+                            e -> new ShortCodeConflictException("Short code already exists: " + shortCode));
+        }), "mode", "custom");
+    }
+    
+    @Override
+    public Mono<UrlResponse> createShortUrlAuto(CreateUrlAutoRequest request) {
+        return urlMetrics.observe(UrlMetrics.CREATE, Mono.defer(() -> {
+            log.info(LogMarkers.CREATE, "Creating short URL with auto-generated code for: {}", request.getOriginalUrl());
+            return createWithGeneratedCode(request, 1);
+        }), "mode", "auto");
+    }
+    
+    @Override
+    public Mono<UrlResponse> getUrlByShortCode(String shortCode) {
+        log.info(LogMarkers.RESOLVE, "Getting URL for short code: {}", shortCode);
+        
+        return resolve(shortCode)
+                .switchIfEmpty(Mono.error(UrlNotFoundException.INSTANCE))
+                .flatMap(url -> {
+                    if (!Boolean.TRUE.equals(url.getIsActive())) {
+                        return Mono.error(UrlInactiveException.INSTANCE);
+                    }
+                    if (isExpired(url.getExpiresAt())) {
+                        return Mono.error(UrlExpiredException.INSTANCE);
+                    }
+                    return Mono.just(url);
+                });
+    }
+    
+    @Override
+    public Mono<RedirectTarget> findRedirectTarget(String shortCode) {
+        log.debug(LogMarkers.REDIRECT, "Resolving redirect target for short code: {}", shortCode);
+        
+        Mono<RedirectTarget> target = shortCodeFilter.mightContain(shortCode)
+                ? Mono.fromFuture(() -> urlResolveCache.getRedirectTargetAsync(shortCode, this::loadRedirectTarget), true)
+                        .flatMap(Mono::justOrEmpty)
+                : Mono.empty();
+        
+        return urlMetrics.observe(UrlMetrics.RESOLVE, target, "view", "redirect")
+                .filter(found -> Boolean.TRUE.equals(found.getIsActive()))
+                .filter(found -> !isExpired(found.getExpiresAt()));
+    }
+    
+    @Override
+    public void incrementClickCount(String shortCode) {
+        log.debug(LogMarkers.REDIRECT, "Incrementing click count for short code: {}", shortCode);
+        
+        // Buffered in memory and flushed in batches by ClickCountBuffer
+        clickCountBuffer.record(shortCode);
+    }
+    
+    // Code generators may block (block leases, existence checks), so they run off the event loop.
+    // Generated codes can only clash with a custom code; a clash is retried with a fresh code.
+    private Mono<UrlResponse> createWithGeneratedCode(CreateUrlAutoRequest request, int attempt) {
+        return Mono.fromCallable(() -> urlMetrics.observe(UrlMetrics.CODE_GENERATION, shortCodeGenerator::nextCode))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(shortCode -> insert(request.getOriginalUrl(), shortCode, request.getExpiresAt()))
+                .doOnNext(response -> log.info(LogMarkers.CREATE, "Created short URL with auto-generated code: {}", response.getShortCode()))
+                .onErrorResume(DataIntegrityViolationException.class, e -> {
+                    if (attempt >= maxCodeAttempts) {
+                        urlMetrics.codeGenerationExhausted();
+                        return Mono.error(new ShortCodeConflictException(
+                                "Could not allocate a unique short code after " + attempt + " attempts"));
+                    }
+                    urlMetrics.codeGenerationRetry();
+                    log.warn("Generated short code is already taken, retrying");
+                    return createWithGeneratedCode(request, attempt + 1);
+                });
+    }
+    
+    // Insert and drop any cached "not found" result for the new code; the insert
+    // commits on its own, so the cache can be invalidated right away
+    private Mono<UrlResponse> insert(String originalUrl, String shortCode, LocalDateTime expiresAt) {
+        Url url = new Url(UrlCanonicalizer.requireCanonical(originalUrl), shortCode);
+        url.setExpiresAt(expiresAt);
+        
+        return urlMetrics.database("insert_url", reactiveUrlRepository.insert(url))
+                .map(saved -> {
+                    shortCodeFilter.add(saved.getShortCode());
+                    redirectSnapshotStore.recordWrite(saved.getShortCode());
+                    urlResolveCache.invalidate(saved.getShortCode());
+                    return urlMapper.toResponse(saved);
+                });
+    }
+    
+    // Helper method to look a short code up through the short code filter and the resolve cache
+    private Mono<UrlResponse> resolve(String shortCode) {
+        Mono<UrlResponse> url = shortCodeFilter.mightContain(shortCode)
+                ? Mono.fromFuture(() -> urlResolveCache.getAsync(shortCode, this::loadUrl), true)
+                        .flatMap(Mono::justOrEmpty)
+                : Mono.empty();
+        return urlMetrics.observe(UrlMetrics.RESOLVE, url, "view", "full");
+    }
+    
+    // Helper method to load a URL for the resolve cache; inactive URLs are cached too
+    private CompletableFuture<Optional<UrlResponse>> loadUrl(String shortCode) {
+        return toCacheEntry(urlMetrics.database("find_url", reactiveUrlRepository.findByShortCode(shortCode))
+                .map(urlMapper::toResponse));
+    }
+    
+    // Helper method to load a redirect target for the redirect cache
+    private CompletableFuture<Optional<RedirectTarget>> loadRedirectTarget(String shortCode) {
+        // Codes older than the snapshot never need the database
+        Optional<RedirectTarget> snapshotTarget = redirectSnapshotStore.find(shortCode);
+        if (snapshotTarget.isPresent()) {
+            return CompletableFuture.completedFuture(snapshotTarget);
+        }
+        return toCacheEntry(urlMetrics.database("find_redirect_target",
+                reactiveUrlRepository.findRedirectTargetByShortCode(shortCode)));
+    }
+    
+    // Subscribes right away; the future becomes the shared cache entry
+    private <T> CompletableFuture<Optional<T>> toCacheEntry(Mono<T> lookup) {
+        return lookup.map(Optional::of)
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    shortCodeFilter.recordFalsePositive();
+                    return Optional.empty();
+                }))
+                .toFuture();
+    }
+    
+    private static boolean isExpired(LocalDateTime expiresAt) {
+        return expiresAt != null && !expiresAt.isAfter(LocalDateTime.now());
+    }
+}
@@ -1,20 +1,55 @@
 package com.project.url_shortener_be.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.project.url_shortener_be.bloom.ShortCodeFilter;
+import com.project.url_shortener_be.cache.UrlResolveCache;
+import com.project.url_shortener_be.click.ClickCountBuffer;
+import com.project.url_shortener_be.codegen.ShortCodeGenerator;
+import com.project.url_shortener_be.datasource.ReplicaReadPolicy;
+import com.project.url_shortener_be.dedupe.UrlDeduplicator;
 import com.project.url_shortener_be.dto.CreateUrlRequest;
 import com.project.url_shortener_be.dto.CreateUrlAutoRequest;
+import com.project.url_shortener_be.dto.ExportFormat;
+import com.project.url_shortener_be.dto.RedirectTarget;
+import com.project.url_shortener_be.dto.UrlPageResponse;
 import com.project.url_shortener_be.dto.UrlResponse;
 import com.project.url_shortener_be.entity.Url;
+import com.project.url_shortener_be.exception.InvalidRequestException;
+import com.project.url_shortener_be.exception.ShortCodeConflictException;
+import com.project.url_shortener_be.exception.UrlExpiredException;
+import com.project.url_shortener_be.exception.UrlInactiveException;
+import com.project.url_shortener_be.exception.UrlNotFoundException;
+import com.project.url_shortener_be.expiry.ExpiredUrlSweeper;
+import com.project.url_shortener_be.logging.LogMarkers;
+import com.project.url_shortener_be.mapper.UrlMapper;
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
 import com.project.url_shortener_be.repository.UrlRepository;
 import com.project.url_shortener_be.service.UrlService;
+import com.project.url_shortener_be.snapshot.RedirectSnapshotStore;
+import com.project.url_shortener_be.validation.UrlCanonicalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
-import java.util.Random;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,74 +58,220 @@ import java.util.stream.Collectors;
 @Transactional
 public class UrlServiceImpl implements UrlService {
     
+    private static final String CSV_HEADER =
+            "id,original_url,short_code,short_url,click_count,is_active,expires_at,created_at,updated_at\n";
+    
     private final UrlRepository urlRepository;
+    private final UrlResolveCache urlResolveCache;
+    private final ClickCountBuffer clickCountBuffer;
+    private final ShortCodeGenerator shortCodeGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final UrlMapper urlMapper;
+    private final UrlJdbcRepository urlJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final ExpiredUrlSweeper expiredUrlSweeper;
+    private final UrlMetrics urlMetrics;
+    private final ShortCodeFilter shortCodeFilter;
+    private final ReplicaReadPolicy replicaReadPolicy;
+    private final UrlDeduplicator urlDeduplicator;
+    private final RedirectSnapshotStore redirectSnapshotStore;
+    
+    @Value("${app.codegen.max-attempts:3}")
+    private int maxCodeAttempts;
     
-    @Value("${app.base-url:http://localhost:8080}")
-    private String baseUrl;
+    @Value("${app.pagination.max-page-size:200}")
+    private int maxPageSize;
     
     @Override
     public UrlResponse createShortUrl(CreateUrlRequest request) {
-        log.info("Creating short URL for: {}", request.getOriginalUrl());
+        return urlMetrics.observe(UrlMetrics.CREATE, () -> {
+            log.info(LogMarkers.CREATE, "Creating short URL for: {}", request.getOriginalUrl());
+            
+            // Check if custom short code already exists
+            // Codes the filter has never seen cannot exist, so most checks skip the query
+            boolean exists = shortCodeFilter.mightContain(request.getCustomShortCode())
+                    && urlMetrics.database("exists_short_code",
+                            () -> urlRepository.existsByShortCode(request.getCustomShortCode()));
+            if (exists) {
+                throw new ShortCodeConflictException("Short code already exists: " + request.getCustomShortCode());
+            }
+            
+            // Create new URL entity
+            Url url = new Url(UrlCanonicalizer.requireCanonical(request.getOriginalUrl()), request.getCustomShortCode());
+            url.setExpiresAt(request.getExpiresAt());
+            
+            // Save to database
+            Url savedUrl = urlMetrics.database("insert_url", () -> urlRepository.saveAndFlush(url));
+            
+            // Publish the new code to the short code filter, replica routing and redirect snapshot
+            shortCodeFilter.add(savedUrl.getShortCode());
+            replicaReadPolicy.recordWrite(savedUrl.getShortCode());
+            redirectSnapshotStore.recordWrite(savedUrl.getShortCode());
+            // Drop any cached "not found" result for the new code
+            urlResolveCache.invalidateAfterCommit(savedUrl.getShortCode());
+            
+            log.info(LogMarkers.CREATE, "Created short URL with code: {}", savedUrl.getShortCode());
+            return urlMapper.toResponse(savedUrl);
+        }, "mode", "custom");
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UrlResponse createShortUrlAuto(CreateUrlAutoRequest request) {
+        return urlMetrics.observe(UrlMetrics.CREATE, () -> {
+            log.info(LogMarkers.CREATE, "Creating short URL with auto-generated code for: {}", request.getOriginalUrl());
+            String originalUrl = UrlCanonicalizer.requireCanonical(request.getOriginalUrl());
+            
+            // In dedupe mode a repeat of an already shortened URL gets the existing code back
+            byte[] dedupeKey = urlDeduplicator.keyFor(originalUrl, request.getExpiresAt());
+            if (dedupeKey != null) {
+                // In its own transaction so the connection is released before a code block lease needs one
+                Optional<UrlResponse> existing = transactionTemplate.execute(
+                        status -> urlDeduplicator.findExisting(dedupeKey, this::findUrlByShortCode));
+                if (existing.isPresent()) {
+                    log.info(LogMarkers.CREATE, "Reusing short code {} for: {}", existing.get().getShortCode(), originalUrl);
+                    return existing.get();
+                }
+            }
+            
+            // Each attempt runs in its own transaction so a failed insert can be retried
+            for (int attempt = 1; ; attempt++) {
+                // Generated codes are unique by construction; they can only clash with a custom code
+                String shortCode = urlMetrics.observe(UrlMetrics.CODE_GENERATION, shortCodeGenerator::nextCode);
+                
+                try {
+                    Url savedUrl = transactionTemplate.execute(status -> {
+                        if (dedupeKey != null) {
+                            Optional<Url> existing = urlDeduplicator.lockForCreate(dedupeKey);
+                            if (existing.isPresent()) {
+                                return existing.get();
+                            }
+                        }
+                        
+                        // Create new URL entity
+                        Url url = new Url(originalUrl, shortCode);
+                        url.setExpiresAt(request.getExpiresAt());
+                        url.setOriginalUrlHash(dedupeKey);
+                    
+                        // Save to database
+                        Url saved = urlMetrics.database("insert_url", () -> urlRepository.saveAndFlush(url));
+                    
+                        // Publish the new code to the short code filter, replica routing and redirect snapshot
+                        shortCodeFilter.add(saved.getShortCode());
+                        replicaReadPolicy.recordWrite(saved.getShortCode());
+                        redirectSnapshotStore.recordWrite(saved.getShortCode());
+                        // Drop any cached "not found" result for the new code
+                        urlResolveCache.invalidateAfterCommit(saved.getShortCode());
+                        return saved;
+                    });
+                    
+                    if (dedupeKey != null) {
+                        urlDeduplicator.remember(dedupeKey, savedUrl.getShortCode());
+                    }
+                    log.info(LogMarkers.CREATE, "Created short URL with auto-generated code: {}", savedUrl.getShortCode());
+                    return urlMapper.toResponse(savedUrl);
+                } catch (DataIntegrityViolationException e) {
+                    // A concurrent create of the same URL won the unique hash index; return its code
+                    if (dedupeKey != null) {
+                        Optional<UrlResponse> existing = transactionTemplate.execute(
+                                status -> urlDeduplicator.findConcurrentlyCreated(dedupeKey));
+                        if (existing.isPresent()) {
+                            return existing.get();
+                        }
+                    }
+                    if (attempt >= maxCodeAttempts) {
+                        urlMetrics.codeGenerationExhausted();
+                        throw new ShortCodeConflictException("Could not allocate a unique short code after " + attempt + " attempts");
+                    }
+                    urlMetrics.codeGenerationRetry();
+                    log.warn("Generated short code {} is already taken, retrying", shortCode);
+                }
+            }
+        }, "mode", "auto");
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public UrlResponse getUrlByShortCode(String shortCode) {
+        log.info(LogMarkers.RESOLVE, "Getting URL for short code: {}", shortCode);
         
-        // Check if custom short code already exists
-        if (urlRepository.existsByShortCode(request.getCustomShortCode())) {
-            throw new RuntimeException("Short code already exists: " + request.getCustomShortCode());
-        }
+        // Misses throw preallocated, stackless exceptions, so they cost about as much as hits
+        UrlResponse url = resolve(shortCode).orElseThrow(() -> UrlNotFoundException.INSTANCE);
         
-        // Create new URL entity
-        Url url = new Url(request.getOriginalUrl(), request.getCustomShortCode());
-        url.setExpiresAt(request.getExpiresAt());
+        if (!Boolean.TRUE.equals(url.getIsActive())) {
+            throw UrlInactiveException.INSTANCE;
+        }
         
-        // Save to database
-        Url savedUrl = urlRepository.save(url);
+        // Check if URL is expired
+        if (isExpired(url.getExpiresAt())) {
+            throw UrlExpiredException.INSTANCE;
+        }
         
-        log.info("Created short URL with code: {}", savedUrl.getShortCode());
-        return convertToResponse(savedUrl);
+        return url;
     }
     
     @Override
-    public UrlResponse createShortUrlAuto(CreateUrlAutoRequest request) {
-        log.info("Creating short URL with auto-generated code for: {}", request.getOriginalUrl());
-        
-        // Generate unique short code
-        String shortCode = generateUniqueShortCode();
-        
-        // Create new URL entity
-        Url url = new Url(request.getOriginalUrl(), shortCode);
-        url.setExpiresAt(request.getExpiresAt());
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<UrlResponse> findUrlByShortCode(String shortCode) {
+        log.debug("Finding URL for short code: {}", shortCode);
         
-        // Save to database
-        Url savedUrl = urlRepository.save(url);
+        return resolve(shortCode)
+                .filter(url -> Boolean.TRUE.equals(url.getIsActive()))
+                .filter(url -> !isExpired(url.getExpiresAt()));
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<RedirectTarget> findRedirectTarget(String shortCode) {
+        log.debug(LogMarkers.REDIRECT, "Resolving redirect target for short code: {}", shortCode);
         
-        log.info("Created short URL with auto-generated code: {}", savedUrl.getShortCode());
-        return convertToResponse(savedUrl);
+        // Slim projection, cached separately from the full UrlResponse
+        return urlMetrics.observe(UrlMetrics.RESOLVE, () -> shortCodeFilter.mightContain(shortCode)
+                        ? urlResolveCache.getRedirectTarget(shortCode, this::loadRedirectTarget)
+                        : Optional.<RedirectTarget>empty(), "view", "redirect")
+                .filter(target -> Boolean.TRUE.equals(target.getIsActive()))
+                .filter(target -> !isExpired(target.getExpiresAt()));
     }
     
     @Override
     @Transactional(readOnly = true)
-    public UrlResponse getUrlByShortCode(String shortCode) {
-        log.info("Getting URL for short code: {}", shortCode);
+    public UrlPageResponse getActiveUrls(String cursor, int size) {
+        log.info(LogMarkers.LIST, "Getting active URLs after cursor: {}", cursor);
         
-        Url url = urlRepository.findByShortCodeAndIsActiveTrue(shortCode)
-                .orElseThrow(() -> new RuntimeException("URL not found or inactive: " + shortCode));
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        long afterId = decodeCursor(cursor);
         
-        // Check if URL is expired
-        if (url.getExpiresAt() != null && url.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("URL has expired: " + shortCode);
-        }
+        // Fetch one extra row to know whether another page follows
+        List<Url> urls = urlRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        boolean hasNext = urls.size() > pageSize;
+        List<Url> page = hasNext ? urls.subList(0, pageSize) : urls;
         
-        return convertToResponse(url);
+        UrlPageResponse response = new UrlPageResponse();
+        response.setItems(page.stream().map(urlMapper::toResponse).collect(Collectors.toList()));
+        response.setSize(page.size());
+        response.setHasNext(hasNext);
+        response.setNextCursor(hasNext ? encodeCursor(page.get(page.size() - 1).getId()) : null);
+        return response;
     }
     
     @Override
-    @Transactional(readOnly = true)
-    public List<UrlResponse> getAllActiveUrls() {
-        log.info("Getting all active URLs");
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportActiveUrls(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("Exporting active URLs as {}", format);
         
-        List<Url> urls = urlRepository.findByIsActiveTrue();
-        return urls.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        // Rows are written as they arrive from the cursor, so heap use does not grow with the table
+        if (format == ExportFormat.CSV) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            urlJdbcRepository.streamActiveUrls(url -> writeCsvRow(writer, urlMapper.toResponse(url)));
+            writer.flush();
+        } else {
+            SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream);
+            urlJdbcRepository.streamActiveUrls(url -> writeJsonRow(writer, urlMapper.toResponse(url)));
+            writer.flush();
+        }
     }
     
     @Override
@@ -98,94 +279,173 @@ public class UrlServiceImpl implements UrlService {
         log.info("Updating URL with ID: {}", id);
         
         Url url = urlRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("URL not found with ID: " + id));
+                .orElseThrow(() -> new UrlNotFoundException("URL not found with ID: " + id));
         
         // Check if new short code already exists (if changed)
         if (!url.getShortCode().equals(request.getCustomShortCode()) && 
+            shortCodeFilter.mightContain(request.getCustomShortCode()) &&
             urlRepository.existsByShortCode(request.getCustomShortCode())) {
-            throw new RuntimeException("Short code already exists: " + request.getCustomShortCode());
+            throw new ShortCodeConflictException("Short code already exists: " + request.getCustomShortCode());
         }
         
-        url.setOriginalUrl(request.getOriginalUrl());
+        String previousShortCode = url.getShortCode();
+        
+        url.setOriginalUrl(UrlCanonicalizer.requireCanonical(request.getOriginalUrl()));
         url.setShortCode(request.getCustomShortCode());
         url.setExpiresAt(request.getExpiresAt());
+        // An edited URL is owned by whoever edited it and is no longer handed out to repeat shortens
+        url.setOriginalUrlHash(null);
         
         Url updatedUrl = urlRepository.save(url);
+        shortCodeFilter.add(updatedUrl.getShortCode());
+        replicaReadPolicy.recordWrite(previousShortCode);
+        replicaReadPolicy.recordWrite(updatedUrl.getShortCode());
+        if (!previousShortCode.equals(updatedUrl.getShortCode())) {
+            redirectSnapshotStore.recordDelete(previousShortCode);
+        }
+        redirectSnapshotStore.recordWrite(updatedUrl.getShortCode());
+        urlResolveCache.invalidateAfterCommit(previousShortCode, updatedUrl.getShortCode());
         log.info("Updated URL with ID: {}", id);
         
-        return convertToResponse(updatedUrl);
+        return urlMapper.toResponse(updatedUrl);
     }
     
     @Override
     public void deleteUrl(Long id) {
         log.info("Deleting URL with ID: {}", id);
         
-        if (!urlRepository.existsById(id)) {
-            throw new RuntimeException("URL not found with ID: " + id);
-        }
+        Url url = urlRepository.findById(id)
+                .orElseThrow(() -> new UrlNotFoundException("URL not found with ID: " + id));
         
-        urlRepository.deleteById(id);
+        urlRepository.delete(url);
+        replicaReadPolicy.recordWrite(url.getShortCode());
+        redirectSnapshotStore.recordDelete(url.getShortCode());
+        urlResolveCache.invalidateAfterCommit(url.getShortCode());
         log.info("Deleted URL with ID: {}", id);
     }
     
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void incrementClickCount(String shortCode) {
-        log.info("Incrementing click count for short code: {}", shortCode);
+        log.debug(LogMarkers.REDIRECT, "Incrementing click count for short code: {}", shortCode);
         
-        urlRepository.findByShortCode(shortCode).ifPresent(url -> {
-            url.setClickCount(url.getClickCount() + 1);
-            urlRepository.save(url);
-        });
+        // Buffered in memory and flushed in batches by ClickCountBuffer
+        clickCountBuffer.record(shortCode);
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deactivateExpiredUrls() {
         log.info("Deactivating expired URLs");
         
-        List<Url> expiredUrls = urlRepository.findExpiredUrls(LocalDateTime.now());
-        expiredUrls.forEach(url -> {
-            url.setIsActive(false);
-            urlRepository.save(url);
-        });
+        // Chunked bulk UPDATEs, each committed on its own; also runs on a schedule
+        int deactivated = expiredUrlSweeper.sweep();
         
-        log.info("Deactivated {} expired URLs", expiredUrls.size());
+        log.info("Deactivated {} expired URLs", deactivated);
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String generateUniqueShortCode() {
-        String shortCode;
-        do {
-            shortCode = generateRandomShortCode();
-        } while (urlRepository.existsByShortCode(shortCode));
-        
-        return shortCode;
-    }
-    
-    // Helper method to convert entity to DTO
-    private UrlResponse convertToResponse(Url url) {
-        UrlResponse response = new UrlResponse();
-        response.setId(url.getId());
-        response.setOriginalUrl(url.getOriginalUrl());
-        response.setShortCode(url.getShortCode());
-        response.setShortUrl(baseUrl + "/" + url.getShortCode());
-        response.setClickCount(url.getClickCount());
-        response.setIsActive(url.getIsActive());
-        response.setExpiresAt(url.getExpiresAt());
-        response.setCreatedAt(url.getCreatedAt());
-        response.setUpdatedAt(url.getUpdatedAt());
-        return response;
+        // The generator never hands the same code out twice, so the code is reserved for the caller
+        return urlMetrics.observe(UrlMetrics.CODE_GENERATION, shortCodeGenerator::nextCode);
     }
     
-    // Helper method to generate random short code
-    private String generateRandomShortCode() {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-        StringBuilder sb = new StringBuilder();
-        Random random = new Random();
-        
-        for (int i = 0; i < 6; i++) {
-            sb.append(chars.charAt(random.nextInt(chars.length())));
+    // Helper method to encode the last ID of a page as an opaque cursor
+    private String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Helper method to decode a cursor; no cursor means the first page
+    private long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+    
+    // Helper method to write one export row as JSON
+    private void writeJsonRow(SequenceWriter writer, UrlResponse response) {
+        try {
+            writer.write(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    // Helper method to write one export row as CSV
+    private void writeCsvRow(Writer writer, UrlResponse response) {
+        try {
+            writer.write(String.join(",",
+                    String.valueOf(response.getId()),
+                    csvField(response.getOriginalUrl()),
+                    csvField(response.getShortCode()),
+                    csvField(response.getShortUrl()),
+                    String.valueOf(response.getClickCount()),
+                    String.valueOf(response.getIsActive()),
+                    csvField(response.getExpiresAt()),
+                    csvField(response.getCreatedAt()),
+                    csvField(response.getUpdatedAt())));
+            writer.write("\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    // Helper method to quote a CSV field when needed
+    private String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+    
+    // Helper method to look a short code up through the short code filter and the resolve cache;
+    // codes the filter rules out never take up a cache entry
+    private Optional<UrlResponse> resolve(String shortCode) {
+        return urlMetrics.observe(UrlMetrics.RESOLVE, () -> shortCodeFilter.mightContain(shortCode)
+                ? urlResolveCache.get(shortCode, this::loadUrl)
+                : Optional.<UrlResponse>empty(), "view", "full");
+    }
+    
+    // Helper method to load a URL for the resolve cache; inactive URLs are cached too
+    // so they can be told apart from unknown codes. Reads go to a replica when one is
+    // configured, falling back to the primary for codes that may not have replicated yet
+    private Optional<UrlResponse> loadUrl(String shortCode) {
+        Optional<Url> url = replicaReadPolicy.read(shortCode,
+                () -> urlMetrics.database("find_url", () -> urlRepository.findByShortCode(shortCode)));
+        if (url.isEmpty()) {
+            shortCodeFilter.recordFalsePositive();
+        }
+        return url.map(urlMapper::toResponse);
+    }
+    
+    private static boolean isExpired(LocalDateTime expiresAt) {
+        return expiresAt != null && !expiresAt.isAfter(LocalDateTime.now());
+    }
+    
+    // Helper method to load a redirect target for the redirect cache
+    private Optional<RedirectTarget> loadRedirectTarget(String shortCode) {
+        // Codes older than the snapshot never need the database
+        Optional<RedirectTarget> snapshotTarget = redirectSnapshotStore.find(shortCode);
+        if (snapshotTarget.isPresent()) {
+            return snapshotTarget;
         }
         
-        return sb.toString();
+        Optional<RedirectTarget> target = replicaReadPolicy.read(shortCode,
+                () -> urlMetrics.database("find_redirect_target",
+                        () -> urlRepository.findRedirectTargetByShortCode(shortCode)));
+        if (target.isEmpty()) {
+            shortCodeFilter.recordFalsePositive();
+        }
+        return target;
     }
 }
@@ -0,0 +1,163 @@
+package com.project.url_shortener_be.snapshot;
+
+import com.project.url_shortener_be.dto.RedirectTarget;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Read-only, memory-mapped view of a redirect snapshot file. Layout (big-endian):
+ *
+ *   header  magic int, version int, watermark long (epoch millis, UTC), count int, data start int
+ *   index   count entries of a short code (KEY_WIDTH bytes, zero padded) and an int data offset,
+ *           sorted by code bytes
+ *   data    per entry: expires at long (epoch millis, UTC, or NO_EXPIRY), url length
+ *           unsigned short, url bytes (UTF-8)
+ *
+ * The index is binary searched in place with absolute reads, so finding a code
+ * allocates nothing and the view is safe to share between threads. Every
+ * SAMPLE_INTERVALth key is also kept in a small on-heap array, which narrows the
+ * search to one block before the mapping is touched. Only the target returned
+ * by {@link #targetAt(int)} is materialized on the heap.
+ */
+public final class RedirectSnapshot {
+
+    static final int MAGIC = 0x55524C53;
+    static final int VERSION = 1;
+    static final int KEY_WIDTH = 10;
+    static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES + 2 * Integer.BYTES;
+    static final int INDEX_ENTRY_SIZE = KEY_WIDTH + Integer.BYTES;
+    static final long NO_EXPIRY = Long.MIN_VALUE;
+    private static final int SAMPLE_INTERVAL = 64;
+
+    private final MappedByteBuffer buffer;
+    private final LocalDateTime watermark;
+    private final int count;
+    private final int dataStart;
+    // First 8 key bytes of every SAMPLE_INTERVALth entry, sign-flipped so signed order is byte order
+    private final long[] sampledHeads;
+
+    private RedirectSnapshot(MappedByteBuffer buffer, LocalDateTime watermark, int count, int dataStart) {
+        this.buffer = buffer;
+        this.watermark = watermark;
+        this.count = count;
+        this.dataStart = dataStart;
+        this.sampledHeads = new long[(count + SAMPLE_INTERVAL - 1) / SAMPLE_INTERVAL];
+        for (int i = 0; i < sampledHeads.length; i++) {
+            sampledHeads[i] = buffer.getLong(HEADER_SIZE + i * SAMPLE_INTERVAL * INDEX_ENTRY_SIZE) ^ Long.MIN_VALUE;
+        }
+    }
+
+    // Map a snapshot file; the mapping stays valid after the file is replaced or deleted
+    public static RedirectSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected redirect snapshot size " + size);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("Not a redirect snapshot (version " + VERSION + ")");
+            }
+
+            LocalDateTime watermark = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(buffer.getLong(2 * Integer.BYTES)), ZoneOffset.UTC);
+            int count = buffer.getInt(2 * Integer.BYTES + Long.BYTES);
+            int dataStart = buffer.getInt(3 * Integer.BYTES + Long.BYTES);
+            if (count < 0 || dataStart != HEADER_SIZE + (long) count * INDEX_ENTRY_SIZE || dataStart > size) {
+                throw new IOException("Corrupt redirect snapshot header");
+            }
+            return new RedirectSnapshot(buffer, watermark, count, dataStart);
+        }
+    }
+
+    // Position of the code in the index, or -1 when the snapshot does not contain it
+    public int find(String shortCode) {
+        int length = shortCode.length();
+        if (length == 0 || length > KEY_WIDTH) {
+            return -1;
+        }
+
+        // Pack the code the way keys are stored: the first 8 bytes as a long, the rest as a short
+        long head = 0;
+        int tail = 0;
+        for (int i = 0; i < KEY_WIDTH; i++) {
+            int c = i < length ? shortCode.charAt(i) : 0;
+            if (i < length && (c == 0 || c > 0x7F)) {
+                return -1;
+            }
+            if (i < Long.BYTES) {
+                head = head << 8 | c;
+            } else {
+                tail = tail << 8 | c;
+            }
+        }
+
+        // Blocks whose first key is below the code cannot hold it past their end, and the
+        // code comes before any block whose first key is above it
+        int below = countSamples(head ^ Long.MIN_VALUE, false);
+        int notAbove = countSamples(head ^ Long.MIN_VALUE, true);
+        int low = Math.max(0, (below - 1) * SAMPLE_INTERVAL);
+        int high = Math.min(count, notAbove * SAMPLE_INTERVAL) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int position = HEADER_SIZE + mid * INDEX_ENTRY_SIZE;
+            int comparison = Long.compareUnsigned(buffer.getLong(position), head);
+            if (comparison == 0) {
+                comparison = Integer.compare(Short.toUnsignedInt(buffer.getShort(position + Long.BYTES)), tail);
+            }
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public RedirectTarget targetAt(int index) {
+        int position = dataStart + buffer.getInt(HEADER_SIZE + index * INDEX_ENTRY_SIZE + KEY_WIDTH);
+        long expiresAt = buffer.getLong(position);
+        int urlLength = Short.toUnsignedInt(buffer.getShort(position + Long.BYTES));
+
+        byte[] url = new byte[urlLength];
+        buffer.get(position + Long.BYTES + Short.BYTES, url);
+        return new RedirectTarget(new String(url, StandardCharsets.UTF_8), true,
+                expiresAt == NO_EXPIRY ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneOffset.UTC));
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Time the export started; every row changed after it may be missing
+    public LocalDateTime watermark() {
+        return watermark;
+    }
+
+    // Number of sampled heads below (or, inclusive, not above) the given sign-flipped head
+    private int countSamples(long flippedHead, boolean inclusive) {
+        int low = 0;
+        int high = sampledHeads.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long sampled = sampledHeads[mid];
+            if (sampled < flippedHead || (inclusive && sampled == flippedHead)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
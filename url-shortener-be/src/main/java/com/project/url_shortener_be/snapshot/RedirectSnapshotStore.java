@@ -0,0 +1,329 @@
+package com.project.url_shortener_be.snapshot;
+
+import com.project.url_shortener_be.dto.RedirectTarget;
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves redirect targets from a memory-mapped {@link RedirectSnapshot} of every
+ * active URL, so redirects for codes older than the snapshot keep working
+ * without the database.
+ *
+ * The snapshot is exported periodically (or read from a file another node
+ * exported) and kept current by a delta scan on updated_at into an on-heap
+ * overlay. Deleted rows leave nothing for that scan to find, so deletes (and the
+ * old code of a short code change) are also recorded in url_deletions, which the
+ * delta scan reads too. Codes written by this node are sent to the database until
+ * a delta scan has seen the write; local deletes are remembered as tombstones
+ * until a newer snapshot no longer contains the code. An empty answer from
+ * {@link #find(String)} means the snapshot cannot tell and the caller must ask
+ * the database.
+ */
+@Component
+@Slf4j
+public class RedirectSnapshotStore {
+
+    // Answer for deleted codes; inactive, so redirects treat it as not found
+    private static final RedirectTarget DELETED = new RedirectTarget(null, false, null);
+
+    private final UrlJdbcRepository urlJdbcRepository;
+    private final boolean enabled;
+    private final boolean exportEnabled;
+    private final Path path;
+    private final Duration refreshOverlap;
+    private final int maxOverlaySize;
+    private final Duration deletionRetention;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final AtomicBoolean exportRunning = new AtomicBoolean();
+    private final Map<String, LocalDateTime> pendingWrites = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> deletes = new ConcurrentHashMap<>();
+    private final Counter snapshotHits;
+    private final Counter overlayHits;
+    private final Counter misses;
+
+    private volatile View view;
+    private volatile LocalDateTime watermark;
+    private volatile FileTime mappedModified;
+
+    // A snapshot together with the rows changed since it was taken
+    private record View(RedirectSnapshot snapshot, Map<String, RedirectTarget> overlay) {
+    }
+
+    public RedirectSnapshotStore(UrlJdbcRepository urlJdbcRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.snapshot.enabled:false}") boolean enabled,
+                                 @Value("${app.snapshot.export-enabled:true}") boolean exportEnabled,
+                                 @Value("${app.snapshot.path:data/redirect-snapshot.bin}") String path,
+                                 @Value("${app.snapshot.refresh-overlap:1m}") Duration refreshOverlap,
+                                 @Value("${app.snapshot.max-overlay-size:1000000}") int maxOverlaySize,
+                                 @Value("${app.snapshot.deletion-retention:7d}") Duration deletionRetention) {
+        this.urlJdbcRepository = urlJdbcRepository;
+        this.enabled = enabled;
+        this.exportEnabled = exportEnabled;
+        this.path = Path.of(path);
+        this.refreshOverlap = refreshOverlap;
+        this.maxOverlaySize = maxOverlaySize;
+        this.deletionRetention = deletionRetention;
+
+        this.snapshotHits = Counter.builder("url.snapshot.lookups")
+                .description("Redirect lookups answered by the snapshot")
+                .tag("result", "snapshot")
+                .register(meterRegistry);
+        this.overlayHits = Counter.builder("url.snapshot.lookups")
+                .description("Redirect lookups answered by the snapshot")
+                .tag("result", "overlay")
+                .register(meterRegistry);
+        this.misses = Counter.builder("url.snapshot.lookups")
+                .description("Redirect lookups answered by the snapshot")
+                .tag("result", "database")
+                .register(meterRegistry);
+        Gauge.builder("url.snapshot.entries", this, s -> s.view == null ? 0 : s.view.snapshot().size())
+                .description("Active URLs in the mapped snapshot")
+                .register(meterRegistry);
+        Gauge.builder("url.snapshot.overlay.size", this, s -> s.view == null ? 0 : s.view.overlay().size())
+                .description("Rows changed since the snapshot, held on heap")
+                .register(meterRegistry);
+        Gauge.builder("url.snapshot.age", this, RedirectSnapshotStore::ageSeconds)
+                .description("Seconds since the mapped snapshot was exported")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    // Target from the snapshot or its overlay; empty when the database has to answer
+    public Optional<RedirectTarget> find(String shortCode) {
+        View current = view;
+        if (current == null) {
+            return Optional.empty();
+        }
+        if (pendingWrites.containsKey(shortCode)) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (deletes.containsKey(shortCode)) {
+            overlayHits.increment();
+            return Optional.of(DELETED);
+        }
+
+        RedirectTarget changed = current.overlay().get(shortCode);
+        if (changed != null) {
+            overlayHits.increment();
+            return Optional.of(changed);
+        }
+
+        int index = current.snapshot().find(shortCode);
+        if (index < 0) {
+            misses.increment();
+            return Optional.empty();
+        }
+        snapshotHits.increment();
+        return Optional.of(current.snapshot().targetAt(index));
+    }
+
+    // Record a local insert or update; the code is read from the database until a delta scan sees it
+    public void recordWrite(String shortCode) {
+        if (enabled) {
+            deletes.remove(shortCode);
+            pendingWrites.put(shortCode, LocalDateTime.now());
+        }
+    }
+
+    // Record a local delete (or the old code of a short code change). Call inside the deleting
+    // transaction so other nodes see the deletion exactly when the row change commits
+    public void recordDelete(String shortCode) {
+        if (enabled) {
+            LocalDateTime deletedAt = LocalDateTime.now();
+            urlJdbcRepository.recordDeletion(shortCode, deletedAt);
+            pendingWrites.remove(shortCode);
+            deletes.put(shortCode, deletedAt);
+        }
+    }
+
+    public boolean isReady() {
+        return view != null;
+    }
+
+    // Map (or first export) in the background; lookups go to the database until then
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+
+        Thread loader = new Thread(() -> {
+            if (!Files.isRegularFile(path) && exportEnabled) {
+                export();
+            }
+            refresh();
+        }, "redirect-snapshot-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(fixedDelayString = "${app.snapshot.refresh-interval-ms:5000}")
+    public void scheduledRefresh() {
+        if (enabled) {
+            refresh();
+        }
+    }
+
+    // The export streams the whole table, so it runs on its own thread instead of the scheduler's
+    @Scheduled(initialDelayString = "${app.snapshot.export-interval-ms:3600000}",
+               fixedDelayString = "${app.snapshot.export-interval-ms:3600000}")
+    public void scheduledExport() {
+        if (enabled && exportEnabled) {
+            exportInBackground();
+        }
+    }
+
+    // Deletions only matter to snapshots taken before them; a node mapping a file older than the
+    // retention keeps redirecting codes deleted before the purge until a newer file is exported
+    @Scheduled(initialDelayString = "${app.snapshot.export-interval-ms:3600000}",
+               fixedDelayString = "${app.snapshot.export-interval-ms:3600000}")
+    public void purgeDeletions() {
+        if (!enabled) {
+            return;
+        }
+        int purged = urlJdbcRepository.deleteDeletionsBefore(LocalDateTime.now().minus(deletionRetention));
+        if (purged > 0) {
+            log.info("Purged {} short code deletions older than {}", purged, deletionRetention);
+        }
+    }
+
+    // Map a newer snapshot file if there is one, otherwise apply the rows changed since the watermark
+    void refresh() {
+        refreshLock.lock();
+        try {
+            FileTime modified = Files.isRegularFile(path) ? Files.getLastModifiedTime(path) : null;
+            if (modified != null && !modified.equals(mappedModified)) {
+                mapSnapshot(modified);
+            } else if (view != null) {
+                refreshDelta(view.overlay());
+            }
+
+            if (view != null && exportEnabled && view.overlay().size() > maxOverlaySize) {
+                log.info("Redirect snapshot overlay holds {} rows, exporting a new snapshot", view.overlay().size());
+                exportInBackground();
+            }
+        } catch (IOException e) {
+            log.warn("Could not map redirect snapshot {}: {}", path, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Redirect snapshot refresh failed: {}", e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Stream every active URL in code order into a new snapshot file; the next refresh maps it
+    void export() {
+        long start = System.nanoTime();
+        LocalDateTime scanStart = LocalDateTime.now();
+        try (RedirectSnapshotWriter writer = new RedirectSnapshotWriter(path)) {
+            urlJdbcRepository.streamRedirectTargets(null, (shortCode, target) -> {
+                try {
+                    writer.add(shortCode, target);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.commit(scanStart);
+            log.info("Exported redirect snapshot of {} URLs ({} left to the database) to {} in {} ms",
+                    writer.count(), writer.skipped(), path, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not write redirect snapshot {}: {}", path, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Redirect snapshot export failed: {}", e.getMessage());
+        }
+    }
+
+    private void exportInBackground() {
+        if (!exportRunning.compareAndSet(false, true)) {
+            return;
+        }
+
+        Thread exporter = new Thread(() -> {
+            try {
+                export();
+            } finally {
+                exportRunning.set(false);
+            }
+        }, "redirect-snapshot-export");
+        exporter.setDaemon(true);
+        exporter.start();
+    }
+
+    // Swap in a snapshot together with the rows changed since it was taken. If the
+    // delta cannot be read the snapshot is still served when nothing else is, since
+    // it is better than no answer while the database is down
+    private void mapSnapshot(FileTime modified) throws IOException {
+        RedirectSnapshot snapshot = RedirectSnapshot.open(path);
+        LocalDateTime previousWatermark = watermark;
+        Map<String, RedirectTarget> overlay = new ConcurrentHashMap<>();
+        watermark = snapshot.watermark();
+        try {
+            refreshDelta(overlay);
+        } catch (RuntimeException e) {
+            if (view != null) {
+                watermark = previousWatermark;
+                throw e;
+            }
+            log.warn("Serving redirect snapshot without changes since {}: {}", snapshot.watermark(), e.getMessage());
+        }
+
+        view = new View(snapshot, overlay);
+        mappedModified = modified;
+        // Deletes before the snapshot are reflected in it
+        LocalDateTime coveredBefore = snapshot.watermark().minus(refreshOverlap);
+        deletes.values().removeIf(deletedAt -> deletedAt.isBefore(coveredBefore));
+        log.info("Mapped redirect snapshot {} with {} URLs (taken at {})", path, snapshot.size(), snapshot.watermark());
+    }
+
+    // Apply deletions and rows changed since the watermark, minus an overlap for transactions
+    // that committed after rows with later timestamps
+    private void refreshDelta(Map<String, RedirectTarget> overlay) {
+        LocalDateTime scanStart = LocalDateTime.now();
+        // Local writes (and deletes) that committed before this scan are reflected in its rows
+        LocalDateTime seenBefore = scanStart.minus(refreshOverlap);
+        LocalDateTime changedSince = watermark.minus(refreshOverlap);
+        // Deletions first, so a code deleted and then created again ends up with its new row
+        urlJdbcRepository.findDeletedSince(changedSince).forEach(shortCode -> overlay.put(shortCode, DELETED));
+        long rows = urlJdbcRepository.streamRedirectTargets(changedSince, (shortCode, target) -> {
+            overlay.put(shortCode, target);
+            deletes.computeIfPresent(shortCode, (code, deletedAt) -> deletedAt.isBefore(seenBefore) ? null : deletedAt);
+        });
+        watermark = scanStart;
+        pendingWrites.values().removeIf(writtenAt -> writtenAt.isBefore(seenBefore));
+        log.debug("Redirect snapshot refreshed with {} changed rows", rows);
+    }
+
+    private double ageSeconds() {
+        View current = view;
+        if (current == null) {
+            return 0;
+        }
+        return Duration.between(current.snapshot().watermark().toInstant(ZoneOffset.UTC),
+                LocalDateTime.now().toInstant(ZoneOffset.UTC)).toSeconds();
+    }
+}
@@ -0,0 +1,152 @@
+package com.project.url_shortener_be.snapshot;
+
+import com.project.url_shortener_be.dto.RedirectTarget;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Writes a {@link RedirectSnapshot} from rows streamed in short code byte order.
+ * Index and data are spooled to temp files next to the target, so memory use
+ * does not depend on the number of rows, then joined behind the header and
+ * atomically moved into place by {@link #commit(LocalDateTime)}.
+ */
+public final class RedirectSnapshotWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path target;
+    private final Path indexFile;
+    private final Path dataFile;
+    private final DataOutputStream index;
+    private final DataOutputStream data;
+    private final byte[] previousKey = new byte[RedirectSnapshot.KEY_WIDTH];
+    private final byte[] key = new byte[RedirectSnapshot.KEY_WIDTH];
+
+    private int count;
+    private long dataSize;
+    private long skipped;
+
+    public RedirectSnapshotWriter(Path target) throws IOException {
+        this.target = target;
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        String prefix = target.getFileName().toString();
+        this.indexFile = Files.createTempFile(directory, prefix, ".index.tmp");
+        this.dataFile = Files.createTempFile(directory, prefix, ".data.tmp");
+        this.index = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile), BUFFER_SIZE));
+        this.data = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dataFile), BUFFER_SIZE));
+    }
+
+    // Append a row; codes must arrive in strictly increasing byte order. Returns false
+    // for rows the layout cannot hold, which the caller leaves to the database
+    public boolean add(String shortCode, RedirectTarget redirectTarget) throws IOException {
+        byte[] url = redirectTarget.getOriginalUrl().getBytes(StandardCharsets.UTF_8);
+        if (!toKey(shortCode) || url.length > 0xFFFF) {
+            skipped++;
+            return false;
+        }
+        if (count > 0 && compare(previousKey, key) >= 0) {
+            throw new IllegalStateException("Redirect snapshot rows are not in short code byte order at " + shortCode);
+        }
+
+        int entrySize = Long.BYTES + Short.BYTES + url.length;
+        long fileSize = RedirectSnapshot.HEADER_SIZE + (long) (count + 1) * RedirectSnapshot.INDEX_ENTRY_SIZE
+                + dataSize + entrySize;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Redirect snapshot would exceed " + Integer.MAX_VALUE + " bytes");
+        }
+
+        index.write(key);
+        index.writeInt((int) dataSize);
+        LocalDateTime expiresAt = redirectTarget.getExpiresAt();
+        data.writeLong(expiresAt == null ? RedirectSnapshot.NO_EXPIRY : expiresAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+        data.writeShort(url.length);
+        data.write(url);
+
+        System.arraycopy(key, 0, previousKey, 0, key.length);
+        dataSize += entrySize;
+        count++;
+        return true;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long skipped() {
+        return skipped;
+    }
+
+    // Join header, index and data into one file and atomically replace the target
+    public void commit(LocalDateTime watermark) throws IOException {
+        index.close();
+        data.close();
+
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+                out.writeInt(RedirectSnapshot.MAGIC);
+                out.writeInt(RedirectSnapshot.VERSION);
+                out.writeLong(watermark.toInstant(ZoneOffset.UTC).toEpochMilli());
+                out.writeInt(count);
+                out.writeInt(RedirectSnapshot.HEADER_SIZE + count * RedirectSnapshot.INDEX_ENTRY_SIZE);
+                copy(indexFile, out);
+                copy(dataFile, out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        index.close();
+        data.close();
+        Files.deleteIfExists(indexFile);
+        Files.deleteIfExists(dataFile);
+    }
+
+    // Zero-padded ASCII key; false when the code does not fit the fixed width
+    private boolean toKey(String shortCode) {
+        int length = shortCode.length();
+        if (length == 0 || length > key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            char c = i < length ? shortCode.charAt(i) : 0;
+            if (c > 0x7F || (i < length && c == 0)) {
+                return false;
+            }
+            key[i] = (byte) c;
+        }
+        return true;
+    }
+
+    private static int compare(byte[] left, byte[] right) {
+        for (int i = 0; i < left.length; i++) {
+            if (left[i] != right[i]) {
+                return (left[i] & 0xFF) - (right[i] & 0xFF);
+            }
+        }
+        return 0;
+    }
+
+    private static void copy(Path source, OutputStream out) throws IOException {
+        try (InputStream in = Files.newInputStream(source)) {
+            in.transferTo(out);
+        }
+    }
+}
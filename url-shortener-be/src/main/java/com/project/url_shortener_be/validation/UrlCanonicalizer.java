@@ -0,0 +1,354 @@
+package com.project.url_shortener_be.validation;
+
+/**
+ * Single-pass validator and canonicalizer for original URLs.
+ * Walks the input left to right with no regular expressions or backtracking, so every
+ * input (valid or not) is handled in time linear in its length, and inputs
+ * over MAX_LENGTH are rejected before they are scanned.
+ *
+ * Accepted: http and https URLs (a missing scheme means http) with a DNS host
+ * name, an IPv4 address or a bracketed IPv6 literal, and an optional port.
+ * User info is rejected. The canonical form lower-cases scheme and host, drops
+ * a default port, turns an empty path into "/", upper-cases percent-encoding
+ * hex digits and percent-encodes characters that may not appear in a URL
+ * (spaces, non-ASCII text). Validation alone allocates nothing.
+ */
+public final class UrlCanonicalizer {
+
+    public static final int MAX_LENGTH = 2048;
+
+    private static final int MAX_HOST_LENGTH = 253;
+    private static final int MAX_LABEL_LENGTH = 63;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    // ASCII characters that may appear unencoded after the host (RFC 3986 unreserved and reserved)
+    private static final boolean[] URL_CHARS = new boolean[128];
+
+    static {
+        String allowed = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-._~:/?#[]@!$&'()*+,;=";
+        for (int i = 0; i < allowed.length(); i++) {
+            URL_CHARS[allowed.charAt(i)] = true;
+        }
+    }
+
+    private UrlCanonicalizer() {
+    }
+
+    // Why the URL is rejected, or null when it is valid
+    public static String rejectionReason(String url) {
+        return parse(url, null);
+    }
+
+    // Canonical form of the URL, or null when it is not valid
+    public static String canonicalize(String url) {
+        if (url == null) {
+            return null;
+        }
+        StringBuilder canonical = new StringBuilder(url.length() + 8);
+        return parse(url, canonical) == null ? canonical.toString() : null;
+    }
+
+    // Canonical form of a URL that is expected to be valid (already checked by @ValidUrl)
+    public static String requireCanonical(String url) {
+        StringBuilder canonical = new StringBuilder(url == null ? 0 : url.length() + 8);
+        String reason = parse(url, canonical);
+        if (reason != null) {
+            throw new IllegalArgumentException("Invalid URL: " + reason);
+        }
+        return canonical.toString();
+    }
+
+    // Validates url and, when out is given, appends its canonical form to it
+    private static String parse(String url, StringBuilder out) {
+        if (url == null) {
+            return "URL is required";
+        }
+        if (url.length() > MAX_LENGTH + 64) {
+            // Checked before trimming so oversized input is never scanned
+            return "URL is longer than " + MAX_LENGTH + " characters";
+        }
+
+        int start = 0;
+        int end = url.length();
+        while (start < end && url.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && url.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return "URL is empty";
+        }
+        if (end - start > MAX_LENGTH) {
+            return "URL is longer than " + MAX_LENGTH + " characters";
+        }
+
+        // Scheme
+        int i = start;
+        int defaultPort;
+        int length;
+        if (url.regionMatches(true, i, "https://", 0, 8)) {
+            defaultPort = 443;
+            i += 8;
+            length = append(out, "https://");
+        } else if (url.regionMatches(true, i, "http://", 0, 7)) {
+            defaultPort = 80;
+            i += 7;
+            length = append(out, "http://");
+        } else if (hasOtherScheme(url, i, end)) {
+            return "Only http and https URLs are supported";
+        } else {
+            defaultPort = 80;
+            length = append(out, "http://");
+        }
+
+        // Host; user info ("user:password@") would otherwise read as a host and port
+        for (int j = i; j < end; j++) {
+            char c = url.charAt(j);
+            if (c == '/' || c == '?' || c == '#') {
+                break;
+            }
+            if (c == '@') {
+                return "User info is not allowed in URLs";
+            }
+        }
+        int hostStart = i;
+        if (i < end && url.charAt(i) == '[') {
+            if (out != null) {
+                out.append('[');
+            }
+            i++;
+            while (i < end && url.charAt(i) != ']') {
+                char c = url.charAt(i);
+                if (!(isHex(c) || c == ':' || c == '.')) {
+                    return "IPv6 address contains invalid characters";
+                }
+                if (out != null) {
+                    out.append(Character.toLowerCase(c));
+                }
+                i++;
+            }
+            if (i == end || i - hostStart < 3) {
+                return "IPv6 address is malformed";
+            }
+            i++;
+            if (out != null) {
+                out.append(']');
+            }
+            length += i - hostStart;
+        } else {
+            int labels = 0;
+            int labelLength = 0;
+            boolean labelAllDigits = true;
+            boolean allLabelsNumeric = true;
+            int octet = 0;
+            boolean tldStartsWithLetter = false;
+            char previous = '.';
+            for (; i < end; i++) {
+                char c = url.charAt(i);
+                if (c == '/' || c == '?' || c == '#' || c == ':') {
+                    break;
+                }
+                if (c == '.') {
+                    if (labelLength == 0) {
+                        return "Host has an empty label";
+                    }
+                    if (previous == '-') {
+                        return "Host label ends with a hyphen";
+                    }
+                    labels++;
+                    allLabelsNumeric &= labelAllDigits && octet <= 255;
+                    labelLength = 0;
+                    labelAllDigits = true;
+                    octet = 0;
+                } else if (isAsciiLetterOrDigit(c) || c == '-') {
+                    if (labelLength == 0) {
+                        if (c == '-') {
+                            return "Host label starts with a hyphen";
+                        }
+                        tldStartsWithLetter = !isDigit(c);
+                    }
+                    if (++labelLength > MAX_LABEL_LENGTH) {
+                        return "Host label is longer than " + MAX_LABEL_LENGTH + " characters";
+                    }
+                    if (isDigit(c)) {
+                        octet = Math.min(octet * 10 + (c - '0'), 1000);
+                    } else {
+                        labelAllDigits = false;
+                    }
+                } else if (c >= 0x80) {
+                    return "Internationalized host names must be sent in punycode (xn--) form";
+                } else {
+                    return "Host contains invalid characters";
+                }
+                if (out != null) {
+                    out.append(Character.toLowerCase(c));
+                }
+                previous = c;
+            }
+            int hostLength = i - hostStart;
+            if (hostLength == 0) {
+                return "Host is missing";
+            }
+            if (hostLength > MAX_HOST_LENGTH) {
+                return "Host is longer than " + MAX_HOST_LENGTH + " characters";
+            }
+            if (labelLength == 0) {
+                return "Host ends with a dot";
+            }
+            if (previous == '-') {
+                return "Host label ends with a hyphen";
+            }
+            labels++;
+            allLabelsNumeric &= labelAllDigits && octet <= 255;
+            if (labels < 2) {
+                return "Host must be a fully qualified domain name or an IP address";
+            }
+            if (labelAllDigits) {
+                // Numeric top label: only a dotted-quad IPv4 address is accepted
+                if (labels != 4 || !allLabelsNumeric) {
+                    return "Host is not a valid IPv4 address";
+                }
+            } else if (!tldStartsWithLetter || labelLength < 2) {
+                return "Host has an invalid top-level domain";
+            }
+            length += hostLength;
+        }
+
+        // Port
+        if (i < end && url.charAt(i) == ':') {
+            i++;
+            int port = 0;
+            int digits = 0;
+            for (; i < end && isDigit(url.charAt(i)); i++) {
+                if (++digits > 5) {
+                    return "Port is out of range";
+                }
+                port = port * 10 + (url.charAt(i) - '0');
+            }
+            if (i < end && url.charAt(i) != '/' && url.charAt(i) != '?' && url.charAt(i) != '#') {
+                return "Port must be numeric";
+            }
+            if (digits > 0 && (port == 0 || port > 65535)) {
+                return "Port is out of range";
+            }
+            // An empty or default port is dropped
+            if (digits > 0 && port != defaultPort) {
+                length += 1 + digits;
+                if (out != null) {
+                    out.append(':').append(port);
+                }
+            }
+        }
+
+        // Path, query and fragment
+        if (i == end || url.charAt(i) != '/') {
+            length++;
+            if (out != null) {
+                out.append('/');
+            }
+        }
+        boolean inFragment = false;
+        while (i < end) {
+            char c = url.charAt(i);
+            if (c < 0x20 || c == 0x7F) {
+                return "URL contains control characters";
+            }
+            if (c == '%') {
+                if (i + 2 >= end || !isHex(url.charAt(i + 1)) || !isHex(url.charAt(i + 2))) {
+                    return "URL contains a malformed percent-encoding";
+                }
+                if (out != null) {
+                    out.append('%')
+                            .append(Character.toUpperCase(url.charAt(i + 1)))
+                            .append(Character.toUpperCase(url.charAt(i + 2)));
+                }
+                length += 3;
+                i += 3;
+            } else if (c < 0x80 && URL_CHARS[c] && !(c == '#' && inFragment)) {
+                inFragment |= c == '#';
+                length++;
+                if (out != null) {
+                    out.append(c);
+                }
+                i++;
+            } else if (c < 0x80) {
+                // Space, quotes, brackets and the like; a second '#' is data, not a delimiter
+                length += 3;
+                if (out != null) {
+                    appendEncoded(out, c);
+                }
+                i++;
+            } else {
+                int codePoint = url.codePointAt(i);
+                if (codePoint < 0x10000 && Character.isSurrogate((char) codePoint)) {
+                    return "URL contains an unpaired surrogate character";
+                }
+                int bytes = codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+                length += 3 * bytes;
+                if (out != null) {
+                    appendUtf8(out, codePoint, bytes);
+                }
+                i += Character.charCount(codePoint);
+            }
+            if (length > MAX_LENGTH) {
+                return "URL is longer than " + MAX_LENGTH + " characters once encoded";
+            }
+        }
+        return null;
+    }
+
+    // "name:" followed by "//" or by anything but a port number is a scheme we do not accept
+    private static boolean hasOtherScheme(String url, int start, int end) {
+        int i = start;
+        while (i < end && (isAsciiLetterOrDigit(url.charAt(i)) || url.charAt(i) == '+'
+                || url.charAt(i) == '-' || url.charAt(i) == '.')) {
+            i++;
+        }
+        if (i == start || i == end || url.charAt(i) != ':' || !isAsciiLetter(url.charAt(start))) {
+            return false;
+        }
+        return i + 1 == end || !isDigit(url.charAt(i + 1));
+    }
+
+    private static int append(StringBuilder out, String text) {
+        if (out != null) {
+            out.append(text);
+        }
+        return text.length();
+    }
+
+    private static void appendEncoded(StringBuilder out, int value) {
+        out.append('%').append(HEX[value >> 4]).append(HEX[value & 0xF]);
+    }
+
+    private static void appendUtf8(StringBuilder out, int codePoint, int bytes) {
+        if (bytes == 2) {
+            appendEncoded(out, 0xC0 | (codePoint >> 6));
+        } else if (bytes == 3) {
+            appendEncoded(out, 0xE0 | (codePoint >> 12));
+            appendEncoded(out, 0x80 | ((codePoint >> 6) & 0x3F));
+        } else {
+            appendEncoded(out, 0xF0 | (codePoint >> 18));
+            appendEncoded(out, 0x80 | ((codePoint >> 12) & 0x3F));
+            appendEncoded(out, 0x80 | ((codePoint >> 6) & 0x3F));
+        }
+        appendEncoded(out, 0x80 | (codePoint & 0x3F));
+    }
+
+    private static boolean isHex(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || isDigit(c);
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.url_shortener_be.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An http(s) URL that UrlCanonicalizer accepts. Null values are valid;
+ * combine with @NotBlank when the URL is required.
+ */
+@Documented
+@Constraint(validatedBy = ValidUrlValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidUrl {
+
+    String message() default "Please provide a valid URL";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
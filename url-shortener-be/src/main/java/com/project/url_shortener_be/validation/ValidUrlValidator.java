@@ -0,0 +1,30 @@
+package com.project.url_shortener_be.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class ValidUrlValidator implements ConstraintValidator<ValidUrl, String> {
+
+    private String message;
+
+    @Override
+    public void initialize(ValidUrl constraint) {
+        this.message = constraint.message();
+    }
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        String reason = UrlCanonicalizer.rejectionReason(value);
+        if (reason == null) {
+            return true;
+        }
+        // Say what is wrong instead of only that something is
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(message + " (" + reason + ")")
+                .addConstraintViolation();
+        return false;
+    }
+}
@@ -0,0 +1,11 @@
+-- Index for URL deduplication (app.dedupe.enabled) on the single urls table. Unique among
+-- active rows, so the loser of two concurrent identical creates fails its insert.
+-- Run once before enabling dedupe; the application keeps serving while it runs:
+--   psql -d url_shortener -v ON_ERROR_STOP=1 -f original-url-hash-index.sql
+-- Do not wrap it in a transaction (psql -1): CREATE INDEX CONCURRENTLY cannot run in one.
+-- If the build fails, drop the INVALID index it leaves behind and run the script again.
+-- Partitioned layouts cannot carry this index; the db/partitioning scripts create a
+-- non-unique one of the same name instead.
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_urls_original_url_hash ON urls (original_url_hash)
+    WHERE is_active AND original_url_hash IS NOT NULL;
@@ -0,0 +1,49 @@
+-- Converts the single urls table into a table hash-partitioned on short_code.
+-- Every lookup by short code (redirects, resolve, click flushes) prunes to one partition.
+-- Run once with the application stopped:
+--   psql -d url_shortener -v ON_ERROR_STOP=1 -f hash-partition-urls.sql
+-- Then start the application with app.partitioning.mode=hash. The old table is kept as
+-- urls_unpartitioned until it is dropped by hand (see README.md for the rollback).
+
+BEGIN;
+
+LOCK TABLE urls IN ACCESS EXCLUSIVE MODE;
+
+-- Free the names the new table and its indexes use
+ALTER TABLE urls RENAME TO urls_unpartitioned;
+ALTER TABLE urls_unpartitioned RENAME CONSTRAINT urls_pkey TO urls_unpartitioned_pkey;
+ALTER INDEX IF EXISTS idx_urls_active_expires_at RENAME TO idx_urls_unpartitioned_active_expires_at;
+ALTER INDEX IF EXISTS idx_urls_updated_at RENAME TO idx_urls_unpartitioned_updated_at;
+ALTER INDEX IF EXISTS idx_urls_original_url_hash RENAME TO idx_urls_unpartitioned_original_url_hash;
+
+-- Tables created before URL deduplication lack the hash column the entity maps
+ALTER TABLE urls_unpartitioned ADD COLUMN IF NOT EXISTS original_url_hash BYTEA;
+
+-- Same columns in the same order, so the copy below can use SELECT *
+CREATE TABLE urls (LIKE urls_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY HASH (short_code);
+
+-- Unique keys on a partitioned table must contain the partition key
+ALTER TABLE urls ADD CONSTRAINT urls_pkey PRIMARY KEY (id, short_code);
+ALTER TABLE urls ADD CONSTRAINT uk_urls_short_code UNIQUE (short_code);
+
+-- 16 partitions; choose a power of two so partitions can later be split by
+-- re-attaching with a doubled modulus
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE urls_h%s PARTITION OF urls FOR VALUES WITH (MODULUS 16, REMAINDER %s)', i, i);
+    END LOOP;
+END $$;
+
+INSERT INTO urls SELECT * FROM urls_unpartitioned;
+
+-- Same indexes as schema-postgresql.sql, created once per partition
+CREATE INDEX idx_urls_active_expires_at ON urls (expires_at) WHERE is_active AND expires_at IS NOT NULL;
+CREATE INDEX idx_urls_updated_at ON urls (updated_at);
+-- Dedupe lookups by original URL hash; not unique, since it lacks the partition key
+CREATE INDEX idx_urls_original_url_hash ON urls (original_url_hash) WHERE is_active AND original_url_hash IS NOT NULL;
+
+COMMIT;
+
+ANALYZE urls;
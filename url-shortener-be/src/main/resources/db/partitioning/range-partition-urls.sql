@@ -0,0 +1,82 @@
+-- Converts the single urls table into a table range-partitioned by created_at, one
+-- partition per month. Meant for expiry-heavy deployments: UrlPartitionManager drops a
+-- whole month once every URL in it has expired instead of deleting rows one by one.
+-- Run once with the application stopped:
+--   psql -d url_shortener -v ON_ERROR_STOP=1 -f range-partition-urls.sql
+-- Then start the application with app.partitioning.mode=range. The old table is kept as
+-- urls_unpartitioned until it is dropped by hand (see README.md for the rollback).
+
+BEGIN;
+
+LOCK TABLE urls IN ACCESS EXCLUSIVE MODE;
+
+-- Free the names the new table and its indexes use
+ALTER TABLE urls RENAME TO urls_unpartitioned;
+ALTER TABLE urls_unpartitioned RENAME CONSTRAINT urls_pkey TO urls_unpartitioned_pkey;
+ALTER INDEX IF EXISTS idx_urls_active_expires_at RENAME TO idx_urls_unpartitioned_active_expires_at;
+ALTER INDEX IF EXISTS idx_urls_updated_at RENAME TO idx_urls_unpartitioned_updated_at;
+ALTER INDEX IF EXISTS idx_urls_original_url_hash RENAME TO idx_urls_unpartitioned_original_url_hash;
+
+-- Tables created before URL deduplication lack the hash column the entity maps
+ALTER TABLE urls_unpartitioned ADD COLUMN IF NOT EXISTS original_url_hash BYTEA;
+
+-- Same columns in the same order, so the copy below can use SELECT *
+CREATE TABLE urls (LIKE urls_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (created_at);
+
+-- Unique keys on a partitioned table must contain the partition key, so short code
+-- uniqueness across months is enforced by a narrow claim table kept in step by a trigger
+ALTER TABLE urls ADD CONSTRAINT urls_pkey PRIMARY KEY (id, created_at);
+
+CREATE TABLE url_short_codes (
+    short_code VARCHAR(10) PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE OR REPLACE FUNCTION urls_claim_short_code() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO url_short_codes (short_code, created_at) VALUES (NEW.short_code, NEW.created_at);
+    ELSIF TG_OP = 'UPDATE' AND NEW.short_code <> OLD.short_code THEN
+        DELETE FROM url_short_codes WHERE short_code = OLD.short_code;
+        INSERT INTO url_short_codes (short_code, created_at) VALUES (NEW.short_code, NEW.created_at);
+    ELSIF TG_OP = 'DELETE' THEN
+        DELETE FROM url_short_codes WHERE short_code = OLD.short_code;
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+-- Monthly partitions from the oldest row up to three months ahead; the manager keeps
+-- creating future months from here on. The default partition only catches stray rows.
+DO $$
+DECLARE
+    month DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM urls_unpartitioned), now()));
+BEGIN
+    WHILE month <= date_trunc('month', now()) + INTERVAL '3 months' LOOP
+        EXECUTE format('CREATE TABLE urls_p%s PARTITION OF urls FOR VALUES FROM (%L) TO (%L)',
+                to_char(month, 'YYYYMM'), month, month + INTERVAL '1 month');
+        month := month + INTERVAL '1 month';
+    END LOOP;
+END $$;
+CREATE TABLE urls_pdefault PARTITION OF urls DEFAULT;
+
+INSERT INTO url_short_codes (short_code, created_at) SELECT short_code, created_at FROM urls_unpartitioned;
+INSERT INTO urls SELECT * FROM urls_unpartitioned;
+
+-- Created after the copy so the existing rows are not claimed twice
+CREATE TRIGGER urls_claim_short_code AFTER INSERT OR UPDATE OF short_code OR DELETE ON urls
+    FOR EACH ROW EXECUTE FUNCTION urls_claim_short_code();
+
+-- Per-partition short code index; a lookup probes one small index per live month
+CREATE INDEX idx_urls_short_code ON urls (short_code);
+-- Full expires_at index (NULLs included) so the manager can tell cheaply whether a month has fully expired
+CREATE INDEX idx_urls_expires_at ON urls (expires_at);
+-- Same indexes as schema-postgresql.sql, created once per partition
+CREATE INDEX idx_urls_active_expires_at ON urls (expires_at) WHERE is_active AND expires_at IS NOT NULL;
+CREATE INDEX idx_urls_updated_at ON urls (updated_at);
+-- Dedupe lookups by original URL hash; not unique, since it lacks the partition key
+CREATE INDEX idx_urls_original_url_hash ON urls (original_url_hash) WHERE is_active AND original_url_hash IS NOT NULL;
+
+COMMIT;
+
+ANALYZE urls;
@@ -0,0 +1,76 @@
+-- Complete schema for the urls store. Runs after Hibernate schema update
+-- (spring.jpa.defer-datasource-initialization=true) in the default profile, and is the
+-- deploy step that creates or upgrades the schema under the prod profile:
+--   psql -d url_shortener -v ON_ERROR_STOP=1 -f schema-postgresql.sql
+-- Every statement must be idempotent.
+
+-- Short code ID blocks; INCREMENT BY must equal app.codegen.block-size
+CREATE SEQUENCE IF NOT EXISTS short_code_seq START WITH 1 INCREMENT BY 1000;
+
+-- URL IDs; INCREMENT BY must equal the allocationSize of Url.id
+CREATE SEQUENCE IF NOT EXISTS url_id_seq START WITH 1 INCREMENT BY 50;
+
+-- Mirrors the Url entity. The db/partitioning scripts replace this table with a
+-- partitioned one, which the IF NOT EXISTS below then leaves alone.
+CREATE TABLE IF NOT EXISTS urls (
+    id BIGINT NOT NULL,
+    original_url VARCHAR(2048) NOT NULL,
+    original_url_hash BYTEA,
+    short_code VARCHAR(10) NOT NULL,
+    click_count BIGINT NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    expires_at TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT urls_pkey PRIMARY KEY (id),
+    UNIQUE (short_code)
+);
+
+-- Tables created before URL deduplication lack the hash column the entity maps
+ALTER TABLE urls ADD COLUMN IF NOT EXISTS original_url_hash BYTEA;
+
+-- Tables created before the switch from IDENTITY already hold IDs, so move the
+-- sequence past them; it never moves back
+SELECT setval('url_id_seq', GREATEST((SELECT last_value FROM url_id_seq), (SELECT COALESCE(MAX(id), 0) FROM urls) + 1));
+
+-- Partial index for the expiry sweeper: only active rows that can expire
+CREATE INDEX IF NOT EXISTS idx_urls_active_expires_at ON urls (expires_at) WHERE is_active AND expires_at IS NOT NULL;
+
+-- Delta scans of recently changed rows (short code filter refresh)
+CREATE INDEX IF NOT EXISTS idx_urls_updated_at ON urls (updated_at);
+
+-- Click analytics rollups (ClickAnalyticsPipeline); the key serves per-code range reads
+CREATE TABLE IF NOT EXISTS url_click_rollups (
+    short_code VARCHAR(10) NOT NULL,
+    granularity CHAR(1) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    referrer VARCHAR(255) NOT NULL,
+    agent_class VARCHAR(16) NOT NULL,
+    clicks BIGINT NOT NULL,
+    PRIMARY KEY (short_code, granularity, bucket_start, referrer, agent_class)
+);
+
+-- Retention purges by granularity and age
+CREATE INDEX IF NOT EXISTS idx_url_click_rollups_bucket_start ON url_click_rollups (granularity, bucket_start);
+
+-- Short codes removed by deletes and short code changes, read by the redirect snapshot delta
+-- scan of every node (app.snapshot.enabled); purged after app.snapshot.deletion-retention
+CREATE TABLE IF NOT EXISTS url_deletions (
+    short_code VARCHAR(10) NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
+
+-- Delta scans and purges
+CREATE INDEX IF NOT EXISTS idx_url_deletions_deleted_at ON url_deletions (deleted_at);
+
+-- Idempotency-Key claims and stored create responses (app.idempotency.database.enabled);
+-- response stays NULL while the first request runs
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    fingerprint CHAR(64) NOT NULL,
+    response TEXT,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- TTL purges
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
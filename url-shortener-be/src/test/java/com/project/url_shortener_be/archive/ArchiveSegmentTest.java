@@ -0,0 +1,71 @@
+package com.project.url_shortener_be.archive;
+
+import com.project.url_shortener_be.entity.Url;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArchiveSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void findsEveryRowThroughTheSparseIndex() throws IOException {
+        Path file = directory.resolve("segment.seg");
+        LocalDateTime archivedAt = LocalDateTime.of(2026, 3, 1, 12, 0);
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(file, 8, archivedAt)) {
+            for (int i = 0; i < 1000; i++) {
+                writer.add(url(i));
+            }
+            writer.commit();
+        }
+
+        try (ArchiveSegment segment = ArchiveSegment.open(file)) {
+            assertThat(segment.size()).isEqualTo(1000);
+            assertThat(segment.archivedAt()).isEqualTo(archivedAt);
+            for (int i = 0; i < 1000; i++) {
+                assertThat(segment.find(code(i))).get().isEqualTo(url(i));
+            }
+            assertThat(segment.find("a")).isEmpty();
+            assertThat(segment.find(code(500) + "x")).isEmpty();
+            assertThat(segment.find("zzz")).isEmpty();
+        }
+    }
+
+    @Test
+    void rejectsUnsortedRowsAndLeavesNoFileBehind() throws IOException {
+        Path file = directory.resolve("segment.seg");
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(file, 8, LocalDateTime.now())) {
+            writer.add(url(2));
+            assertThatThrownBy(() -> writer.add(url(1))).isInstanceOf(IllegalStateException.class);
+        }
+
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private static String code(int i) {
+        return String.format("c%05d", i);
+    }
+
+    private static Url url(int i) {
+        Url url = new Url("https://example.com/" + i, code(i));
+        url.setId((long) i);
+        url.setClickCount((long) i * 3);
+        url.setIsActive(i % 2 == 0);
+        url.setExpiresAt(i % 3 == 0 ? null : LocalDateTime.of(2025, 1, 1, 0, 0).plusNanos(i * 1000L));
+        url.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i));
+        url.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 0, 0).plusSeconds(i));
+        url.setOriginalUrlHash(i % 4 == 0 ? new byte[] {1, 2, (byte) i} : null);
+        return url;
+    }
+}
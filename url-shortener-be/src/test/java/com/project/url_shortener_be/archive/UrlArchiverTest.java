@@ -0,0 +1,116 @@
+package com.project.url_shortener_be.archive;
+
+import com.project.url_shortener_be.bloom.ShortCodeFilter;
+import com.project.url_shortener_be.cache.UrlResolveCache;
+import com.project.url_shortener_be.datasource.ReplicaReadPolicy;
+import com.project.url_shortener_be.entity.Url;
+import com.project.url_shortener_be.exception.ShortCodeConflictException;
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import com.project.url_shortener_be.snapshot.RedirectSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+class UrlArchiverTest {
+
+    private static final LocalDateTime LONG_AGO = LocalDateTime.now().minusDays(60).withNano(0);
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private UrlJdbcRepository repository;
+
+    @BeforeEach
+    void createTable() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:archive" + System.nanoTime() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE urls (id BIGINT PRIMARY KEY, original_url VARCHAR(2048) NOT NULL, "
+                + "original_url_hash VARBINARY(32), short_code VARCHAR(10) NOT NULL UNIQUE, click_count BIGINT NOT NULL, "
+                + "is_active BOOLEAN NOT NULL, expires_at TIMESTAMP, created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP)");
+        insert(1, "gone", false, null);
+        insert(2, "expired", true, LONG_AGO);
+        insert(3, "live", true, null);
+        insert(4, "touched", false, null);
+
+        // Advisory locks are Postgres only; "touched" is edited after it was read for archiving
+        repository = spy(new UrlJdbcRepository(jdbcTemplate));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        }).when(repository).runWithAdvisoryLock(anyLong(), any());
+        doAnswer(invocation -> {
+            Object rows = invocation.callRealMethod();
+            jdbcTemplate.update("UPDATE urls SET updated_at = ? WHERE short_code = 'touched'",
+                    Timestamp.valueOf(LocalDateTime.now()));
+            return rows;
+        }).when(repository).findArchivable(any(), anyInt());
+    }
+
+    @Test
+    void archiveDeletesOnlyRowsUnchangedSinceTheyWereRead() throws Exception {
+        UrlArchiver archiver = archiver();
+
+        assertThat(archiver.archive()).isEqualTo(2);
+
+        assertThat(shortCodes()).containsExactlyInAnyOrder("live", "touched");
+        assertThat(archiver.find("gone")).isPresent();
+        assertThat(archiver.find("expired").get().url().getExpiresAt()).isEqualTo(LONG_AGO);
+        assertThat(archiver.find("live")).isEmpty();
+        archiver.close();
+    }
+
+    @Test
+    void restorePutsTheRowBackAndRejectsCodesInUse() throws Exception {
+        UrlArchiver archiver = archiver();
+        archiver.archive();
+
+        Url restored = archiver.restore("gone", true).orElseThrow();
+        assertThat(restored.getIsActive()).isTrue();
+        assertThat(shortCodes()).contains("gone");
+        assertThatThrownBy(() -> archiver.restore("gone", false)).isInstanceOf(ShortCodeConflictException.class);
+
+        // An archived code taken by a new URL cannot be restored over it
+        insert(5, "expired", true, null);
+        assertThatThrownBy(() -> archiver.restore("expired", false)).isInstanceOf(ShortCodeConflictException.class);
+        assertThat(archiver.restore("unknown", false)).isEmpty();
+        archiver.close();
+    }
+
+    private UrlArchiver archiver() {
+        return new UrlArchiver(repository, mock(UrlResolveCache.class), mock(ReplicaReadPolicy.class),
+                mock(RedirectSnapshotStore.class), mock(ShortCodeFilter.class), new SimpleMeterRegistry(), true,
+                directory.toString(), Duration.ofDays(30), 100, 2, 2, 10, 1L);
+    }
+
+    private void insert(long id, String shortCode, boolean active, LocalDateTime expiresAt) {
+        jdbcTemplate.update("INSERT INTO urls (id, original_url, short_code, click_count, is_active, expires_at, "
+                        + "created_at, updated_at) VALUES (?, ?, ?, 0, ?, ?, ?, ?)",
+                id, "https://example.com/" + shortCode, shortCode, active,
+                expiresAt != null ? Timestamp.valueOf(expiresAt) : null,
+                Timestamp.valueOf(LONG_AGO), Timestamp.valueOf(LONG_AGO));
+    }
+
+    private List<String> shortCodes() {
+        return jdbcTemplate.queryForList("SELECT short_code FROM urls", String.class);
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.url_shortener_be.bloom;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 100_000;
+
+    @Test
+    void neverReportsAnInsertedCodeAsAbsentAndStaysNearTheTargetRate() {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("code" + i);
+        }
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertThat(filter.mightContain("code" + i)).isTrue();
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < INSERTIONS; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / INSERTIONS).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveProbability()).isBetween(0.005, 0.02);
+    }
+
+    @Test
+    void snapshotRoundTripKeepsEveryCode() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("code" + i);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) filter.serializedSize());
+        filter.writeTo(buffer);
+        buffer.flip();
+        BloomFilter restored = BloomFilter.readFrom(buffer, filter.getNumWords(), filter.getNumHashes());
+
+        assertThat(restored).isNotNull();
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(restored.mightContain("code" + i)).isTrue();
+        }
+        assertThat(restored.expectedFalsePositiveProbability()).isEqualTo(filter.expectedFalsePositiveProbability());
+    }
+
+    @Test
+    void rejectsSnapshotOfADifferentSize() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        ByteBuffer buffer = ByteBuffer.allocate((int) filter.serializedSize());
+        filter.writeTo(buffer);
+        buffer.flip();
+
+        BloomFilter larger = BloomFilter.create(10_000, 0.01);
+        assertThat(BloomFilter.readFrom(buffer, larger.getNumWords(), larger.getNumHashes())).isNull();
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.url_shortener_be.click;
+
+import com.project.url_shortener_be.dto.RollupGranularity;
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import com.project.url_shortener_be.repository.ClickRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ClickAnalyticsPipelineTest {
+
+    @Test
+    void forgedReferrersAreFoldedIntoOtherOnceTheBucketIsFull() {
+        Map<ClickRollupKey, Long> written = new HashMap<>();
+        ClickRollupRepository repository = mock(ClickRollupRepository.class);
+        doAnswer(invocation -> {
+            SortedMap<ClickRollupKey, Long> clicks = invocation.getArgument(0);
+            clicks.forEach((key, count) -> written.merge(key, count, Long::sum));
+            return null;
+        }).when(repository).addClicks(any(), anyInt());
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ClickAnalyticsPipeline pipeline = new ClickAnalyticsPipeline(repository,
+                new UrlMetrics(ObservationRegistry.NOOP, meterRegistry), meterRegistry, true, 1024, 500, 100_000, 3,
+                Duration.ofDays(2), Duration.ofDays(90), Duration.ZERO);
+
+        // Split over two drains: the cap must hold for the bucket, not just for one batch
+        for (int i = 0; i < 5; i++) {
+            pipeline.record("abc", "https://site" + i + ".example/page", "Mozilla/5.0");
+        }
+        pipeline.drain();
+        for (int i = 5; i < 50; i++) {
+            pipeline.record("abc", "https://site" + i + ".example/page", "Mozilla/5.0");
+        }
+        pipeline.record("abc", "https://site0.example/again", "Mozilla/5.0");
+        pipeline.record("abc", null, "Mozilla/5.0");
+        pipeline.record("xyz", "https://site49.example/", "Mozilla/5.0");
+        pipeline.drain();
+
+        Map<String, Long> dayReferrers = new HashMap<>();
+        written.forEach((key, count) -> {
+            if (key.shortCode().equals("abc") && key.granularity() == RollupGranularity.DAY) {
+                dayReferrers.merge(key.referrer(), count, Long::sum);
+            }
+        });
+        assertThat(dayReferrers).containsOnlyKeys("site0.example", "site1.example", "site2.example",
+                ClickClassifier.OTHER, ClickClassifier.DIRECT);
+        assertThat(dayReferrers.get("site0.example")).isEqualTo(2);
+        assertThat(dayReferrers.get(ClickClassifier.OTHER)).isEqualTo(47);
+        assertThat(dayReferrers.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(52);
+
+        // Each code has its own cap
+        assertThat(written.keySet()).anyMatch(key -> key.shortCode().equals("xyz")
+                && key.referrer().equals("site49.example"));
+    }
+}
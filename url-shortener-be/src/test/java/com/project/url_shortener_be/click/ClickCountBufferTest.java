@@ -0,0 +1,78 @@
+package com.project.url_shortener_be.click;
+
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class ClickCountBufferTest {
+
+    @Test
+    void flushWritesEveryRecordedClickUnderConcurrency() throws Exception {
+        Map<String, Long> written = new ConcurrentHashMap<>();
+        UrlJdbcRepository repository = mock(UrlJdbcRepository.class);
+        doAnswer(invocation -> {
+            Map<String, Long> deltas = invocation.getArgument(0);
+            deltas.forEach((code, delta) -> written.merge(code, delta, Long::sum));
+            return null;
+        }).when(repository).incrementClickCounts(anyMap(), anyInt());
+
+        ClickCountBuffer buffer = new ClickCountBuffer(repository, urlMetrics(), 4, 100);
+        int threads = 8;
+        int clicksPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < clicksPerThread; i++) {
+                    buffer.record("code" + (i % 16));
+                    if (i % 1000 == 0) {
+                        buffer.flush();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        buffer.drain();
+        buffer.flush();
+
+        long total = written.values().stream().mapToLong(Long::longValue).sum();
+        assertThat(total).isEqualTo((long) threads * clicksPerThread);
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForRetry() {
+        UrlJdbcRepository repository = mock(UrlJdbcRepository.class);
+        doThrow(new RuntimeException("database down")).when(repository).incrementClickCounts(anyMap(), anyInt());
+
+        ClickCountBuffer buffer = new ClickCountBuffer(repository, urlMetrics(), 100, 100);
+        buffer.record("abc");
+        buffer.record("abc");
+
+        assertThat(buffer.flush()).isZero();
+        assertThat(buffer.pendingCodes()).isEqualTo(1);
+    }
+
+    private static UrlMetrics urlMetrics() {
+        return new UrlMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry());
+    }
+}
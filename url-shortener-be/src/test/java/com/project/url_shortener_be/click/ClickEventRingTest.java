@@ -0,0 +1,80 @@
+package com.project.url_shortener_be.click;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClickEventRingTest {
+
+    @Test
+    void rejectsWhenFullAndAcceptsAgainOnceDrained() {
+        ClickEventRing ring = new ClickEventRing(5);
+        assertThat(ring.capacity()).isEqualTo(8);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(ring.offer(event("code" + i))).isTrue();
+        }
+        assertThat(ring.offer(event("overflow"))).isFalse();
+        assertThat(ring.size()).isEqualTo(8);
+
+        List<String> drained = new ArrayList<>();
+        assertThat(ring.drain(e -> drained.add(e.shortCode()), 3)).isEqualTo(3);
+        assertThat(drained).containsExactly("code0", "code1", "code2");
+        assertThat(ring.offer(event("code8"))).isTrue();
+
+        ring.drain(e -> drained.add(e.shortCode()), Integer.MAX_VALUE);
+        assertThat(drained).hasSize(9).endsWith("code7", "code8");
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void everyAcceptedEventIsDrainedExactlyOnceUnderConcurrency() throws Exception {
+        ClickEventRing ring = new ClickEventRing(1024);
+        int producers = 8;
+        int eventsPerProducer = 50_000;
+        AtomicInteger accepted = new AtomicInteger();
+        Set<String> seen = new HashSet<>();
+        List<String> duplicates = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.execute(() -> {
+                for (int i = 0; i < eventsPerProducer; i++) {
+                    if (ring.offer(event(producer + ":" + i))) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        while (done.getCount() > 0 || ring.size() > 0) {
+            ring.drain(e -> {
+                if (!seen.add(e.shortCode())) {
+                    duplicates.add(e.shortCode());
+                }
+            }, 256);
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(duplicates).isEmpty();
+        assertThat(seen).hasSize(accepted.get());
+    }
+
+    private static ClickEvent event(String shortCode) {
+        return new ClickEvent(shortCode, 0L, null, null);
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.url_shortener_be.codegen;
+
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SequenceShortCodeGeneratorTest {
+
+    @Test
+    void leasesOneBlockPerBlockSizeCodes() {
+        UrlJdbcRepository repository = mock(UrlJdbcRepository.class);
+        when(repository.leaseShortCodeBlock()).thenReturn(1L, 101L);
+        SequenceShortCodeGenerator generator = new SequenceShortCodeGenerator(repository, 7, 100, "");
+
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < 150; i++) {
+            codes.add(generator.nextCode());
+        }
+
+        assertThat(codes).hasSize(150).allSatisfy(code -> assertThat(code).hasSize(7));
+        assertThat(codes).contains(Base62.encode(1, 7), Base62.encode(150, 7));
+        verify(repository, times(2)).leaseShortCodeBlock();
+    }
+
+    @Test
+    void shuffledCodesStayUniqueAcrossTheWholeSpace() {
+        long capacity = Base62.capacity(2);
+        FeistelPermutation permutation = new FeistelPermutation(capacity, "secret");
+
+        Set<Long> permuted = new HashSet<>();
+        for (long id = 0; id < capacity; id++) {
+            long value = permutation.permute(id);
+            assertThat(value).isBetween(0L, capacity - 1);
+            permuted.add(value);
+        }
+
+        assertThat(permuted).hasSize((int) capacity);
+        assertThat(permutation.permute(1)).isNotEqualTo(1);
+    }
+
+    @Test
+    void rejectsSequenceWithDifferentIncrement() {
+        UrlJdbcRepository repository = mock(UrlJdbcRepository.class);
+        when(repository.getShortCodeSequenceIncrement()).thenReturn(50L);
+        SequenceShortCodeGenerator generator = new SequenceShortCodeGenerator(repository, 7, 1000, "");
+
+        assertThatThrownBy(generator::verifySequence).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void base62RoundTrips() {
+        String code = Base62.encode(123_456_789L, 7);
+
+        assertThat(code).hasSize(7);
+        assertThat(Base62.decode(code)).isEqualTo(123_456_789L);
+        assertThat(Base62.decode("ab-c")).isEqualTo(-1);
+    }
+}
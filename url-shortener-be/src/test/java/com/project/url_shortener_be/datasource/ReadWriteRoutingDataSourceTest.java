@@ -0,0 +1,130 @@
+package com.project.url_shortener_be.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Two in-memory H2 databases stand in for the primary and a replica; each knows its own name
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String NODE_SQL = "SELECT name FROM node";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndWritesThePrimary() {
+        Router router = router(replica);
+
+        assertThat(node(router, router.readOnly)).isEqualTo("replica");
+        assertThat(node(router, router.readWrite)).isEqualTo("primary");
+        // No transaction at all counts as a write
+        assertThat(router.jdbc.queryForObject(NODE_SQL, String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void forcedPrimaryReadsBypassTheReplica() {
+        Router router = router(replica);
+
+        String node = DataSourceRouting.onPrimary(() -> node(router, router.readOnly));
+
+        assertThat(node).isEqualTo("primary");
+        assertThat(DataSourceRouting.isPrimaryForced()).isFalse();
+    }
+
+    @Test
+    void unreachableReplicaFailsOverToThePrimary() throws SQLException {
+        DataSource broken = mock(DataSource.class);
+        when(broken.getConnection()).thenThrow(new SQLException("connection refused"));
+        Router router = router(broken);
+
+        assertThat(node(router, router.readOnly)).isEqualTo("primary");
+        assertThat(router.pool.next()).isNull();
+        assertThat(meterRegistry.counter("url.datasource.replica.failovers").count()).isEqualTo(1);
+    }
+
+    @Test
+    void healthCheckPutsARecoveredReplicaBackInRotation() {
+        Router router = router(replica);
+        router.pool.markDown("replica-0", "test");
+        assertThat(node(router, router.readOnly)).isEqualTo("primary");
+
+        router.pool.checkHealth();
+
+        assertThat(node(router, router.readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void recentWritesAndReplicaMissesAreReadFromThePrimary() {
+        Router router = router(replica);
+        ReplicaReadPolicy policy = new ReplicaReadPolicy(meterRegistry, "jdbc:h2:mem:replica", Duration.ofSeconds(30), true);
+        // The code exists on the primary only, as if replication had not caught up
+        router.readWrite.execute(status -> router.jdbc.update("INSERT INTO codes (code) VALUES ('fresh')"));
+
+        assertThat(policy.read("fresh", () -> findCode(router, "fresh"))).contains("primary");
+
+        policy.recordWrite("fresh");
+        assertThat(policy.read("fresh", () -> findCode(router, "fresh"))).contains("primary");
+        assertThat(meterRegistry.counter("url.datasource.primary.reads", "reason", "recent_write").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("url.datasource.primary.reads", "reason", "replica_miss").count()).isEqualTo(1);
+    }
+
+    private static String node(Router router, TransactionTemplate template) {
+        return template.execute(status -> router.jdbc.queryForObject(NODE_SQL, String.class));
+    }
+
+    private static Optional<String> findCode(Router router, String code) {
+        return router.readOnly.execute(status -> router.jdbc.query(
+                "SELECT (SELECT name FROM node) FROM codes WHERE code = ?",
+                (rs, row) -> rs.getString(1), code).stream().findFirst());
+    }
+
+    private Router router(DataSource replicaDataSource) {
+        ReplicaPool pool = new ReplicaPool(Map.of("replica-0", replicaDataSource), Duration.ofSeconds(10), meterRegistry);
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, pool, meterRegistry));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return new Router(pool, new JdbcTemplate(routing), readOnly, new TransactionTemplate(transactionManager));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.execute("CREATE TABLE codes (code VARCHAR(10))");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private record Router(ReplicaPool pool, JdbcTemplate jdbc, TransactionTemplate readOnly,
+                          TransactionTemplate readWrite) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.url_shortener_be.dedupe;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UrlNormalizerTest {
+
+    @Test
+    void equivalentSpellingsShareOneHash() {
+        byte[] hash = UrlNormalizer.hash("https://example.com/");
+
+        assertThat(hash).hasSize(UrlNormalizer.HASH_LENGTH);
+        assertThat(UrlNormalizer.hash("HTTPS://Example.COM")).isEqualTo(hash);
+        assertThat(UrlNormalizer.hash("https://example.com:443/")).isEqualTo(hash);
+        assertThat(UrlNormalizer.hash("  https://example.com/ ")).isEqualTo(hash);
+    }
+
+    @Test
+    void keepsEverythingThatCanAddressADifferentResource() {
+        assertThat(UrlNormalizer.normalize("http://Example.com:8080/A/b?Q=1&q=2#Top"))
+                .isEqualTo("http://example.com:8080/A/b?Q=1&q=2#Top");
+        assertThat(UrlNormalizer.normalize("https://example.com/a%2Fb")).isEqualTo("https://example.com/a%2Fb");
+        assertThat(UrlNormalizer.hash("https://example.com/a")).isNotEqualTo(UrlNormalizer.hash("https://example.com/A"));
+        assertThat(UrlNormalizer.hash("http://example.com/")).isNotEqualTo(UrlNormalizer.hash("https://example.com/"));
+    }
+
+    @Test
+    void leavesUnparseableUrlsAsTheyAre() {
+        assertThat(UrlNormalizer.normalize("https://exa mple.com/")).isEqualTo("https://exa mple.com/");
+    }
+}
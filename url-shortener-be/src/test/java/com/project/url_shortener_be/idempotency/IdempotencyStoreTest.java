@@ -0,0 +1,129 @@
+package com.project.url_shortener_be.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.url_shortener_be.dto.CreateUrlAutoRequest;
+import com.project.url_shortener_be.dto.UrlResponse;
+import com.project.url_shortener_be.exception.IdempotencyKeyMismatchException;
+import com.project.url_shortener_be.exception.ShortCodeConflictException;
+import com.project.url_shortener_be.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void concurrentRetriesWaitForTheFirstRequest() throws Exception {
+        IdempotencyStore store = store(null);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        List<Future<UrlResponse>> results = new ArrayList<>();
+        results.add(executor.submit(() -> store.execute("key", "auto", request("https://a.example"), () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            await(release);
+            return response("AAAA");
+        })));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> store.execute("key", "auto", request("https://a.example"), () -> {
+                runs.incrementAndGet();
+                return response("BBBB");
+            })));
+        }
+        release.countDown();
+
+        for (Future<UrlResponse> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getShortCode()).isEqualTo("AAAA");
+        }
+        assertThat(runs).hasValue(1);
+        executor.shutdown();
+    }
+
+    @Test
+    void failedRequestsReleaseTheirKey() {
+        IdempotencyStore store = store(null);
+        CreateUrlAutoRequest request = request("https://a.example");
+
+        assertThatThrownBy(() -> store.execute("key", "auto", request, () -> {
+            throw new ShortCodeConflictException("taken");
+        })).isInstanceOf(ShortCodeConflictException.class);
+
+        assertThat(store.execute("key", "auto", request, () -> response("AAAA")).getShortCode()).isEqualTo("AAAA");
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() {
+        IdempotencyStore store = store(null);
+        store.execute("key", "auto", request("https://a.example"), () -> response("AAAA"));
+
+        assertThatThrownBy(() -> store.execute("key", "auto", request("https://b.example"), () -> response("BBBB")))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThatThrownBy(() -> store.execute("key", "custom", request("https://a.example"), () -> response("BBBB")))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+    }
+
+    @Test
+    void otherNodesAnswerFromTheStoredResponse() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS idempotency_keys (idempotency_key VARCHAR(255) PRIMARY KEY, "
+                + "fingerprint CHAR(64) NOT NULL, response TEXT, created_at TIMESTAMP NOT NULL)");
+        IdempotencyKeyRepository repository = new IdempotencyKeyRepository(jdbcTemplate);
+        CreateUrlAutoRequest request = request("https://a.example");
+
+        UrlResponse first = store(repository).execute("key", "auto", request, () -> response("AAAA"));
+        UrlResponse retried = store(repository).execute("key", "auto", request, () -> response("BBBB"));
+
+        assertThat(retried).isEqualTo(first);
+        assertThatThrownBy(() -> store(repository).execute("key", "auto", request("https://b.example"),
+                () -> response("BBBB"))).isInstanceOf(IdempotencyKeyMismatchException.class);
+    }
+
+    private IdempotencyStore store(IdempotencyKeyRepository repository) {
+        return new IdempotencyStore(repository, objectMapper, new SimpleMeterRegistry(), true, 100,
+                Duration.ofHours(1), Duration.ofSeconds(5), repository != null, Duration.ofSeconds(30),
+                Duration.ofMillis(10));
+    }
+
+    private static CreateUrlAutoRequest request(String originalUrl) {
+        CreateUrlAutoRequest request = new CreateUrlAutoRequest();
+        request.setOriginalUrl(originalUrl);
+        return request;
+    }
+
+    private static UrlResponse response(String shortCode) {
+        UrlResponse response = new UrlResponse();
+        response.setShortCode(shortCode);
+        response.setCreatedAt(LocalDateTime.of(2026, 1, 1, 0, 0));
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
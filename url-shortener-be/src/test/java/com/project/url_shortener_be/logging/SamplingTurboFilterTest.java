@@ -0,0 +1,50 @@
+package com.project.url_shortener_be.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SamplingTurboFilterTest {
+
+    private final Logger logger = new LoggerContext().getLogger("test");
+    private final SamplingTurboFilter filter = new SamplingTurboFilter();
+
+    @Test
+    void keepsRoughlyTheConfiguredFractionOfMarkedLines() {
+        logger.setLevel(Level.DEBUG);
+        filter.setRates("redirect=0.1, resolve=0");
+
+        int kept = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.decide(LogMarkers.REDIRECT, logger, Level.DEBUG, "x", null, null) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+        assertThat(kept).isBetween(800, 1200);
+        assertThat(filter.getSampledOut("redirect")).isEqualTo(10_000 - kept);
+        assertThat(filter.decide(LogMarkers.RESOLVE, logger, Level.INFO, "x", null, null)).isEqualTo(FilterReply.DENY);
+    }
+
+    @Test
+    void neverSamplesWarningsUnmarkedOrDisabledLines() {
+        logger.setLevel(Level.INFO);
+        filter.setRates("redirect=0,list=0");
+
+        assertThat(filter.decide(LogMarkers.REDIRECT, logger, Level.WARN, "x", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(null, logger, Level.INFO, "x", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(LogMarkers.REDIRECT, logger, Level.DEBUG, "x", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(LogMarkers.CREATE, logger, Level.INFO, "x", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSampledOut("redirect")).isZero();
+    }
+
+    @Test
+    void rejectsMalformedRates() {
+        assertThatThrownBy(() -> filter.setRates("redirect")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> filter.setRates("redirect=2")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
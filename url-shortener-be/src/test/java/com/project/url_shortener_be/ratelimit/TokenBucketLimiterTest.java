@@ -0,0 +1,73 @@
+package com.project.url_shortener_be.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void allowsABurstThenOneRequestPerInterval() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 3, Duration.ofMinutes(1), 100, nanos::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+
+        advance(499);
+        assertThat(limiter.tryAcquire("a")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(1));
+        advance(1);
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, Duration.ofMinutes(1), 100, nanos::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumePermits() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 2, Duration.ofMinutes(1), 100, nanos::get);
+
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire("a")).isPositive();
+        }
+
+        advance(1000);
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+
+    @Test
+    void idleBucketsRefillAndAreEvicted() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 5, Duration.ofSeconds(30), 100, nanos::get);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("a");
+        }
+        assertThat(limiter.tryAcquire("a")).isPositive();
+
+        advance(TimeUnit.SECONDS.toMillis(31));
+        assertThat(limiter.trackedKeys()).isZero();
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+    }
+
+    private void advance(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
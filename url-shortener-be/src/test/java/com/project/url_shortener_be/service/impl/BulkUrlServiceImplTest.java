@@ -0,0 +1,158 @@
+package com.project.url_shortener_be.service.impl;
+
+import com.project.url_shortener_be.bloom.ShortCodeFilter;
+import com.project.url_shortener_be.cache.UrlResolveCache;
+import com.project.url_shortener_be.codegen.ShortCodeGenerator;
+import com.project.url_shortener_be.datasource.ReplicaReadPolicy;
+import com.project.url_shortener_be.dto.BulkCreateResponse;
+import com.project.url_shortener_be.dto.BulkItemResult;
+import com.project.url_shortener_be.dto.CreateUrlRequest;
+import com.project.url_shortener_be.mapper.UrlMapper;
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import com.project.url_shortener_be.repository.UrlRepository;
+import com.project.url_shortener_be.snapshot.RedirectSnapshotStore;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against the embedded H2 store so failed batches come from the real JPA flush
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("embedded")
+class BulkUrlServiceImplTest {
+
+    @Autowired
+    private UrlRepository urlRepository;
+    @Autowired
+    private UrlResolveCache urlResolveCache;
+    @Autowired
+    private ShortCodeFilter shortCodeFilter;
+    @Autowired
+    private ReplicaReadPolicy replicaReadPolicy;
+    @Autowired
+    private RedirectSnapshotStore redirectSnapshotStore;
+    @Autowired
+    private UrlMapper urlMapper;
+    @Autowired
+    private UrlMetrics urlMetrics;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private Validator validator;
+
+    // Codes are unique per test because every test shares one database
+    private final String prefix = UUID.randomUUID().toString().substring(0, 4);
+
+    @Test
+    void insertsInChunksAndReportsResultsInRequestOrder() {
+        BulkCreateResponse response = service(3, 100, codes("g1", "g2", "g3", "g4", "g5", "g6", "g7"))
+                .createShortUrls(requests(7).iterator());
+
+        assertThat(response.getTotal()).isEqualTo(7);
+        assertThat(response.getSucceeded()).isEqualTo(7);
+        assertThat(response.getResults()).extracting(BulkItemResult::getIndex).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(stored("g1", "g2", "g3", "g4", "g5", "g6", "g7")).hasSize(7);
+    }
+
+    @Test
+    void batchRejectedByTheDatabaseIsRetriedItemByItem() {
+        // The second chunk holds a custom code equal to a generated one, so its flush fails
+        // on the unique key; on retry the last item draws a code the first chunk already took
+        List<CreateUrlRequest> requests = requests(4);
+        requests.get(3).setCustomShortCode(code("g3"));
+        Iterator<String> generated = codes("g1", "g2", "g3", "g1");
+
+        BulkCreateResponse response = service(2, 100, generated).createShortUrls(requests.iterator());
+
+        assertThat(response.getResults()).extracting(BulkItemResult::isSuccess).containsExactly(true, true, false, true);
+        assertThat(response.getResults().get(2).getError()).startsWith("Could not create short URL");
+        assertThat(response.getResults().get(3).getUrl().getShortCode()).isEqualTo(code("g3"));
+        assertThat(stored("g1", "g2", "g3")).hasSize(3);
+    }
+
+    @Test
+    void duplicateAndTakenCustomCodesFailOnlyTheirItems() {
+        service(10, 100, codes("taken")).createShortUrls(requests(1).iterator());
+        List<CreateUrlRequest> requests = requests(5);
+        requests.get(0).setCustomShortCode(code("mine"));
+        requests.get(1).setCustomShortCode(code("mine"));
+        requests.get(2).setCustomShortCode(code("taken"));
+        requests.get(3).setOriginalUrl("not a url");
+
+        BulkCreateResponse response = service(10, 100, codes("g1")).createShortUrls(requests.iterator());
+
+        assertThat(response.getResults()).extracting(BulkItemResult::isSuccess)
+                .containsExactly(true, false, false, false, true);
+        assertThat(response.getResults().get(1).getError()).contains("duplicated in this request");
+        assertThat(response.getResults().get(2).getError()).contains("already exists");
+        assertThat(response.getResults().get(3).getError()).startsWith("originalUrl");
+        assertThat(stored("mine", "g1")).hasSize(2);
+    }
+
+    @Test
+    void customCodesOutsideTheRedirectPatternFailValidation() {
+        List<CreateUrlRequest> requests = requests(3);
+        requests.get(0).setCustomShortCode("a/b c");
+        requests.get(1).setCustomShortCode("x".repeat(11));
+        requests.get(2).setCustomShortCode("");
+
+        BulkCreateResponse response = service(10, 100, codes()).createShortUrls(requests.iterator());
+
+        assertThat(response.getSucceeded()).isZero();
+        assertThat(response.getResults()).extracting(BulkItemResult::getError)
+                .allMatch(error -> error.startsWith("customShortCode: Short code must be 1 to 10"));
+    }
+
+    @Test
+    void itemsPastTheLimitAreNotProcessed() {
+        BulkCreateResponse response = service(10, 4, codes("g1", "g2", "g3", "g4"))
+                .createShortUrls(requests(6).iterator());
+
+        assertThat(response.getSucceeded()).isEqualTo(4);
+        assertThat(response.getResults()).hasSize(5);
+        assertThat(response.getResults().get(4).getError()).startsWith("Bulk limit of 4 items exceeded");
+        assertThat(stored("g1", "g2", "g3", "g4")).hasSize(4);
+    }
+
+    private BulkUrlServiceImpl service(int batchSize, int maxItems, Iterator<String> generated) {
+        ShortCodeGenerator shortCodeGenerator = generated::next;
+        return new BulkUrlServiceImpl(urlRepository, shortCodeGenerator, urlResolveCache, shortCodeFilter,
+                replicaReadPolicy, redirectSnapshotStore, urlMapper, urlMetrics, transactionTemplate,
+                entityManager, validator, batchSize, maxItems);
+    }
+
+    private Iterator<String> codes(String... suffixes) {
+        return List.of(suffixes).stream().map(this::code).iterator();
+    }
+
+    private String code(String suffix) {
+        return prefix + suffix;
+    }
+
+    private List<String> stored(String... suffixes) {
+        return new ArrayList<>(urlRepository.findExistingShortCodes(
+                List.of(suffixes).stream().map(this::code).collect(Collectors.toList())));
+    }
+
+    private static List<CreateUrlRequest> requests(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            CreateUrlRequest request = new CreateUrlRequest();
+            request.setOriginalUrl("https://example.com/" + i);
+            return request;
+        }).collect(Collectors.toCollection(ArrayList::new));
+    }
+}
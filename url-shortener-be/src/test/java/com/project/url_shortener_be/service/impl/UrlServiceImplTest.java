@@ -0,0 +1,140 @@
+package com.project.url_shortener_be.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.url_shortener_be.bloom.ShortCodeFilter;
+import com.project.url_shortener_be.cache.UrlResolveCache;
+import com.project.url_shortener_be.click.ClickCountBuffer;
+import com.project.url_shortener_be.codegen.ShortCodeGenerator;
+import com.project.url_shortener_be.datasource.ReplicaReadPolicy;
+import com.project.url_shortener_be.dedupe.UrlDeduplicator;
+import com.project.url_shortener_be.dto.ExportFormat;
+import com.project.url_shortener_be.dto.UrlPageResponse;
+import com.project.url_shortener_be.dto.UrlResponse;
+import com.project.url_shortener_be.entity.Url;
+import com.project.url_shortener_be.exception.InvalidRequestException;
+import com.project.url_shortener_be.expiry.ExpiredUrlSweeper;
+import com.project.url_shortener_be.mapper.UrlMapper;
+import com.project.url_shortener_be.metrics.UrlMetrics;
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import com.project.url_shortener_be.repository.UrlRepository;
+import com.project.url_shortener_be.snapshot.RedirectSnapshotStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UrlServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final UrlRepository urlRepository = mock(UrlRepository.class);
+    private final UrlJdbcRepository urlJdbcRepository = mock(UrlJdbcRepository.class);
+
+    @Test
+    void cursorWalksEveryActiveUrlOnce() {
+        List<Url> urls = LongStream.rangeClosed(1, 7).mapToObj(id -> url(id, "https://example.com/" + id)).toList();
+        UrlServiceImpl service = service(urls);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            UrlPageResponse page = service.getActiveUrls(cursor, 3);
+            page.getItems().forEach(item -> seen.add(item.getId()));
+            assertThat(page.getSize()).isEqualTo(page.getItems().size());
+            assertThat(page.isHasNext()).isEqualTo(page.getNextCursor() != null);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void pageSizeIsCappedAndInvalidCursorsAreRejected() {
+        List<Url> urls = LongStream.rangeClosed(1, 10).mapToObj(id -> url(id, "https://example.com/" + id)).toList();
+        UrlServiceImpl service = service(urls);
+
+        assertThat(service.getActiveUrls(null, 1_000).getSize()).isEqualTo(4);
+        assertThat(service.getActiveUrls(null, 0).getSize()).isEqualTo(1);
+        assertThatThrownBy(() -> service.getActiveUrls("not a cursor!", 3))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> service.getActiveUrls("YWJj", 3))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void csvExportQuotesFieldsThatNeedIt() throws Exception {
+        UrlServiceImpl service = service(List.of(
+                url(1, "https://example.com/a,b"),
+                url(2, "https://example.com/say\"hi\""),
+                url(3, "https://example.com/plain")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportActiveUrls(ExportFormat.CSV, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).startsWith("id,original_url,short_code");
+        assertThat(lines[1]).startsWith("1,\"https://example.com/a,b\",code1,");
+        assertThat(lines[2]).startsWith("2,\"https://example.com/say\"\"hi\"\"\",code2,");
+        assertThat(lines[3]).startsWith("3,https://example.com/plain,code3,");
+    }
+
+    @Test
+    void ndjsonExportWritesOneObjectPerLine() throws Exception {
+        UrlServiceImpl service = service(List.of(url(1, "https://example.com/a"), url(2, "https://example.com/b")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportActiveUrls(ExportFormat.NDJSON, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], UrlResponse.class).getShortCode()).isEqualTo("code2");
+    }
+
+    @SuppressWarnings("unchecked")
+    private UrlServiceImpl service(List<Url> urls) {
+        when(urlRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class)))
+                .thenAnswer(invocation -> {
+                    long afterId = invocation.getArgument(0);
+                    Limit limit = invocation.getArgument(1);
+                    return urls.stream().filter(url -> url.getId() > afterId).limit(limit.max()).toList();
+                });
+        doAnswer(invocation -> {
+            urls.forEach(invocation.<Consumer<Url>>getArgument(0));
+            return null;
+        }).when(urlJdbcRepository).streamActiveUrls(any(Consumer.class));
+
+        UrlMapper urlMapper = new UrlMapper();
+        ReflectionTestUtils.setField(urlMapper, "baseUrl", "http://localhost:8080");
+        UrlServiceImpl service = new UrlServiceImpl(urlRepository, mock(UrlResolveCache.class),
+                mock(ClickCountBuffer.class), mock(ShortCodeGenerator.class), mock(TransactionTemplate.class),
+                urlMapper, urlJdbcRepository, objectMapper, mock(ExpiredUrlSweeper.class), mock(UrlMetrics.class),
+                mock(ShortCodeFilter.class), mock(ReplicaReadPolicy.class), mock(UrlDeduplicator.class),
+                mock(RedirectSnapshotStore.class));
+        ReflectionTestUtils.setField(service, "maxPageSize", 4);
+        return service;
+    }
+
+    private static Url url(long id, String originalUrl) {
+        Url url = new Url(originalUrl, "code" + id);
+        url.setId(id);
+        return url;
+    }
+}
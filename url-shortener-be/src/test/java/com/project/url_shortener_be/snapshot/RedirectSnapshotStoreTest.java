@@ -0,0 +1,105 @@
+package com.project.url_shortener_be.snapshot;
+
+import com.project.url_shortener_be.dto.RedirectTarget;
+import com.project.url_shortener_be.repository.UrlJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedirectSnapshotStoreTest {
+
+    private static final LocalDateTime LONG_AGO = LocalDateTime.now().minusDays(1);
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private UrlJdbcRepository repository;
+
+    @BeforeEach
+    void createTables() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:snapshot" + System.nanoTime() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE urls (id BIGINT PRIMARY KEY, original_url VARCHAR(2048) NOT NULL, "
+                + "short_code VARCHAR(10) NOT NULL UNIQUE, is_active BOOLEAN NOT NULL, expires_at TIMESTAMP, "
+                + "updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE url_deletions (short_code VARCHAR(10) NOT NULL, deleted_at TIMESTAMP NOT NULL)");
+        insert(1, "gone", LONG_AGO);
+        insert(2, "kept", LONG_AGO);
+        repository = new UrlJdbcRepository(jdbcTemplate);
+    }
+
+    @Test
+    void deleteOnAnotherNodeReachesThisNodesSnapshot() throws IOException {
+        RedirectSnapshotStore reader = mappedStore("reader.bin");
+        assertThat(reader.find("gone")).get().extracting(RedirectTarget::getIsActive).isEqualTo(true);
+
+        RedirectSnapshotStore deleter = store("deleter.bin");
+        jdbcTemplate.update("DELETE FROM urls WHERE short_code = 'gone'");
+        deleter.recordDelete("gone");
+        reader.refresh();
+
+        assertThat(reader.find("gone")).get().extracting(RedirectTarget::getIsActive).isEqualTo(false);
+        assertThat(reader.find("kept")).get().extracting(RedirectTarget::getIsActive).isEqualTo(true);
+    }
+
+    @Test
+    void codeCreatedAgainAfterItsDeleteResolvesToTheNewRow() throws IOException {
+        RedirectSnapshotStore reader = mappedStore("reader.bin");
+
+        jdbcTemplate.update("DELETE FROM urls WHERE short_code = 'gone'");
+        store("deleter.bin").recordDelete("gone");
+        insert(3, "gone", LocalDateTime.now());
+        reader.refresh();
+
+        assertThat(reader.find("gone")).get().extracting(RedirectTarget::getOriginalUrl)
+                .isEqualTo("https://example.com/gone/3");
+    }
+
+    @Test
+    void purgeKeepsDeletionsWithinTheRetention() {
+        RedirectSnapshotStore store = store("store.bin");
+        jdbcTemplate.update("INSERT INTO url_deletions (short_code, deleted_at) VALUES ('old', ?)",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(8)));
+        store.recordDelete("recent");
+
+        store.purgeDeletions();
+
+        assertThat(jdbcTemplate.queryForList("SELECT short_code FROM url_deletions", String.class))
+                .containsExactly("recent");
+    }
+
+    // A store serving a snapshot of the rows as they are now
+    private RedirectSnapshotStore mappedStore(String file) throws IOException {
+        try (RedirectSnapshotWriter writer = new RedirectSnapshotWriter(directory.resolve(file))) {
+            writer.add("gone", new RedirectTarget("https://example.com/gone/1", true, null));
+            writer.add("kept", new RedirectTarget("https://example.com/kept/2", true, null));
+            writer.commit(LocalDateTime.now());
+        }
+        RedirectSnapshotStore store = store(file);
+        store.refresh();
+        return store;
+    }
+
+    private RedirectSnapshotStore store(String file) {
+        return new RedirectSnapshotStore(repository, new SimpleMeterRegistry(), true, false,
+                directory.resolve(file).toString(), Duration.ofMinutes(1), 1000, Duration.ofDays(7));
+    }
+
+    private void insert(long id, String shortCode, LocalDateTime updatedAt) {
+        jdbcTemplate.update("INSERT INTO urls (id, original_url, short_code, is_active, updated_at) VALUES (?, ?, ?, true, ?)",
+                id, "https://example.com/" + shortCode + "/" + id, shortCode, Timestamp.valueOf(updatedAt));
+    }
+}
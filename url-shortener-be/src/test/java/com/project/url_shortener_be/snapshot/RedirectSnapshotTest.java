@@ -0,0 +1,78 @@
+package com.project.url_shortener_be.snapshot;
+
+import com.project.url_shortener_be.dto.RedirectTarget;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RedirectSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void findsEveryWrittenCodeAndNothingElse() throws IOException {
+        // Byte order: digits < upper case < '_' < lower case, and prefixes sort first
+        TreeMap<String, RedirectTarget> rows = new TreeMap<>();
+        LocalDateTime expiresAt = LocalDateTime.of(2030, 1, 2, 3, 4, 5);
+        for (int i = 0; i < 5_000; i++) {
+            String code = Integer.toString(i * 7919, 36);
+            rows.put(code, new RedirectTarget("https://example.com/" + i + "/é", true, i % 2 == 0 ? expiresAt : null));
+            rows.put(code.toUpperCase() + "_x", new RedirectTarget("https://example.org/" + i, true, null));
+        }
+
+        Path path = directory.resolve("snapshot.bin");
+        LocalDateTime watermark = LocalDateTime.of(2026, 10, 17, 12, 0);
+        try (RedirectSnapshotWriter writer = new RedirectSnapshotWriter(path)) {
+            for (var row : rows.entrySet()) {
+                assertThat(writer.add(row.getKey(), row.getValue())).isTrue();
+            }
+            writer.commit(watermark);
+        }
+
+        RedirectSnapshot snapshot = RedirectSnapshot.open(path);
+        assertThat(snapshot.size()).isEqualTo(rows.size());
+        assertThat(snapshot.watermark()).isEqualTo(watermark);
+        for (var row : rows.entrySet()) {
+            int index = snapshot.find(row.getKey());
+            assertThat(index).as(row.getKey()).isNotNegative();
+            assertThat(snapshot.targetAt(index)).isEqualTo(row.getValue());
+        }
+
+        assertThat(snapshot.find("zzzzzzzzzz")).isEqualTo(-1);
+        assertThat(snapshot.find("")).isEqualTo(-1);
+        assertThat(snapshot.find("abcdefghijk")).isEqualTo(-1);
+        assertThat(snapshot.find("é")).isEqualTo(-1);
+        assertThat(snapshot.find(rows.firstKey() + "\u0000")).isEqualTo(-1);
+        assertThat(Files.list(directory)).containsExactly(path);
+    }
+
+    @Test
+    void skipsCodesTheLayoutCannotHoldAndRejectsUnsortedInput() throws IOException {
+        Path path = directory.resolve("snapshot.bin");
+        RedirectTarget target = new RedirectTarget("https://example.com", true, null);
+
+        try (RedirectSnapshotWriter writer = new RedirectSnapshotWriter(path)) {
+            assertThat(writer.add("b", target)).isTrue();
+            assertThat(writer.add("tooLongCode1", target)).isFalse();
+            assertThat(writer.add("cé", target)).isFalse();
+            assertThatThrownBy(() -> writer.add("a", target)).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> writer.add("b", target)).isInstanceOf(IllegalStateException.class);
+            assertThat(writer.skipped()).isEqualTo(2);
+        }
+
+        List<Path> left = new ArrayList<>();
+        Files.list(directory).forEach(left::add);
+        assertThat(left).isEmpty();
+    }
+}
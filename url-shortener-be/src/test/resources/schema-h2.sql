@@ -0,0 +1,35 @@
+-- H2 counterpart of schema-postgresql.sql for the embedded profile
+
+CREATE SEQUENCE IF NOT EXISTS short_code_seq START WITH 1 INCREMENT BY 1000;
+
+CREATE INDEX IF NOT EXISTS idx_urls_active_expires_at ON urls (expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_urls_updated_at ON urls (updated_at);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_urls_original_url_hash ON urls (original_url_hash);
+
+CREATE TABLE IF NOT EXISTS url_click_rollups (
+    short_code VARCHAR(10) NOT NULL,
+    granularity CHAR(1) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    referrer VARCHAR(255) NOT NULL,
+    agent_class VARCHAR(16) NOT NULL,
+    clicks BIGINT NOT NULL,
+    PRIMARY KEY (short_code, granularity, bucket_start, referrer, agent_class)
+);
+
+CREATE TABLE IF NOT EXISTS url_deletions (
+    short_code VARCHAR(10) NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_url_deletions_deleted_at ON url_deletions (deleted_at);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    fingerprint CHAR(64) NOT NULL,
+    response TEXT,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);